@@ -0,0 +1,9 @@
+package com.financedash.finance_dashboard.analytics;
+
+/**
+ * Receives one per-day ledger total without boxing the day or the amount.
+ */
+@FunctionalInterface
+public interface DailyTotalConsumer {
+    void accept(long epochDay, double amount);
+}
@@ -0,0 +1,37 @@
+package com.financedash.finance_dashboard.analytics;
+
+/**
+ * Count, sum, extremes and centred second moment of the amounts in one partition.
+ * <p>
+ * Partials merge with Chan's pairwise update, so the variance of the whole data set
+ * is exact without a second pass and without the cancellation of a naive sum of squares.
+ *
+ * @param m2 sum of squared deviations from the partition mean
+ */
+public record PartitionStats(long count, double sum, double min, double max, double m2) {
+
+    public static final PartitionStats EMPTY =
+            new PartitionStats(0, 0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0);
+
+    public double mean() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    // Population standard deviation
+    public double stddev() {
+        return count > 0 ? Math.sqrt(m2 / count) : 0.0;
+    }
+
+    public PartitionStats merge(PartitionStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        long n = count + other.count;
+        double delta = other.mean() - mean();
+        double mergedM2 = m2 + other.m2 + delta * delta * ((double) count * other.count / n);
+        return new PartitionStats(n, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max), mergedM2);
+    }
+}
@@ -0,0 +1,222 @@
+package com.financedash.finance_dashboard.analytics;
+
+import com.financedash.finance_dashboard.config.AnalyticsProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.payload.AnalyticsSummaryDTO;
+import com.financedash.finance_dashboard.payload.CategoryBreakdownDTO;
+import com.financedash.finance_dashboard.payload.ReportDTO;
+import com.financedash.finance_dashboard.repository.ExpenseRepository;
+import com.financedash.finance_dashboard.rollup.RollupService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a precomputed analytics summary per user so dashboard loads never wait on aggregation.
+ * <p>
+ * Writes only mark the owner's snapshot dirty; a background refresher rebuilds it, at most once
+ * per {@code min-refresh-interval}, and unconditionally once it is older than {@code max-staleness}
+ * or the month has rolled over.
+ * <p>
+ * Only users who read their summary within {@code idle-eviction} hold a snapshot, so refresh
+ * work scales with active dashboards rather than with registered users.
+ */
+@Service
+@Slf4j
+public class SummarySnapshotService {
+
+    private final RollupService rollupService;
+    private final ExpenseRepository expenseRepository;
+    private final AnalyticsProperties.Summary properties;
+
+    private final Cache<Long, Snapshot> snapshots;
+
+    private final Timer refreshTimer;
+    private final Counter invalidationCounter;
+    private final Counter refreshFailureCounter;
+
+    public SummarySnapshotService(RollupService rollupService, ExpenseRepository expenseRepository,
+                                  AnalyticsProperties analyticsProperties, MeterRegistry meterRegistry) {
+        this.rollupService = rollupService;
+        this.expenseRepository = expenseRepository;
+        this.properties = analyticsProperties.getSummary();
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleEviction())
+                .build();
+
+        this.refreshTimer = Timer.builder("finance.analytics.summary.refresh")
+                .description("Time spent rebuilding the analytics summary snapshot")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("finance.analytics.summary.invalidations")
+                .description("Ledger writes that invalidated the analytics summary snapshot")
+                .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("finance.analytics.summary.refresh.failures")
+                .description("Background analytics summary rebuilds that failed and were left for the next pass")
+                .register(meterRegistry);
+        Gauge.builder("finance.analytics.summary.age", this, SummarySnapshotService::oldestAgeSeconds)
+                .description("Age of the oldest held analytics summary snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("finance.analytics.summary.users", snapshots, Cache::estimatedSize)
+                .description("Users whose analytics summary snapshot is being kept fresh")
+                .register(meterRegistry);
+        Gauge.builder("finance.analytics.summary.max.staleness", properties, p -> p.getMaxStaleness().toSeconds())
+                .description("Configured upper bound on the analytics summary snapshot age")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the user's current snapshot; only their first read after startup or after an
+     * idle eviction builds it inline.
+     */
+    public AnalyticsSummaryDTO getSummary(Long userId) {
+        Snapshot entry = snapshots.get(userId, id -> new Snapshot());
+        AnalyticsSummaryDTO current = entry.summary;
+        if (current == null) {
+            current = rebuild(userId, entry);
+        }
+        return current.toBuilder().stale(entry.dirty.get()).build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        // Users without a held snapshot rebuild from scratch on their next read anyway
+        Snapshot entry = snapshots.getIfPresent(event.userId());
+        if (entry != null) {
+            invalidationCounter.increment();
+            entry.dirty.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${finance.analytics.summary.refresh-interval:PT5S}")
+    public void refreshIfNeeded() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        // Iterating the map view does not count as access, so idle snapshots still expire
+        snapshots.asMap().forEach((userId, entry) -> {
+            AnalyticsSummaryDTO current = entry.summary;
+            if (current == null) {
+                return;
+            }
+
+            Duration age = Duration.between(current.getGeneratedAt(), Instant.now());
+            boolean monthRolledOver = !current.getCurrentMonth().equals(monthStart);
+            boolean dueForWrites = entry.dirty.get() && age.compareTo(properties.getMinRefreshInterval()) >= 0;
+            boolean tooOld = age.compareTo(properties.getMaxStaleness()) >= 0;
+
+            if (monthRolledOver || dueForWrites || tooOld) {
+                try {
+                    rebuild(userId, entry);
+                } catch (RuntimeException e) {
+                    // The entry stays dirty and is retried next pass; other users still refresh
+                    refreshFailureCounter.increment();
+                    log.warn("Analytics summary snapshot for user {} failed to rebuild", userId, e);
+                }
+            }
+        });
+    }
+
+    private AnalyticsSummaryDTO rebuild(Long userId, Snapshot entry) {
+        synchronized (entry) {
+            // Cleared before reading so writes that land during the rebuild mark the new snapshot dirty
+            entry.dirty.set(false);
+            AnalyticsSummaryDTO rebuilt;
+            try {
+                rebuilt = refreshTimer.record(() -> build(userId));
+            } catch (RuntimeException e) {
+                entry.dirty.set(true);
+                throw e;
+            }
+            entry.summary = rebuilt;
+            log.debug("Analytics summary snapshot for user {} rebuilt at {}", userId, rebuilt.getGeneratedAt());
+            return rebuilt;
+        }
+    }
+
+    private AnalyticsSummaryDTO build(Long userId) {
+        Instant generatedAt = Instant.now();
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+
+        ReportDTO current = toReport(rollupService.getMonthTotals(userId, monthStart));
+        ReportDTO last = toReport(rollupService.getMonthTotals(userId, monthStart.minusMonths(1)));
+
+        List<CategoryBreakdownDTO> topCategories = expenseRepository
+                .getTotalsByCategory(userId, monthStart, monthStart.plusMonths(1))
+                .stream()
+                .limit(properties.getTopCategories())
+                .toList();
+        for (CategoryBreakdownDTO category : topCategories) {
+            category.setShare(current.getTotalExpense() > 0 ? category.getTotal() / current.getTotalExpense() : 0.0);
+        }
+
+        Double savingsRate = current.getTotalIncome() > 0
+                ? (current.getTotalIncome() - current.getTotalExpense()) / current.getTotalIncome()
+                : null;
+
+        return AnalyticsSummaryDTO.builder()
+                .generatedAt(generatedAt)
+                .currentMonth(monthStart)
+                .currentMonthTotals(current)
+                .lastMonthTotals(last)
+                .monthOverMonth(AnalyticsSummaryDTO.MonthOverMonth.builder()
+                        .incomeChange(current.getTotalIncome() - last.getTotalIncome())
+                        .expenseChange(current.getTotalExpense() - last.getTotalExpense())
+                        .investmentChange(current.getTotalInvestment() - last.getTotalInvestment())
+                        .netProfitChange(current.getNetProfit() - last.getNetProfit())
+                        .incomeChangePercent(percentChange(last.getTotalIncome(), current.getTotalIncome()))
+                        .expenseChangePercent(percentChange(last.getTotalExpense(), current.getTotalExpense()))
+                        .investmentChangePercent(percentChange(last.getTotalInvestment(), current.getTotalInvestment()))
+                        .netProfitChangePercent(percentChange(last.getNetProfit(), current.getNetProfit()))
+                        .build())
+                .topExpenseCategories(topCategories)
+                .savingsRate(savingsRate)
+                .build();
+    }
+
+    private double oldestAgeSeconds() {
+        Instant now = Instant.now();
+        long oldestMillis = 0;
+        for (Snapshot entry : snapshots.asMap().values()) {
+            AnalyticsSummaryDTO current = entry.summary;
+            if (current != null) {
+                oldestMillis = Math.max(oldestMillis, Duration.between(current.getGeneratedAt(), now).toMillis());
+            }
+        }
+        return oldestMillis / 1000.0;
+    }
+
+    private static ReportDTO toReport(Map<LedgerType, Double> totals) {
+        double income = totals.get(LedgerType.INCOME);
+        double expense = totals.get(LedgerType.EXPENSE);
+        return ReportDTO.builder()
+                .totalIncome(income)
+                .totalExpense(expense)
+                .totalInvestment(totals.get(LedgerType.INVESTMENT))
+                .netProfit(income - expense)
+                .build();
+    }
+
+    private static final class Snapshot {
+        private final AtomicBoolean dirty = new AtomicBoolean(true);
+        private volatile AnalyticsSummaryDTO summary;
+    }
+
+    private static Double percentChange(double previous, double current) {
+        return previous != 0 ? (current - previous) / Math.abs(previous) * 100.0 : null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.financedash.finance_dashboard.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns days of an inclusive date range to daily, weekly or monthly buckets and
+ * accumulates amounts into primitive {@code double[]} series.
+ * <p>
+ * The day-to-bucket mapping is precomputed once per range, so adding a value is a
+ * single array lookup regardless of granularity. Instances are not thread-safe.
+ */
+public class TrendBucketer {
+
+    private final long firstDay;
+    private final int[] dayToBucket;
+    private final List<LocalDate> bucketStarts;
+
+    public TrendBucketer(TrendGranularity granularity, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Trend start date must not be after end date");
+        }
+        this.firstDay = from.toEpochDay();
+        int days = Math.toIntExact(to.toEpochDay() - firstDay + 1);
+        this.dayToBucket = new int[days];
+        this.bucketStarts = new ArrayList<>();
+
+        LocalDate bucketStart = alignToBucket(granularity, from);
+        LocalDate nextBucketStart = nextBucket(granularity, bucketStart);
+        bucketStarts.add(bucketStart);
+        for (int i = 0; i < days; i++) {
+            if (firstDay + i >= nextBucketStart.toEpochDay()) {
+                bucketStart = nextBucketStart;
+                nextBucketStart = nextBucket(granularity, bucketStart);
+                bucketStarts.add(bucketStart);
+            }
+            dayToBucket[i] = bucketStarts.size() - 1;
+        }
+    }
+
+    public int bucketCount() {
+        return bucketStarts.size();
+    }
+
+    /**
+     * Start date of every bucket; the first one may precede the range start when it is not aligned.
+     */
+    public List<LocalDate> bucketStarts() {
+        return bucketStarts;
+    }
+
+    public double[] newSeries() {
+        return new double[bucketStarts.size()];
+    }
+
+    /**
+     * Adds an amount to the bucket containing the given day. Days outside the range are ignored.
+     */
+    public void add(double[] series, long epochDay, double amount) {
+        long offset = epochDay - firstDay;
+        if (offset >= 0 && offset < dayToBucket.length) {
+            series[dayToBucket[(int) offset]] += amount;
+        }
+    }
+
+    public static double[] difference(double[] minuend, double[]... subtrahends) {
+        double[] result = minuend.clone();
+        for (double[] subtrahend : subtrahends) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] -= subtrahend[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Trailing simple moving average. The first {@code window - 1} points average
+     * over the buckets available so far.
+     */
+    public static double[] movingAverage(double[] series, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Moving average window must be at least 1");
+        }
+        double[] result = new double[series.length];
+        double runningSum = 0.0;
+        for (int i = 0; i < series.length; i++) {
+            runningSum += series[i];
+            if (i >= window) {
+                runningSum -= series[i - window];
+            }
+            result[i] = runningSum / Math.min(i + 1, window);
+        }
+        return result;
+    }
+
+    private static LocalDate alignToBucket(TrendGranularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucket(TrendGranularity granularity, LocalDate bucketStart) {
+        return switch (granularity) {
+            case DAILY -> bucketStart.plusDays(1);
+            case WEEKLY -> bucketStart.plusWeeks(1);
+            case MONTHLY -> bucketStart.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.financedash.finance_dashboard.analytics;
+
+public enum TrendGranularity {
+    DAILY,
+    // ISO weeks, starting on Monday
+    WEEKLY,
+    MONTHLY
+}
@@ -0,0 +1,25 @@
+package com.financedash.finance_dashboard.appUser;
+
+import com.financedash.finance_dashboard.exception.AuthenticationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the owner of the current request from the principal {@code JwtAuthFilter} put
+ * into the security context.
+ * <p>
+ * The context is thread-bound: resolve the id on the request thread and pass it along to
+ * anything that runs on another thread (parallel queries, streamed exports).
+ */
+@Component
+public class CurrentUser {
+
+    public Long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AppUser user && user.getId() != null) {
+            return user.getId();
+        }
+        throw new AuthenticationException("No authenticated user for this request");
+    }
+}
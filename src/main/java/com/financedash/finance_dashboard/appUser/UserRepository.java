@@ -1,11 +1,14 @@
 package com.financedash.finance_dashboard.appUser;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,6 +27,10 @@ public interface UserRepository extends JpaRepository<AppUser, Long> {
     @Query("UPDATE AppUser a SET a.enabled = TRUE WHERE a.email = ?1")
     int enableAppUser(String email);
 
+    // Keyset page of user ids for maintenance jobs that walk every user
+    @Query("SELECT a.id FROM AppUser a WHERE a.id > :after ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
 
 
 }
@@ -0,0 +1,25 @@
+package com.financedash.finance_dashboard.cache;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's version of one ledger, bumped by every transaction that writes to it. Users who
+ * never wrote to a ledger have no row and read as version 0.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "user_ledger_version")
+public class LedgerVersion {
+
+    @EmbeddedId
+    private LedgerVersionId id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
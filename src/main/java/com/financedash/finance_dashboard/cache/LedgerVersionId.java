@@ -0,0 +1,26 @@
+package com.financedash.finance_dashboard.cache;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class LedgerVersionId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ledger", nullable = false, length = 16)
+    private LedgerType ledger;
+}
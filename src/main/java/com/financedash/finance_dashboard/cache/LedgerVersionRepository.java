@@ -0,0 +1,25 @@
+package com.financedash.finance_dashboard.cache;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerVersionRepository extends JpaRepository<LedgerVersion, LedgerVersionId> {
+
+    // Rows are locked in array order; callers pass users sorted so concurrent bumps queue instead of deadlocking
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_version (user_id, ledger, version) " +
+            "SELECT u.user_id, :ledger, 1 FROM unnest(CAST(:userIds AS bigint[])) WITH ORDINALITY AS u(user_id, n) " +
+            "ORDER BY u.n " +
+            "ON CONFLICT (user_id, ledger) DO UPDATE SET version = user_ledger_version.version + 1",
+            nativeQuery = true)
+    int incrementAll(@Param("ledger") String ledger, @Param("userIds") Long[] userIds);
+
+    @Query("SELECT v FROM LedgerVersion v WHERE v.id.userId = :userId")
+    List<LedgerVersion> findByUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,75 @@
+package com.financedash.finance_dashboard.cache;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Monotonic per-user, per-ledger versions backing the ETags of ledger listings and reports;
+ * one user's writes never invalidate another user's tags.
+ * <p>
+ * Versions are stored in {@code user_ledger_version} and bumped inside the writing
+ * transaction, so every instance behind the load balancer, and every restart, sees the same
+ * version for the same data. Bumping before the commit is safe: the new version becomes
+ * visible together with the write, and a rollback undoes both. Readers take the version
+ * before querying, so at worst they tag fresh data with an old version and the client
+ * refetches once more.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerVersions {
+
+    private final LedgerVersionRepository versionRepository;
+
+    /**
+     * Bumps the user's ledger version as part of the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId, LedgerType ledger) {
+        versionRepository.incrementAll(ledger.name(), new Long[]{userId});
+    }
+
+    /**
+     * {@link #bump} for several users with one statement; rows are locked in user order so
+     * batches touching the same users queue instead of deadlocking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpAll(LedgerType ledger, Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            versionRepository.incrementAll(ledger.name(), new TreeSet<>(userIds).toArray(Long[]::new));
+        }
+    }
+
+    public long version(Long userId, LedgerType ledger) {
+        return versions(userId).getOrDefault(ledger, 0L);
+    }
+
+    /**
+     * Strong entity tag over the user's current versions of the given ledgers, unquoted.
+     */
+    public String etag(Long userId, LedgerType... ledgers) {
+        Map<LedgerType, Long> versions = versions(userId);
+        StringBuilder tag = new StringBuilder("u").append(userId);
+        for (LedgerType ledger : ledgers) {
+            tag.append('-').append(ledger.name().toLowerCase()).append(versions.getOrDefault(ledger, 0L));
+        }
+        return tag.toString();
+    }
+
+    private Map<LedgerType, Long> versions(Long userId) {
+        List<LedgerVersion> rows = versionRepository.findByUser(userId);
+        Map<LedgerType, Long> versions = new EnumMap<>(LedgerType.class);
+        for (LedgerVersion row : rows) {
+            versions.put(row.getId().getLedger(), row.getVersion());
+        }
+        return versions;
+    }
+}
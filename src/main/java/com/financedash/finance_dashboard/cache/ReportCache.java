@@ -0,0 +1,203 @@
+package com.financedash.finance_dashboard.cache;
+
+import com.financedash.finance_dashboard.config.ReportProperties;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.payload.CategoryBreakdownDTO;
+import com.financedash.finance_dashboard.payload.CategoryReportDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded (W-TinyLFU, weighted by estimated heap bytes) cache of computed reports.
+ * <p>
+ * Entries are evicted precisely: a committed ledger write drops only the writer's own
+ * reports whose period contains one of the written dates. Cached keys are also indexed by
+ * owner, so a write only looks at its writer's reports instead of scanning the whole cache,
+ * and a load is discarded only when its own owner wrote meanwhile.
+ */
+@Component
+@Slf4j
+public class ReportCache {
+
+    private static final String CACHE_NAME = "reports";
+
+    // Rough per-object heap costs used by the weigher
+    private static final int REPORT_BYTES = 96;
+    private static final int CATEGORY_REPORT_BYTES = 160;
+    private static final int BREAKDOWN_BYTES = 96;
+
+    private final Cache<ReportCacheKey, Object> cache;
+    private final boolean enabled;
+    // Cached keys and write generation per owner. Keys change only inside the cache's atomic operation on the
+    // key, so the index never misses a cached key; owners change atomically, so an add never lands in a dropped
+    // entry. Owners with neither keys nor loads in progress are removed
+    private final ConcurrentMap<Long, OwnerKeys> keysByUser = new ConcurrentHashMap<>();
+    private final Counter invalidationCounter;
+
+    public ReportCache(ReportProperties reportProperties, MeterRegistry meterRegistry) {
+        ReportProperties.Cache properties = reportProperties.getCache();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher((ReportCacheKey key, Object value) -> estimateBytes(value))
+                .expireAfterWrite(properties.getTtl())
+                .evictionListener((ReportCacheKey key, Object value, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("finance.report.cache.memory", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Estimated heap footprint of cached reports")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("finance.report.cache.invalidations")
+                .description("Cached reports dropped because a ledger write touched their period")
+                .register(meterRegistry);
+    }
+
+    public <T> T get(ReportCacheKey key, Class<T> type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return type.cast(cached);
+        }
+
+        long loadGeneration = startLoad(key.userId());
+        T value;
+        boolean stale;
+        try {
+            value = loader.get();
+            cache.asMap().compute(key, (k, previous) -> {
+                index(k);
+                return value;
+            });
+        } finally {
+            stale = endLoad(key.userId(), loadGeneration);
+        }
+        // The owner wrote while loading; the value may predate it
+        if (stale) {
+            drop(key);
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        // No entry means nothing of the writer's is cached or loading
+        OwnerKeys owner = keysByUser.computeIfPresent(event.userId(), (userId, current) -> {
+            current.generation++;
+            return current;
+        });
+        if (owner == null) {
+            return;
+        }
+        long dropped = 0;
+        for (ReportCacheKey key : owner.keys) {
+            if (event.changes().stream().anyMatch(change -> key.covers(event.userId(), change.date()))) {
+                drop(key);
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            invalidationCounter.increment(dropped);
+            log.debug("Invalidated {} cached reports after {} write", dropped, event.ledger());
+        }
+    }
+
+    private void drop(ReportCacheKey key) {
+        cache.asMap().compute(key, (k, current) -> {
+            unindex(k);
+            return null;
+        });
+    }
+
+    private long startLoad(Long userId) {
+        long[] generation = new long[1];
+        keysByUser.compute(userId, (id, current) -> {
+            OwnerKeys owner = current != null ? current : new OwnerKeys();
+            owner.loads++;
+            generation[0] = owner.generation;
+            return owner;
+        });
+        return generation[0];
+    }
+
+    /**
+     * @return whether the owner wrote since the load started
+     */
+    private boolean endLoad(Long userId, long loadGeneration) {
+        boolean[] stale = new boolean[1];
+        keysByUser.computeIfPresent(userId, (id, owner) -> {
+            owner.loads--;
+            stale[0] = owner.generation != loadGeneration;
+            return owner.isUnused() ? null : owner;
+        });
+        return stale[0];
+    }
+
+    private void index(ReportCacheKey key) {
+        keysByUser.compute(key.userId(), (userId, current) -> {
+            OwnerKeys owner = current != null ? current : new OwnerKeys();
+            owner.keys.add(key);
+            return owner;
+        });
+    }
+
+    private void unindex(ReportCacheKey key) {
+        keysByUser.computeIfPresent(key.userId(), (userId, owner) -> {
+            owner.keys.remove(key);
+            return owner.isUnused() ? null : owner;
+        });
+    }
+
+    private static int estimateBytes(Object value) {
+        if (value instanceof CategoryReportDTO report) {
+            return CATEGORY_REPORT_BYTES
+                    + estimateBytes(report.getExpenses())
+                    + estimateBytes(report.getIncome())
+                    + estimateBytes(report.getInvestments());
+        }
+        return REPORT_BYTES;
+    }
+
+    private static int estimateBytes(List<CategoryBreakdownDTO> groups) {
+        if (groups == null) {
+            return 0;
+        }
+        int bytes = 0;
+        for (CategoryBreakdownDTO group : groups) {
+            bytes += BREAKDOWN_BYTES + (group.getName() != null ? 40 + group.getName().length() : 0);
+        }
+        return bytes;
+    }
+
+    // Counters change only inside the map's atomic operations on the owner; keys are also read outside them
+    private static final class OwnerKeys {
+
+        private final Set<ReportCacheKey> keys = ConcurrentHashMap.newKeySet();
+        // Bumped by every committed write of the owner, so loads that raced with one are not kept
+        private long generation;
+        private int loads;
+
+        boolean isUnused() {
+            return keys.isEmpty() && loads == 0;
+        }
+    }
+}
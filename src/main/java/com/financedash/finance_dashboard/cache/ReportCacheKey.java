@@ -0,0 +1,13 @@
+package com.financedash.finance_dashboard.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies a cached report by owner, type and the half-open period [from, to) it aggregates.
+ */
+public record ReportCacheKey(Long userId, ReportType type, LocalDate from, LocalDate to) {
+
+    public boolean covers(Long owner, LocalDate date) {
+        return userId.equals(owner) && !date.isBefore(from) && date.isBefore(to);
+    }
+}
@@ -0,0 +1,7 @@
+package com.financedash.finance_dashboard.cache;
+
+public enum ReportType {
+    MONTHLY,
+    CATEGORY,
+    RANGE
+}
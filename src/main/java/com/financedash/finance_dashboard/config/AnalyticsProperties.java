@@ -0,0 +1,30 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finance.analytics")
+@Getter
+@Setter
+public class AnalyticsProperties {
+
+    private Summary summary = new Summary();
+
+    @Getter
+    @Setter
+    public static class Summary {
+        // How often the background refresher checks whether the snapshot needs rebuilding
+        private Duration refreshInterval = Duration.ofSeconds(5);
+        // Lower bound between two rebuilds, caps refresh cost under a steady stream of writes
+        private Duration minRefreshInterval = Duration.ofSeconds(5);
+        // A snapshot older than this is rebuilt even without writes
+        private Duration maxStaleness = Duration.ofMinutes(5);
+        // Number of expense categories listed in the snapshot
+        private int topCategories = 5;
+        // A user's snapshot is dropped, and no longer refreshed, after this long without a read
+        private Duration idleEviction = Duration.ofMinutes(30);
+    }
+}
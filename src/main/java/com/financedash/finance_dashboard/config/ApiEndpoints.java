@@ -44,6 +44,7 @@ public interface ApiEndpoints {
             String BASE = BASE_PATH + "/reports";
             String MONTHLY = BASE + "/monthly";
             String CATEGORY = BASE + "/category";
+            String RANGE = BASE + "/range";
         }
     }
 
@@ -68,6 +69,8 @@ public interface ApiEndpoints {
         String INCOME = BASE_PATH + "/income";
         String EXPENSES = BASE_PATH + "/expenses";
         String INVESTMENTS = BASE_PATH + "/investments";
+        String SEARCH = BASE_PATH + "/search";
+        String RECURRING = BASE_PATH + "/recurring";
 
         /**
          * Analytics related paths under finance.
@@ -77,6 +80,17 @@ public interface ApiEndpoints {
             String SUMMARY = BASE + "/summary";
             String TRENDS = BASE + "/trends";
         }
+
+        /**
+         * Write-behind ingestion paths under finance.
+         */
+        interface IngestPaths {
+            String BASE = BASE_PATH + "/ingest";
+            String EXPENSES = BASE + "/expenses";
+            String INCOME = BASE + "/income";
+            String INVESTMENTS = BASE + "/investments";
+            String RECEIPTS = BASE + "/receipts";
+        }
     }
 
     /**
@@ -88,6 +102,8 @@ public interface ApiEndpoints {
 
         String USERS = BASE_PATH + "/users";
         String REPORTS = BASE_PATH + "/reports";
+        String ROLLUPS = BASE_PATH + "/rollups";
+        String RECURRING = BASE_PATH + "/recurring";
     }
 
     /**
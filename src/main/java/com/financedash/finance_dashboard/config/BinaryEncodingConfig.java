@@ -0,0 +1,31 @@
+package com.financedash.finance_dashboard.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets clients ask for CBOR ({@code Accept: application/cbor}) or Smile
+ * ({@code Accept: application/x-jackson-smile}) instead of JSON on every
+ * {@code ResponseEntity} endpoint; JSON stays the default.
+ * <p>
+ * Both mappers come from Boot's builder so they share the JSON mapper's modules and
+ * {@code spring.jackson.*} settings, e.g. dates stay ISO strings in every encoding.
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
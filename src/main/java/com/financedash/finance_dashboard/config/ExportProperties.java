@@ -0,0 +1,22 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finance.export")
+@Getter
+@Setter
+public class ExportProperties {
+
+    // Rows pulled from the server-side cursor per round trip
+    private int fetchSize = 1000;
+    // Response buffer in bytes between the row writer and the socket
+    private int bufferSize = 64 * 1024;
+    // Exports allowed to stream at once; each holds a pooled connection for its whole run
+    private int maxConcurrent = 2;
+    // Retry-After sent with a refused export
+    private Duration retryAfter = Duration.ofSeconds(30);
+}
@@ -0,0 +1,23 @@
+package com.financedash.finance_dashboard.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the application-specific {@code finance.*} configuration properties.
+ */
+@Configuration
+@EnableConfigurationProperties({
+        ReportProperties.class,
+        AnalyticsProperties.class,
+        SimulationProperties.class,
+        PaginationProperties.class,
+        ExportProperties.class,
+        ImportProperties.class,
+        SearchProperties.class,
+        IngestProperties.class,
+        IdempotencyProperties.class,
+        RecurringProperties.class
+})
+public class FinancePropertiesConfig {
+}
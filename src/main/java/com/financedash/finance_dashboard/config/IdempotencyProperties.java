@@ -0,0 +1,29 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finance.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    // How long a key replays its first response; expired keys may be reused
+    private Duration ttl = Duration.ofHours(24);
+    // Independently locked partitions of the in-memory cache; rounded up to a power of two
+    private int shards = 16;
+    // Completed responses kept in memory across all shards; older ones are read back from the table
+    private int maxEntries = 10_000;
+    // How long a duplicate waits for the first request with its key to finish before getting 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    // How long an unfinished claim blocks the key, e.g. after the instance holding it crashed
+    private Duration lockTimeout = Duration.ofMinutes(1);
+    // Largest request body that is buffered for fingerprinting
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,22 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.import")
+@Getter
+@Setter
+public class ImportProperties {
+
+    // Rows inserted, and committed, per statement; also bounds the rows held in memory
+    private int batchSize = 1000;
+    // Rejected rows listed in the report; further rejections are only counted
+    private int maxReportedErrors = 100;
+    // Entries accepted by one JSON batch create request; they share a single transaction
+    private int maxBatchItems = 500;
+    // Characters a CSV cell may hold; longer cells reject their row
+    private int maxCellLength = 4096;
+    // Characters a CSV record may span, separators and quotes included; longer records are rejected
+    private int maxRecordLength = 16384;
+}
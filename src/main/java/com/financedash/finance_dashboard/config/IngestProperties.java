@@ -0,0 +1,36 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finance.ingest")
+@Getter
+@Setter
+public class IngestProperties {
+
+    // Exposes the asynchronous ingest endpoints; the synchronous ones are unaffected either way
+    private boolean enabled = false;
+    // Accepted writes not yet persisted; further submissions are refused with 503
+    private int queueCapacity = 10_000;
+    // Writes persisted per group commit
+    private int maxBatch = 500;
+    // How long the drainer keeps collecting after the first queued write before committing
+    private Duration maxDelay = Duration.ofMillis(5);
+    // Holds this instance's write-ahead journal; must be local, durable storage
+    private Path journalDirectory = Path.of("ingest-journal");
+    // Journal size after which a new segment is started; segments holding only committed writes are deleted
+    private DataSize journalSegmentSize = DataSize.ofMegabytes(64);
+    // Names the journal and its checkpoint row; must differ between instances sharing a database,
+    // and stay the same across restarts. The host name when blank
+    private String instanceId;
+    // How long, and how many, receipt outcomes stay available for polling
+    private Duration receiptRetention = Duration.ofHours(1);
+    private long maxReceipts = 100_000;
+    // Retry-After suggested to clients refused while the queue is full
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,16 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+
+    // Used when a listing request does not ask for a size
+    private int defaultPageSize = 50;
+    // Larger requested sizes are capped to this
+    private int maxPageSize = 500;
+}
@@ -0,0 +1,24 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finance.recurring")
+@Getter
+@Setter
+public class RecurringProperties {
+
+    // Runs the scheduler on this instance; due rules are locked per chunk, so several instances may run it
+    private boolean enabled = true;
+    // Pause between runs, and before the first one after startup
+    private Duration interval = Duration.ofMinutes(15);
+    private Duration initialDelay = Duration.ofSeconds(30);
+    // Rules locked, materialized and committed per transaction
+    private int chunkSize = 2000;
+    // Occurrences one rule materializes per chunk; a rule further behind catches up over later chunks.
+    // chunk-size times this bounds the entries held in memory and written per transaction
+    private int maxOccurrencesPerRule = 50;
+}
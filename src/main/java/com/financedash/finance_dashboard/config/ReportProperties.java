@@ -0,0 +1,53 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finance.report")
+@Getter
+@Setter
+public class ReportProperties {
+
+    // Strategy used to compute the monthly report totals
+    private Engine engine = Engine.ROLLUP;
+
+    private Cache cache = new Cache();
+
+    private Admin admin = new Admin();
+
+    public enum Engine {
+        // Primary-key reads against the incrementally maintained rollups
+        ROLLUP,
+        // One aggregate query per ledger, executed one after another
+        SEQUENTIAL,
+        // All totals and the net profit computed by a single SQL statement
+        FUSED,
+        // The per-ledger aggregate queries executed concurrently on virtual threads
+        PARALLEL
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        // Upper bound on the estimated heap footprint of cached reports
+        private DataSize maxMemory = DataSize.ofMegabytes(16);
+        // Entries are dropped after this long even without writes
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Admin {
+        // Partitions aggregated concurrently; also the size of the dedicated read-only connection pool
+        private int parallelism = 4;
+        // Width of one id-range partition
+        private long partitionSize = 250_000;
+        // Upper bound for a single partition query
+        private Duration queryTimeout = Duration.ofSeconds(60);
+    }
+}
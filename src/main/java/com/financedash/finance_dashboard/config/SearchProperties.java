@@ -0,0 +1,18 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.search")
+@Getter
+@Setter
+public class SearchProperties {
+
+    // Index terms a trailing prefix may expand to; bounds the cost of very short prefixes
+    private int maxPrefixExpansions = 64;
+    private int defaultLimit = 20;
+    private int maxLimit = 100;
+    // Rows per round trip while rebuilding the index on startup
+    private int rebuildFetchSize = 5000;
+}
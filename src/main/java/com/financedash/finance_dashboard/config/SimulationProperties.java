@@ -0,0 +1,39 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "finance.simulation")
+@Getter
+@Setter
+public class SimulationProperties {
+
+    // Annual volatility for investment types without an explicit entry
+    private double defaultVolatility = 0.15;
+    // Annual volatility per investment type, keyed by lower-case type with '-' for separators
+    private Map<String, Double> volatility = new HashMap<>();
+    private int defaultPaths = 10_000;
+    private int maxPaths = 200_000;
+    private int maxYears = 50;
+    // Simulations allowed to run at once; further requests are refused with 503 instead of queueing
+    private int maxConcurrent = 2;
+    // Worker threads shared by all running simulations, kept off the common ForkJoin pool
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    // Retry-After sent with a refused simulation
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    public double volatilityFor(String type) {
+        if (type == null) {
+            return defaultVolatility;
+        }
+        String key = type.trim().toLowerCase(Locale.ROOT).replace('_', '-').replace(' ', '-');
+        Double configured = volatility.get(key);
+        return configured != null ? configured : defaultVolatility;
+    }
+}
@@ -0,0 +1,49 @@
+package com.financedash.finance_dashboard.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops ledger indexes from before every query was scoped to its owner. Hibernate's schema
+ * update creates the owner-led replacements but never drops an index, so databases upgraded
+ * from those versions would keep paying for the old ones on every write, and the planner
+ * could still pick them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SupersededIndexCleanup {
+
+    static final List<String> SUPERSEDED = List.of(
+            "idx_expense_amount", "idx_expense_category_date_id", "idx_expense_date_amount",
+            "idx_expense_date_category_amount", "idx_expense_date_id",
+            "idx_income_amount", "idx_income_date_amount", "idx_income_date_id",
+            "idx_income_date_source_amount", "idx_income_source_date_id",
+            "idx_investment_amount", "idx_investment_date_amount", "idx_investment_date_id",
+            "idx_investment_date_type_amount", "idx_investment_type_date_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropSupersededIndexes() {
+        List<String> present = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE indexname = ANY (?)", String.class,
+                (Object) SUPERSEDED.toArray(String[]::new));
+        for (String index : present) {
+            try {
+                // Concurrently, so writes to the ledger are not blocked while the index goes
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+                log.info("Dropped superseded index {}", index);
+            } catch (DataAccessException e) {
+                log.warn("Could not drop superseded index {}: {}", index, e.getMessage());
+            }
+        }
+    }
+}
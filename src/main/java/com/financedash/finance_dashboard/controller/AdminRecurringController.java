@@ -0,0 +1,35 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.RecurringRunReport;
+import com.financedash.finance_dashboard.service.RecurringRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(ApiEndpoints.AdminPaths.RECURRING)
+@RequiredArgsConstructor
+@Tag(name = "Admin Recurring", description = "Maintenance of the recurring transaction scheduler")
+public class AdminRecurringController {
+
+    private final RecurringRuleService recurringRuleService;
+
+    @Operation(summary = "Materialize due recurring rules now",
+            description = "Runs the scheduler immediately for every user; safe alongside a scheduled run")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Run completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    @PostMapping("/run")
+    public ResponseEntity<RecurringRunReport> run() {
+        return ResponseEntity.ok(recurringRuleService.materializeDue(LocalDate.now()));
+    }
+}
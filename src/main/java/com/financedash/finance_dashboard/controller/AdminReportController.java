@@ -0,0 +1,33 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.AdminReportDTO;
+import com.financedash.finance_dashboard.service.AdminReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(ApiEndpoints.AdminPaths.REPORTS)
+@RequiredArgsConstructor
+@Tag(name = "Admin Reports", description = "Platform-wide reporting across all users")
+public class AdminReportController {
+
+    private final AdminReportService adminReportService;
+
+    @Operation(summary = "Get platform-wide ledger statistics",
+            description = "Totals, distribution statistics per ledger and user counts across every user")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Report generated"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    @GetMapping
+    public ResponseEntity<AdminReportDTO> getPlatformReport() {
+        return ResponseEntity.ok(adminReportService.getPlatformReport());
+    }
+}
@@ -0,0 +1,33 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.RollupReconcileReport;
+import com.financedash.finance_dashboard.rollup.RollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(ApiEndpoints.AdminPaths.ROLLUPS)
+@RequiredArgsConstructor
+@Tag(name = "Admin Rollups", description = "Maintenance of precomputed report rollups")
+public class AdminRollupController {
+
+    private final RollupService rollupService;
+
+    @Operation(summary = "Recompute rollups from raw rows and report drift",
+            description = "With repair=true drifted rollups are corrected in place and daily prefix sums rebuilt, one user at a time")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Reconcile completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    @PostMapping("/reconcile")
+    public ResponseEntity<RollupReconcileReport> reconcile(@RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(rollupService.reconcile(repair));
+    }
+}
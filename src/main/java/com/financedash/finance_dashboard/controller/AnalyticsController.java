@@ -0,0 +1,56 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.analytics.TrendGranularity;
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.AnalyticsSummaryDTO;
+import com.financedash.finance_dashboard.payload.TrendSeriesDTO;
+import com.financedash.finance_dashboard.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Financial analytics endpoints")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @Operation(summary = "Get the dashboard summary snapshot",
+            description = "Current and last month totals, month-over-month changes, top expense categories and savings rate")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Summary snapshot returned"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping(ApiEndpoints.FinancePaths.AnalyticsPaths.SUMMARY)
+    public ResponseEntity<AnalyticsSummaryDTO> getSummary() {
+        return ResponseEntity.ok(analyticsService.getSummary());
+    }
+
+    @Operation(summary = "Get bucketed income, expense, investment and net cash flow trends",
+            description = "Inclusive date range; defaults to the last twelve months")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Trend series computed"),
+        @ApiResponse(responseCode = "400", description = "Invalid range or moving average window"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping(ApiEndpoints.FinancePaths.AnalyticsPaths.TRENDS)
+    public ResponseEntity<TrendSeriesDTO> getTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTHLY") TrendGranularity granularity,
+            @RequestParam(required = false) Integer movingAverage) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(12).plusDays(1);
+        return ResponseEntity.ok(analyticsService.getTrends(start, end, granularity, movingAverage));
+    }
+}
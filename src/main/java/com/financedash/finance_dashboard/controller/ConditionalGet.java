@@ -0,0 +1,53 @@
+package com.financedash.finance_dashboard.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers {@code If-None-Match} polls with 304 before the body is computed, so an
+ * unchanged resource costs neither a query nor serialization.
+ * <p>
+ * One tag covers the JSON, CBOR and Smile encodings of a resource, so responses vary by
+ * {@code Accept} to keep caches from serving one encoding for another.
+ */
+@Component
+class ConditionalGet {
+
+    // Revalidate on every use; overrides the no-store default Spring Security adds
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final MeterRegistry meterRegistry;
+
+    ConditionalGet(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param resource metric tag naming the endpoint
+     * @param etag     unquoted strong entity tag of the current representation
+     */
+    <T> ResponseEntity<T> respond(WebRequest request, String resource, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            counter(resource, "not_modified").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        counter(resource, "full").increment();
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    private Counter counter(String resource, String outcome) {
+        return Counter.builder("finance.http.conditional")
+                .description("Conditional GETs by endpoint and whether the body was sent")
+                .tag("resource", resource)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
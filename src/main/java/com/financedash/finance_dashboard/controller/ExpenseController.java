@@ -1,13 +1,33 @@
 package com.financedash.finance_dashboard.controller;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.LedgerVersions;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.export.ExportFormat;
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.ImportReportDTO;
 import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.projection.FieldSelection;
+import com.financedash.finance_dashboard.projection.LedgerFields;
+import com.financedash.finance_dashboard.projection.ResponseShape;
+import com.financedash.finance_dashboard.service.ExportService;
+import com.financedash.finance_dashboard.service.ImportService;
 import com.financedash.finance_dashboard.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+
 import com.financedash.finance_dashboard.config.ApiEndpoints;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,6 +42,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final LedgerVersions ledgerVersions;
+    private final ConditionalGet conditionalGet;
+    private final CurrentUser currentUser;
+    private final ExportService exportService;
+    private final ImportService importService;
 
     @Operation(summary = "Add new expense entry")
     @ApiResponses({
@@ -34,13 +59,79 @@ public class ExpenseController {
         return ResponseEntity.ok(expenseService.addExpense(expenseDTO));
     }
 
-    @Operation(summary = "Get all expense entries")
+    @Operation(summary = "Add several expense entries at once",
+            description = "Validates each entry on its own and stores every valid one in a single transaction; "
+                    + "the result lists each entry, in request order, as CREATED with its id or INVALID with its errors")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed; see the per-entry results"),
+        @ApiResponse(responseCode = "400", description = "Empty, oversized or malformed batch"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<ExpenseDTO>> addExpenses(@RequestBody List<ExpenseDTO> entries) {
+        return ResponseEntity.ok(expenseService.addExpenses(entries));
+    }
+
+    @Operation(summary = "Get expense entries, newest first",
+            description = "Optional filters combine with AND; keyset pagination, pass nextCursor from the previous page as cursor. "
+                    + "fields=date,amount limits the serialized properties; shape=COLUMNS returns one array per field. "
+                    + "Supports If-None-Match: 304 while the ledger is unchanged")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Retrieved all expense entries"),
+        @ApiResponse(responseCode = "200", description = "Retrieved a page of expense entries"),
+        @ApiResponse(responseCode = "304", description = "Ledger unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, field, shape, page cursor or size"),
         @ApiResponse(responseCode = "401", description = "Unauthorized access")
     })
     @GetMapping
-    public ResponseEntity<List<ExpenseDTO>> getAllExpenses() {
-        return ResponseEntity.ok(expenseService.getAllExpenses());
+    public ResponseEntity<Object> getExpenses(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "ROWS") ResponseShape shape,
+            WebRequest request) {
+        LedgerFilter filter = new LedgerFilter(category, from, to, minAmount, maxAmount, q);
+        FieldSelection<ExpenseDTO> selection = LedgerFields.EXPENSE.select(fields);
+        return conditionalGet.respond(request, "expenses", ledgerVersions.etag(currentUser.id(), LedgerType.EXPENSE),
+                () -> selection.project(expenseService.getExpenses(filter, cursor, size), shape));
+    }
+
+    @Operation(summary = "Export expense entries",
+            description = "Streams the full history, or an inclusive date range, as NDJSON or CSV in (date, id) order")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid format or date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "503", description = "Too many exports running; retry after the Retry-After delay")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expenses." + format.getFileExtension() + "\"")
+                .body(exportService.export(LedgerType.EXPENSE, format, from, to));
+    }
+
+    @Operation(summary = "Import expense entries from CSV",
+            description = "Streams a text/csv body whose header names the entry fields, as in the CSV export; "
+                    + "rows are validated like single entries and inserted in committed batches. "
+                    + "Invalid rows are skipped and listed with their line numbers")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Upload processed; see the report for rejected rows"),
+        @ApiResponse(responseCode = "400", description = "Empty upload or missing required column"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importExpense(InputStream csv) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(LedgerType.EXPENSE, csv));
     }
-}
\ No newline at end of file
+}
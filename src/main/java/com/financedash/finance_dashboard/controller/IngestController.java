@@ -0,0 +1,92 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.IngestReceiptDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import com.financedash.finance_dashboard.service.IngestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Asynchronous counterparts of the ledger create endpoints, present when {@code finance.ingest.enabled}.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "finance.ingest", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "Ingestion", description = "Write-behind ledger ingestion endpoints")
+public class IngestController {
+
+    private final IngestService ingestService;
+
+    @Operation(summary = "Queue a new expense entry",
+            description = "Validates and journals the entry, then persists it in the background; "
+                    + "poll the receipt in the Location header for the outcome")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Expense entry accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid expense data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "503", description = "Queue full; retry after the Retry-After delay")
+    })
+    @PostMapping(ApiEndpoints.FinancePaths.IngestPaths.EXPENSES)
+    public ResponseEntity<IngestReceiptDTO> submitExpense(@Valid @RequestBody ExpenseDTO expenseDTO) {
+        return accepted(ingestService.submitExpense(expenseDTO));
+    }
+
+    @Operation(summary = "Queue a new income entry",
+            description = "Validates and journals the entry, then persists it in the background; "
+                    + "poll the receipt in the Location header for the outcome")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Income entry accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid income data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "503", description = "Queue full; retry after the Retry-After delay")
+    })
+    @PostMapping(ApiEndpoints.FinancePaths.IngestPaths.INCOME)
+    public ResponseEntity<IngestReceiptDTO> submitIncome(@Valid @RequestBody IncomeDTO incomeDTO) {
+        return accepted(ingestService.submitIncome(incomeDTO));
+    }
+
+    @Operation(summary = "Queue a new investment entry",
+            description = "Validates and journals the entry, then persists it in the background; "
+                    + "poll the receipt in the Location header for the outcome")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Investment entry accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid investment data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "503", description = "Queue full; retry after the Retry-After delay")
+    })
+    @PostMapping(ApiEndpoints.FinancePaths.IngestPaths.INVESTMENTS)
+    public ResponseEntity<IngestReceiptDTO> submitInvestment(@Valid @RequestBody InvestmentDTO investmentDTO) {
+        return accepted(ingestService.submitInvestment(investmentDTO));
+    }
+
+    @Operation(summary = "Get the outcome of a queued entry",
+            description = "QUEUED until committed, or BUFFERED when the journal could not be synced to disk, then PERSISTED with the entry id or REJECTED with the database error; "
+                    + "receipts are kept for finance.ingest.receipt-retention")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Retrieved the receipt"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired receipt")
+    })
+    @GetMapping(ApiEndpoints.FinancePaths.IngestPaths.RECEIPTS + "/{id}")
+    public ResponseEntity<IngestReceiptDTO> getReceipt(@PathVariable long id) {
+        return ResponseEntity.ok(ingestService.getReceipt(id));
+    }
+
+    private static ResponseEntity<IngestReceiptDTO> accepted(IngestReceiptDTO receipt) {
+        return ResponseEntity.accepted()
+                .location(URI.create(ApiEndpoints.FinancePaths.IngestPaths.RECEIPTS + "/" + receipt.getId()))
+                .body(receipt);
+    }
+}
@@ -1,13 +1,35 @@
 package com.financedash.finance_dashboard.controller;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.LedgerVersions;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.export.ExportFormat;
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.ImportReportDTO;
 import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import com.financedash.finance_dashboard.projection.FieldSelection;
+import com.financedash.finance_dashboard.projection.LedgerFields;
+import com.financedash.finance_dashboard.projection.ResponseShape;
+import com.financedash.finance_dashboard.payload.SimulationResultDTO;
+import com.financedash.finance_dashboard.service.ExportService;
+import com.financedash.finance_dashboard.service.ImportService;
 import com.financedash.finance_dashboard.service.InvestmentService;
+import com.financedash.finance_dashboard.service.InvestmentSimulationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -21,6 +43,12 @@ import com.financedash.finance_dashboard.config.ApiEndpoints;
 public class InvestmentController {
 
     private final InvestmentService investmentService;
+    private final LedgerVersions ledgerVersions;
+    private final ConditionalGet conditionalGet;
+    private final CurrentUser currentUser;
+    private final ExportService exportService;
+    private final ImportService importService;
+    private final InvestmentSimulationService simulationService;
 
     @Operation(summary = "Add new investment entry")
     @ApiResponses({
@@ -33,14 +61,46 @@ public class InvestmentController {
         return ResponseEntity.ok(investmentService.addInvestment(investmentDTO));
     }
 
-    @Operation(summary = "Get all investment entries")
+    @Operation(summary = "Add several investment entries at once",
+            description = "Validates each entry on its own and stores every valid one in a single transaction; "
+                    + "the result lists each entry, in request order, as CREATED with its id or INVALID with its errors")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed; see the per-entry results"),
+        @ApiResponse(responseCode = "400", description = "Empty, oversized or malformed batch"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<InvestmentDTO>> addInvestments(@RequestBody List<InvestmentDTO> entries) {
+        return ResponseEntity.ok(investmentService.addInvestments(entries));
+    }
+
+    @Operation(summary = "Get investment entries, newest first",
+            description = "Optional filters combine with AND; keyset pagination, pass nextCursor from the previous page as cursor. "
+                    + "fields=date,amount limits the serialized properties; shape=COLUMNS returns one array per field. "
+                    + "Supports If-None-Match: 304 while the ledger is unchanged")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Retrieved all investment entries"),
+        @ApiResponse(responseCode = "200", description = "Retrieved a page of investment entries"),
+        @ApiResponse(responseCode = "304", description = "Ledger unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, field, shape, page cursor or size"),
         @ApiResponse(responseCode = "401", description = "Unauthorized access")
     })
     @GetMapping
-    public ResponseEntity<List<InvestmentDTO>> getAllInvestments() {
-        return ResponseEntity.ok(investmentService.getAllInvestments());
+    public ResponseEntity<Object> getInvestments(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "ROWS") ResponseShape shape,
+            WebRequest request) {
+        LedgerFilter filter = new LedgerFilter(type, from, to, minAmount, maxAmount, q);
+        FieldSelection<InvestmentDTO> selection = LedgerFields.INVESTMENT.select(fields);
+        return conditionalGet.respond(request, "investments", ledgerVersions.etag(currentUser.id(), LedgerType.INVESTMENT),
+                () -> selection.project(investmentService.getInvestments(filter, cursor, size), shape));
     }
 
     @Operation(summary = "Get investment by ID")
@@ -53,4 +113,54 @@ public class InvestmentController {
     public ResponseEntity<InvestmentDTO> getInvestmentById(@PathVariable Long id) {
         return ResponseEntity.ok(investmentService.getInvestmentById(id));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Simulate portfolio outcomes",
+            description = "Monte Carlo projection of the current investments with per-type volatility; returns percentile bands per year")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Simulation completed"),
+        @ApiResponse(responseCode = "400", description = "Years or paths out of range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "503", description = "Too many simulations running; retry after the Retry-After delay")
+    })
+    @GetMapping("/simulation")
+    public ResponseEntity<SimulationResultDTO> simulate(
+            @RequestParam(defaultValue = "10") int years,
+            @RequestParam(required = false) Integer paths,
+            @RequestParam(required = false) Long seed) {
+        return ResponseEntity.ok(simulationService.simulate(years, paths, seed));
+    }
+
+    @Operation(summary = "Export investment entries",
+            description = "Streams the full history, or an inclusive date range, as NDJSON or CSV in (date, id) order")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid format or date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "503", description = "Too many exports running; retry after the Retry-After delay")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInvestments(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"investments." + format.getFileExtension() + "\"")
+                .body(exportService.export(LedgerType.INVESTMENT, format, from, to));
+    }
+
+    @Operation(summary = "Import investment entries from CSV",
+            description = "Streams a text/csv body whose header names the entry fields, as in the CSV export; "
+                    + "rows are validated like single entries and inserted in committed batches. "
+                    + "Invalid rows are skipped and listed with their line numbers")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Upload processed; see the report for rejected rows"),
+        @ApiResponse(responseCode = "400", description = "Empty upload or missing required column"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importInvestment(InputStream csv) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(LedgerType.INVESTMENT, csv));
+    }
+}
@@ -0,0 +1,60 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.RecurringRuleDTO;
+import com.financedash.finance_dashboard.service.RecurringRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(ApiEndpoints.FinancePaths.RECURRING)
+@RequiredArgsConstructor
+@Tag(name = "Recurring Transactions", description = "Rules creating income, expense and investment entries on a schedule")
+public class RecurringRuleController {
+
+    private final RecurringRuleService recurringRuleService;
+
+    @Operation(summary = "Add a recurring rule",
+            description = "Creates the same entry every interval DAILY, WEEKLY, MONTHLY or YEARLY units from the start date "
+                    + "until the optional end date. Occurrences are created by a background scheduler; "
+                    + "a start date in the past is caught up on")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Recurring rule created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid rule or entry data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping
+    public ResponseEntity<RecurringRuleDTO> addRule(@Valid @RequestBody RecurringRuleDTO rule) {
+        return ResponseEntity.ok(recurringRuleService.createRule(rule));
+    }
+
+    @Operation(summary = "Get recurring rules", description = "Lists the user's rules with their next due date")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Retrieved recurring rules"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping
+    public ResponseEntity<List<RecurringRuleDTO>> getRules() {
+        return ResponseEntity.ok(recurringRuleService.getRules());
+    }
+
+    @Operation(summary = "Delete a recurring rule", description = "Stops the rule; entries it already created are kept")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Recurring rule deleted"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "404", description = "Recurring rule not found")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        recurringRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,15 +1,25 @@
 package com.financedash.finance_dashboard.controller;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.LedgerVersions;
 import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.CategoryReportDTO;
 import com.financedash.finance_dashboard.payload.ReportDTO;
 import com.financedash.finance_dashboard.service.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping(ApiEndpoints.AuthPaths.ReportPaths.BASE)
@@ -18,16 +28,40 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class ReportController {
 
     private final ReportService reportService;
+    private final LedgerVersions ledgerVersions;
+    private final ConditionalGet conditionalGet;
+    private final CurrentUser currentUser;
 
-    @Operation(summary = "Get monthly financial report")
+    @Operation(summary = "Get monthly financial report",
+            description = "Supports If-None-Match: 304 while no ledger changed and the month has not rolled over")
     @GetMapping(ApiEndpoints.AuthPaths.ReportPaths.MONTHLY)
-    public ResponseEntity<ReportDTO> getMonthlyReport() {
-        return ResponseEntity.ok(reportService.getMonthlyReport());
+    public ResponseEntity<ReportDTO> getMonthlyReport(WebRequest request) {
+        // The report covers the current month, so the tag changes when the month does
+        String etag = ledgerVersions.etag(currentUser.id(), LedgerType.values()) + "-" + YearMonth.now();
+        return conditionalGet.respond(request, "monthly-report", etag, reportService::getMonthlyReport);
     }
 
-    @Operation(summary = "Get category-wise financial report")
+    @Operation(summary = "Get category-wise financial report",
+            description = "Inclusive date range; defaults to the current month")
     @GetMapping(ApiEndpoints.AuthPaths.ReportPaths.CATEGORY)
-    public ResponseEntity<ReportDTO> getReportByCategory() {
-        return ResponseEntity.ok(ReportDTO.builder().build());
+    public ResponseEntity<CategoryReportDTO> getReportByCategory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        LocalDate start = from != null ? from : monthStart;
+        LocalDate end = to != null ? to : monthStart.plusMonths(1).minusDays(1);
+        return ResponseEntity.ok(reportService.getCategoryReport(start, end));
+    }
+
+    @Operation(summary = "Get financial totals for an arbitrary date range",
+            description = "Inclusive date range; defaults to the current month")
+    @GetMapping(ApiEndpoints.AuthPaths.ReportPaths.RANGE)
+    public ResponseEntity<ReportDTO> getRangeReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        LocalDate start = from != null ? from : monthStart;
+        LocalDate end = to != null ? to : monthStart.plusMonths(1).minusDays(1);
+        return ResponseEntity.ok(reportService.getRangeReport(start, end));
     }
-}
\ No newline at end of file
+}
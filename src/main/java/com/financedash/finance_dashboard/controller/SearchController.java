@@ -0,0 +1,41 @@
+package com.financedash.finance_dashboard.controller;
+
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.SearchResultDTO;
+import com.financedash.finance_dashboard.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search over ledger notes and descriptions")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Operation(summary = "Search expense notes and income and investment descriptions",
+            description = "Every term must match; the last term also matches as a prefix unless prefix=false")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ranked matches, best first"),
+        @ApiResponse(responseCode = "400", description = "Query without searchable terms or invalid limit"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping(ApiEndpoints.FinancePaths.SEARCH)
+    public ResponseEntity<SearchResultDTO> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<LedgerType> ledger,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "true") boolean prefix) {
+        return ResponseEntity.ok(searchService.search(q, ledger, limit, prefix));
+    }
+}
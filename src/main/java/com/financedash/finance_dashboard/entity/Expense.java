@@ -1,9 +1,12 @@
 package com.financedash.finance_dashboard.entity;
 
+import com.financedash.finance_dashboard.appUser.AppUser;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
@@ -12,7 +15,16 @@ import java.time.LocalDate;
 @NoArgsConstructor
 
 @Entity
-@Table(name = "expense")
+@Table(name = "expense", indexes = {
+        // Every index leads with the owner so a user's queries only touch that user's rows
+        @Index(name = "idx_expense_user_date_amount", columnList = "user_id, date, amount"),
+        @Index(name = "idx_expense_user_date_category_amount", columnList = "user_id, date, category, amount"),
+        // Keyset pagination order
+        @Index(name = "idx_expense_user_date_id", columnList = "user_id, date, id"),
+        // Filtered listings: equality on category, then the date range and keyset order
+        @Index(name = "idx_expense_user_category_date_id", columnList = "user_id, category, date, id"),
+        @Index(name = "idx_expense_user_amount", columnList = "user_id, amount")
+})
 public class Expense {
 
     @Id
@@ -26,4 +38,14 @@ public class Expense {
     private LocalDate date;
     @Column(name = "notes")
     private String notes;
+
+    // Owning user; every listing, report and aggregate is scoped to it
+    @Column(name = "user_id")
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AppUser owner;
 }
@@ -1,9 +1,12 @@
 package com.financedash.finance_dashboard.entity;
 
+import com.financedash.finance_dashboard.appUser.AppUser;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
@@ -12,7 +15,16 @@ import java.time.LocalDate;
 @NoArgsConstructor
 
 @Entity
-@Table(name = "income")
+@Table(name = "income", indexes = {
+        // Every index leads with the owner so a user's queries only touch that user's rows
+        @Index(name = "idx_income_user_date_amount", columnList = "user_id, date, amount"),
+        @Index(name = "idx_income_user_date_source_amount", columnList = "user_id, date, source, amount"),
+        // Keyset pagination order
+        @Index(name = "idx_income_user_date_id", columnList = "user_id, date, id"),
+        // Filtered listings: equality on source, then the date range and keyset order
+        @Index(name = "idx_income_user_source_date_id", columnList = "user_id, source, date, id"),
+        @Index(name = "idx_income_user_amount", columnList = "user_id, amount")
+})
 public class Income {
 
     @Id
@@ -30,4 +42,14 @@ public class Income {
 
     @Column(name = "description")
     private String description;
+
+    // Owning user; every listing, report and aggregate is scoped to it
+    @Column(name = "user_id")
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AppUser owner;
 }
@@ -1,9 +1,12 @@
 package com.financedash.finance_dashboard.entity;
 
+import com.financedash.finance_dashboard.appUser.AppUser;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
@@ -13,7 +16,16 @@ import java.time.LocalDate;
 
 
 @Entity
-@Table(name = "investment")
+@Table(name = "investment", indexes = {
+        // Every index leads with the owner so a user's queries only touch that user's rows
+        @Index(name = "idx_investment_user_date_amount", columnList = "user_id, investment_date, amount"),
+        @Index(name = "idx_investment_user_date_type_amount", columnList = "user_id, investment_date, type, amount"),
+        // Keyset pagination order
+        @Index(name = "idx_investment_user_date_id", columnList = "user_id, investment_date, id"),
+        // Filtered listings: equality on type, then the date range and keyset order
+        @Index(name = "idx_investment_user_type_date_id", columnList = "user_id, type, investment_date, id"),
+        @Index(name = "idx_investment_user_amount", columnList = "user_id, amount")
+})
 public class Investment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,4 +42,14 @@ public class Investment {
 
     @Column(name = "description")
     private String description;
+
+    // Owning user; every listing, report and aggregate is scoped to it
+    @Column(name = "user_id")
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AppUser owner;
 }
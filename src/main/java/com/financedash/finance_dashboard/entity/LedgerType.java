@@ -0,0 +1,10 @@
+package com.financedash.finance_dashboard.entity;
+
+/**
+ * Identifies one of the three ledgers a financial entry can belong to.
+ */
+public enum LedgerType {
+    INCOME,
+    EXPENSE,
+    INVESTMENT
+}
@@ -0,0 +1,28 @@
+package com.financedash.finance_dashboard.entity;
+
+import java.time.LocalDate;
+
+/**
+ * Unit in which a recurring rule repeats.
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    /**
+     * Date of the given occurrence, counting from 0 at the start date. Computed from the start
+     * rather than from the previous occurrence, so a rule starting on the 31st stays on the last
+     * day of shorter months instead of drifting to the 28th.
+     */
+    public LocalDate occurrence(LocalDate start, long index, int interval) {
+        long steps = index * interval;
+        return switch (this) {
+            case DAILY -> start.plusDays(steps);
+            case WEEKLY -> start.plusWeeks(steps);
+            case MONTHLY -> start.plusMonths(steps);
+            case YEARLY -> start.plusYears(steps);
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.financedash.finance_dashboard.entity;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "recurring_rule", indexes = {
+        @Index(name = "idx_recurring_rule_user_id", columnList = "user_id, id"),
+        // The scheduler's scan for due rules; ended rules have no next_due and drop out of it
+        @Index(name = "idx_recurring_rule_next_due_id", columnList = "next_due, id")
+})
+public class RecurringRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ledger", nullable = false, length = 16)
+    private LedgerType ledger;
+    @Column(name = "amount", nullable = false)
+    private double amount;
+    // Category, source or investment type of the materialized entries
+    @Column(name = "dimension", nullable = false)
+    private String dimension;
+    // Notes or description of the materialized entries
+    @Column(name = "description")
+    private String description;
+    // Investment return rate; 0 for other ledgers
+    @Column(name = "return_rate", nullable = false)
+    private double returnRate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+    // Repeats every this many frequency units; "interval" is reserved in PostgreSQL
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval;
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    // Last date an occurrence may fall on; open-ended when null
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    // Date of the next occurrence to materialize; null once the rule has ended
+    @Column(name = "next_due")
+    private LocalDate nextDue;
+    // Occurrences materialized so far, which is also the index of the next one
+    @Column(name = "occurrences", nullable = false)
+    private long occurrences;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AppUser owner;
+}
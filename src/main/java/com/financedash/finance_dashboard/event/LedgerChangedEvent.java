@@ -0,0 +1,25 @@
+package com.financedash.finance_dashboard.event;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by the ledger services whenever entries are persisted. Listeners that keep
+ * derived state (snapshots, caches) should react after the surrounding transaction commits.
+ *
+ * @param userId owner of every changed entry
+ */
+public record LedgerChangedEvent(Long userId, LedgerType ledger, List<Change> changes) {
+
+    /**
+     * @param text the entry's free text (notes or description), may be null
+     */
+    public record Change(Long id, LocalDate date, double amount, String text) {
+    }
+
+    public static LedgerChangedEvent of(Long userId, LedgerType ledger, Long id, LocalDate date, double amount, String text) {
+        return new LedgerChangedEvent(userId, ledger, List.of(new Change(id, date, amount, text)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.financedash.finance_dashboard.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a bounded resource cannot take another request; clients retry after {@link #getRetryAfter()}.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CapacityExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -3,12 +3,15 @@ package com.financedash.finance_dashboard.exception;
 import com.financedash.finance_dashboard.payload.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.stream.Collectors;
 
@@ -42,6 +45,39 @@ public class GlobalExceptionHandler {
         return ApiResponse.<Void>badRequest(ex.getMessage()).toResponseEntity();
     }
 
+    // Unparseable query parameters such as an unknown shape or export format
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiResponse<Void>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.debug("MethodArgumentTypeMismatchException: {}", ex.getMessage());
+        return ApiResponse.<Void>badRequest("Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'")
+                .toResponseEntity();
+    }
+
+    // Malformed JSON, or a value of the wrong type, anywhere in a request body
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiResponse<Void>> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        log.debug("HttpMessageNotReadableException: {}", ex.getMessage());
+        return ApiResponse.<Void>badRequest("Malformed request body").toResponseEntity();
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ApiResponse<Void>> handleResourceNotFound(ResourceNotFoundException ex) {
+        log.debug("ResourceNotFoundException: {}", ex.getMessage());
+        return ApiResponse.<Void>error(ex.getMessage(), HttpStatus.NOT_FOUND).toResponseEntity();
+    }
+
+    // Write-behind queue or another bounded resource is full; tell clients when to try again
+    @ExceptionHandler(CapacityExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ApiResponse<Void>> handleCapacityExceeded(CapacityExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ApiResponse<Void>> handleIllegalStateException(IllegalStateException ex) {
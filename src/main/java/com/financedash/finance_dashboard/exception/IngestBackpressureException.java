@@ -0,0 +1,13 @@
+package com.financedash.finance_dashboard.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the write-behind queue cannot take another write; clients retry after {@link #getRetryAfter()}.
+ */
+public class IngestBackpressureException extends CapacityExceededException {
+
+    public IngestBackpressureException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
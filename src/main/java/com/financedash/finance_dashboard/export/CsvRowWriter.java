@@ -0,0 +1,108 @@
+package com.financedash.finance_dashboard.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Writes RFC 4180 CSV. Text cells that a spreadsheet would read as a formula, those starting
+ * with {@code = + - @}, tab or carriage return, are prefixed with an apostrophe so opening an
+ * export cannot run what a user typed into a description. Numeric and date columns are
+ * written unchanged, so negative amounts stay numbers.
+ * <p>
+ * Text already starting with an apostrophe gets one too, so the import can take the guard
+ * off again with {@link #unguard(String)} and an export imports back unchanged.
+ */
+public class CsvRowWriter implements ExportRowWriter {
+
+    private static final char GUARD = '\'';
+
+    private final Writer writer;
+    private int columns;
+    private boolean[] text;
+
+    public CsvRowWriter(OutputStream out) {
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeHeader(ResultSet rs) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        columns = metaData.getColumnCount();
+        text = new boolean[columns + 1];
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            text[i] = isText(metaData.getColumnType(i));
+            writeCell(metaData.getColumnLabel(i));
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void writeRow(ResultSet rs) throws SQLException, IOException {
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            // Dates and numbers render through the driver's text format, e.g. 2024-01-31 and 12.5
+            String value = rs.getString(i);
+            if (value != null) {
+                writeCell(text[i] && isGuarded(value) ? GUARD + value : value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private static boolean isText(int sqlType) {
+        return switch (sqlType) {
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.CLOB -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Takes off the apostrophe this writer put in front of a text cell; other cells, including
+     * an apostrophe followed by plain text, are returned as they are.
+     */
+    public static String unguard(String value) {
+        return value.length() > 1 && value.charAt(0) == GUARD && isGuarded(value.substring(1))
+                ? value.substring(1) : value;
+    }
+
+    private static boolean isGuarded(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                || first == GUARD;
+    }
+
+    private void writeCell(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
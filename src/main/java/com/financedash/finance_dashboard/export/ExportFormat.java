@@ -0,0 +1,17 @@
+package com.financedash.finance_dashboard.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    // One JSON object per line
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    // RFC 4180 with a header row
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+}
@@ -0,0 +1,18 @@
+package com.financedash.finance_dashboard.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes result set rows straight to the response without building intermediate objects.
+ * Column labels become field names or header cells.
+ */
+public interface ExportRowWriter {
+
+    void writeHeader(ResultSet rs) throws SQLException, IOException;
+
+    void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    void finish() throws IOException;
+}
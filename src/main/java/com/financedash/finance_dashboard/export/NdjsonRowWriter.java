@@ -0,0 +1,74 @@
+package com.financedash.finance_dashboard.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+public class NdjsonRowWriter implements ExportRowWriter {
+
+    private final JsonGenerator generator;
+    private String[] labels;
+    private int[] types;
+
+    public NdjsonRowWriter(JsonFactory jsonFactory, OutputStream out) throws IOException {
+        this.generator = jsonFactory.createGenerator(out);
+        // Objects are separated by newlines rather than the default space
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeHeader(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columns = metaData.getColumnCount();
+        labels = new String[columns];
+        types = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+        }
+    }
+
+    @Override
+    public void writeRow(ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < labels.length; i++) {
+            generator.writeFieldName(labels[i]);
+            writeValue(rs, i + 1, types[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+
+    private void writeValue(ResultSet rs, int column, int type) throws SQLException, IOException {
+        switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT -> {
+                long value = rs.getLong(column);
+                if (rs.wasNull()) generator.writeNull(); else generator.writeNumber(value);
+            }
+            case Types.DOUBLE, Types.FLOAT, Types.REAL, Types.NUMERIC, Types.DECIMAL -> {
+                double value = rs.getDouble(column);
+                if (rs.wasNull()) generator.writeNull(); else generator.writeNumber(value);
+            }
+            case Types.DATE -> {
+                Date value = rs.getDate(column);
+                if (value == null) generator.writeNull(); else generator.writeString(value.toLocalDate().toString());
+            }
+            default -> {
+                String value = rs.getString(column);
+                if (value == null) generator.writeNull(); else generator.writeString(value);
+            }
+        }
+    }
+}
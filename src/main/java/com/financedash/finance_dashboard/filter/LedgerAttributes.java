@@ -0,0 +1,55 @@
+package com.financedash.finance_dashboard.filter;
+
+import com.financedash.finance_dashboard.entity.Expense;
+import com.financedash.finance_dashboard.entity.Expense_;
+import com.financedash.finance_dashboard.entity.Income;
+import com.financedash.finance_dashboard.entity.Income_;
+import com.financedash.finance_dashboard.entity.Investment;
+import com.financedash.finance_dashboard.entity.Investment_;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maps the shared filter model onto one ledger's metamodel attributes.
+ * <p>
+ * Built on demand because the generated metamodel fields are only populated once
+ * Hibernate has bootstrapped.
+ *
+ * @param owner     the owning user's id, applied to every query
+ * @param selection attributes passed to the DTO constructor, in constructor order
+ */
+public record LedgerAttributes<T, D>(
+        Class<T> entityType,
+        Class<D> dtoType,
+        SingularAttribute<T, Long> id,
+        SingularAttribute<T, Long> owner,
+        SingularAttribute<T, LocalDate> date,
+        SingularAttribute<T, String> dimension,
+        SingularAttribute<T, Double> amount,
+        SingularAttribute<T, String> text,
+        List<SingularAttribute<T, ?>> selection) {
+
+    public static LedgerAttributes<Expense, ExpenseDTO> expense() {
+        return new LedgerAttributes<>(Expense.class, ExpenseDTO.class,
+                Expense_.id, Expense_.userId, Expense_.date, Expense_.category, Expense_.amount, Expense_.notes,
+                List.of(Expense_.id, Expense_.amount, Expense_.category, Expense_.date, Expense_.notes));
+    }
+
+    public static LedgerAttributes<Income, IncomeDTO> income() {
+        return new LedgerAttributes<>(Income.class, IncomeDTO.class,
+                Income_.id, Income_.userId, Income_.date, Income_.source, Income_.amount, Income_.description,
+                List.of(Income_.id, Income_.source, Income_.amount, Income_.date, Income_.description));
+    }
+
+    public static LedgerAttributes<Investment, InvestmentDTO> investment() {
+        return new LedgerAttributes<>(Investment.class, InvestmentDTO.class,
+                Investment_.id, Investment_.userId, Investment_.investmentDate, Investment_.type, Investment_.amount, Investment_.description,
+                List.of(Investment_.id, Investment_.amount, Investment_.type, Investment_.returnRate,
+                        Investment_.investmentDate, Investment_.description));
+    }
+}
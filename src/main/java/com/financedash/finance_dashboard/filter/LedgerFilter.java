@@ -0,0 +1,37 @@
+package com.financedash.finance_dashboard.filter;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters shared by every ledger listing; null fields do not constrain the result.
+ *
+ * @param dimension exact category, source or type, depending on the ledger
+ * @param from      inclusive start date
+ * @param to        inclusive end date
+ * @param text      case-insensitive substring of the notes or description
+ */
+public record LedgerFilter(String dimension, LocalDate from, LocalDate to,
+                           Double minAmount, Double maxAmount, String text) {
+
+    public static final LedgerFilter NONE = new LedgerFilter(null, null, null, null, null, null);
+
+    public LedgerFilter {
+        dimension = blankToNull(dimension);
+        text = blankToNull(text);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Filter start date must not be after end date");
+        }
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("Minimum amount must not exceed maximum amount");
+        }
+    }
+
+    public boolean isEmpty() {
+        return dimension == null && from == null && to == null
+                && minAmount == null && maxAmount == null && text == null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
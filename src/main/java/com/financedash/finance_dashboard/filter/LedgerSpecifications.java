@@ -0,0 +1,108 @@
+package com.financedash.finance_dashboard.filter;
+
+import com.financedash.finance_dashboard.pagination.KeysetCursor;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Composable ledger predicates. Each factory returns null when its filter is absent,
+ * which {@link Specification#allOf} skips.
+ * <p>
+ * Index strategy, per ledger; every query is also scoped by {@link #ownedBy}, which is why
+ * each index leads with the owner:
+ * <ul>
+ *     <li>dimension, with or without dates: (user_id, dimension, date, id) serves the equality, the range and the order</li>
+ *     <li>dates only: (user_id, date, id)</li>
+ *     <li>amount only: (user_id, amount)</li>
+ *     <li>text: GIN on (user_id, lower(text) gin_trgm_ops), see {@link TrigramIndexInitializer}</li>
+ * </ul>
+ */
+public final class LedgerSpecifications {
+
+    private LedgerSpecifications() {
+    }
+
+    public static <T> Specification<T> matching(LedgerFilter filter, LedgerAttributes<T, ?> attributes) {
+        return Specification.allOf(
+                dimensionEquals(attributes.dimension(), filter.dimension()),
+                dateBetween(attributes.date(), filter.from(), filter.to()),
+                amountBetween(attributes.amount(), filter.minAmount(), filter.maxAmount()),
+                textContains(attributes.text(), filter.text()));
+    }
+
+    public static <T> Specification<T> ownedBy(LedgerAttributes<T, ?> attributes, Long userId) {
+        return (root, query, cb) -> cb.equal(root.get(attributes.owner()), userId);
+    }
+
+    public static <T> Specification<T> dimensionEquals(SingularAttribute<T, String> attribute, String value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    public static <T> Specification<T> dateBetween(SingularAttribute<T, LocalDate> attribute,
+                                                   LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return cb.between(root.get(attribute), from, to);
+        };
+    }
+
+    public static <T> Specification<T> amountBetween(SingularAttribute<T, Double> attribute, Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), min);
+            }
+            return cb.between(root.get(attribute), min, max);
+        };
+    }
+
+    public static <T> Specification<T> textContains(SingularAttribute<T, String> attribute, String text) {
+        if (text == null) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%";
+        // lower(column) LIKE matches the expression of the trigram index
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, '\\');
+    }
+
+    /**
+     * Rows strictly after the cursor in (date desc, id desc) order.
+     * The redundant {@code date <= cursor date} bound gives the planner an index range
+     * to start from, which the OR alone would not.
+     */
+    public static <T> Specification<T> after(LedgerAttributes<T, ?> attributes, KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get(attributes.date()), cursor.date()),
+                cb.or(
+                        cb.lessThan(root.get(attributes.date()), cursor.date()),
+                        cb.and(
+                                cb.equal(root.get(attributes.date()), cursor.date()),
+                                cb.lessThan(root.get(attributes.id()), cursor.id()))));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
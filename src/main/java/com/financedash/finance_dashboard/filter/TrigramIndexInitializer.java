@@ -0,0 +1,79 @@
+package com.financedash.finance_dashboard.filter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the trigram indexes behind the text filters. Hibernate's schema update cannot
+ * express GIN expression indexes, so they are created here once the tables exist.
+ * <p>
+ * Every text filter is scoped to one owner, so each index leads with {@code user_id}
+ * (through btree_gin) and a lookup only visits that user's trigram postings. Indexes are
+ * built {@code CONCURRENTLY} on auto-commit statements, so writes continue during the build;
+ * a build that was interrupted leaves an invalid index, which is dropped and built again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramIndexInitializer {
+
+    private static final List<String> EXTENSIONS = List.of("pg_trgm", "btree_gin");
+
+    static final List<TrigramIndex> INDEXES = List.of(
+            new TrigramIndex("idx_expense_user_notes_trgm", "expense", "notes", "idx_expense_notes_trgm"),
+            new TrigramIndex("idx_income_user_description_trgm", "income", "description", "idx_income_description_trgm"),
+            new TrigramIndex("idx_investment_user_description_trgm", "investment", "description", "idx_investment_description_trgm"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            for (String extension : EXTENSIONS) {
+                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS " + extension);
+            }
+        } catch (DataAccessException e) {
+            // Text filters still work, just without index support
+            log.warn("Could not create trigram indexes, text filters will scan: {}", e.getMessage());
+            return;
+        }
+        for (TrigramIndex index : INDEXES) {
+            try {
+                if (isInvalid(index.name())) {
+                    log.warn("Dropping trigram index {} left invalid by an interrupted build", index.name());
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+                }
+                jdbcTemplate.execute(index.createStatement());
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.superseded());
+            } catch (DataAccessException e) {
+                log.warn("Could not create trigram index {}, text filters on {} will scan: {}",
+                        index.name(), index.table(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isInvalid(String indexName) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?",
+                Boolean.class, indexName);
+        return !valid.isEmpty() && !valid.get(0);
+    }
+
+    /**
+     * @param superseded name of the earlier text-only index this one replaces
+     */
+    record TrigramIndex(String name, String table, String column, String superseded) {
+
+        String createStatement() {
+            return "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + table
+                    + " USING gin (user_id, lower(" + column + ") gin_trgm_ops)";
+        }
+    }
+}
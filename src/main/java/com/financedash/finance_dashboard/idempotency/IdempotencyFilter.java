@@ -0,0 +1,278 @@
+package com.financedash.finance_dashboard.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.config.IdempotencyProperties;
+import com.financedash.finance_dashboard.payload.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST requests carrying an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key executes and its response is stored; later requests with the
+ * same key and the same method, path and body get that response back, marked
+ * {@code Idempotent-Replayed: true}, without executing. A key reused with a different request
+ * is refused with 422; a duplicate arriving while the first is still running waits for it,
+ * up to {@code wait-timeout}, then gets 409.
+ * <p>
+ * Runs after Spring Security, so keys are scoped to the authenticated user. Unauthenticated
+ * requests and the auth endpoints are passed through untouched: their bodies carry credentials
+ * and their responses tokens, neither of which may be stored, and a shared anonymous scope
+ * would tell callers which keys others used. Server errors and 429s are not stored, so
+ * retrying them executes again. Only JSON bodies are supported, since the body is buffered to fingerprint it.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(KEY_HEADER) == null
+                || request.getRequestURI().startsWith(request.getContextPath() + ApiEndpoints.AuthPaths.BASE_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String scope = scope();
+        if (scope == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        long maxBodySize = properties.getMaxBodySize().toBytes();
+        byte[] body = request.getInputStream().readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxBodySize + 1));
+        if (body.length > maxBodySize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, KEY_HEADER + " is supported for bodies up to "
+                    + properties.getMaxBodySize().toKilobytes() + " KB");
+            return;
+        }
+        if (body.length > 0 && !isJson(request.getContentType())) {
+            reject(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " is only supported on JSON requests");
+            return;
+        }
+
+        String fingerprint = IdempotencyStore.fingerprint(request.getMethod(), request.getRequestURI(),
+                request.getQueryString(), body);
+        IdempotencyStore.Claim claim = store.claim(scope, key, fingerprint);
+        switch (claim) {
+            case IdempotencyStore.Claim.Acquired acquired ->
+                    execute(new CachedBodyRequest(request, body), response, filterChain, acquired);
+            case IdempotencyStore.Claim.Completed completed -> replay(response, completed.response(), fingerprint);
+            case IdempotencyStore.Claim.InFlight inFlight -> {
+                if (!inFlight.fingerprint().equals(fingerprint)) {
+                    mismatch(response);
+                    return;
+                }
+                StoredResponse first = await(inFlight);
+                if (first == null) {
+                    conflict(response);
+                } else {
+                    replay(response, first, fingerprint);
+                }
+            }
+            case IdempotencyStore.Claim.Busy busy -> conflict(response);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         IdempotencyStore.Claim.Acquired claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                store.complete(claim, new StoredResponse(claim.fingerprint(), status, wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+            counter(stored ? "executed" : "released").increment();
+        } finally {
+            if (!stored) {
+                store.release(claim);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private StoredResponse await(IdempotencyStore.Claim.InFlight inFlight) throws ServletException {
+        try {
+            return inFlight.done().get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for a request with the same " + KEY_HEADER, e);
+        } catch (ExecutionException e) {
+            throw new ServletException(e.getCause());
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored, String fingerprint) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatch(response);
+            return;
+        }
+        counter("replayed").increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void mismatch(HttpServletResponse response) throws IOException {
+        counter("mismatch").increment();
+        reject(response, HttpStatus.UNPROCESSABLE_ENTITY, KEY_HEADER + " was already used for a different request");
+    }
+
+    private void conflict(HttpServletResponse response) throws IOException {
+        counter("conflict").increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        reject(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still in progress");
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message, status));
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("finance.http.idempotency")
+                .description("Requests with an Idempotency-Key by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Null for unauthenticated requests, which are never recorded
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Serves the buffered body to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.financedash.finance_dashboard.idempotency;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A claimed idempotency key and, once its request finished, the response to replay.
+ * <p>
+ * The id is a hash of the caller and the key, so neither is stored; the status stays null
+ * while the first request is running.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "idempotency_record", indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // Hash of the request the key was first used with
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Integer status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(length = 2048)
+    private String location;
+
+    private byte[] body;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,67 @@
+package com.financedash.finance_dashboard.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key unless another request holds it or its response is still replayable.
+     *
+     * @return 1 when claimed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_record (id, fingerprint, locked_until, expires_at) " +
+            "VALUES (:id, :fingerprint, :lockedUntil, :expiresAt) " +
+            "ON CONFLICT (id) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, locked_until = EXCLUDED.locked_until, " +
+            "expires_at = EXCLUDED.expires_at, status = NULL, content_type = NULL, location = NULL, body = NULL " +
+            "WHERE idempotency_record.expires_at < :now " +
+            "OR (idempotency_record.status IS NULL AND idempotency_record.locked_until < :now)",
+            nativeQuery = true)
+    int claim(@Param("id") String id,
+              @Param("fingerprint") String fingerprint,
+              @Param("now") Instant now,
+              @Param("lockedUntil") Instant lockedUntil,
+              @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Stores the response, provided the caller still owns the claim: once it outlived
+     * lock-timeout the key may have been claimed again, and that claim is left alone.
+     *
+     * @return 1 when stored
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, " +
+            "r.location = :location, r.body = :body " +
+            "WHERE r.id = :id AND r.fingerprint = :fingerprint AND r.lockedUntil = :lockedUntil AND r.status IS NULL")
+    int complete(@Param("id") String id,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("lockedUntil") Instant lockedUntil,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("location") String location,
+                 @Param("body") byte[] body);
+
+    // Gives up an unfinished claim so the key can be retried at once; a newer claim on the key is left alone
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.id = :id AND r.fingerprint = :fingerprint AND r.lockedUntil = :lockedUntil AND r.status IS NULL")
+    int release(@Param("id") String id,
+                @Param("fingerprint") String fingerprint,
+                @Param("lockedUntil") Instant lockedUntil);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,216 @@
+package com.financedash.finance_dashboard.idempotency;
+
+import com.financedash.finance_dashboard.config.IdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Idempotency keys: a sharded in-memory LRU in front of the {@code idempotency_record} table.
+ * <p>
+ * Each shard is an access-ordered map under its own lock, so lookups for different keys rarely
+ * contend. The first request for a key claims it in memory before touching the database;
+ * duplicates arriving meanwhile on this instance find the in-flight entry and wait for its
+ * response instead of executing. The table makes the claim hold across instances and restarts
+ * and serves responses that were evicted from memory.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final Shard[] shards;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        int count = properties.getShards() <= 1 ? 1 : Integer.highestOneBit(properties.getShards() - 1) << 1;
+        int capacity = Math.max(1, properties.getMaxEntries() / count);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    /**
+     * Looks the key up for the caller and claims it when unused.
+     *
+     * @param scope       who is calling; the same key from different callers never collides
+     * @param fingerprint hash of the request, compared on replay
+     */
+    public Claim claim(String scope, String key, String fingerprint) {
+        String id = sha256Hex(scope + '\n' + key);
+        Shard shard = shardFor(id);
+        Instant now = Instant.now();
+        CompletableFuture<StoredResponse> done = new CompletableFuture<>();
+        synchronized (shard) {
+            Entry entry = shard.get(id);
+            if (entry != null && entry.expiresAt.isBefore(now)) {
+                shard.remove(id);
+                entry = null;
+            }
+            if (entry != null) {
+                return entry.response != null
+                        ? new Claim.Completed(entry.response)
+                        : new Claim.InFlight(entry.fingerprint, entry.done);
+            }
+            shard.put(id, new Entry(fingerprint, done, null, now.plus(properties.getTtl())));
+        }
+
+        // First request for the key on this instance; duplicates now wait on done
+        try {
+            // Identifies this claim in complete and release; truncated to what the column stores
+            Instant lockedUntil = now.plus(properties.getLockTimeout()).truncatedTo(ChronoUnit.MICROS);
+            if (repository.claim(id, fingerprint, now, lockedUntil, now.plus(properties.getTtl())) == 1) {
+                return new Claim.Acquired(id, fingerprint, lockedUntil, done);
+            }
+            IdempotencyRecord record = repository.findById(id).orElse(null);
+            if (record != null && record.getStatus() != null) {
+                StoredResponse response = new StoredResponse(record.getFingerprint(), record.getStatus(),
+                        record.getContentType(), record.getLocation(), record.getBody());
+                remember(shard, id, done, response, record.getExpiresAt());
+                return new Claim.Completed(response);
+            }
+            // Running on another instance, or left unfinished by one that crashed
+            forget(shard, id, done);
+            return new Claim.Busy();
+        } catch (RuntimeException e) {
+            forget(shard, id, done);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the response of an acquired claim and hands it to waiting duplicates.
+     */
+    public void complete(Claim.Acquired claim, StoredResponse response) {
+        try {
+            if (repository.complete(claim.id(), claim.fingerprint(), claim.lockedUntil(), response.status(),
+                    response.contentType(), response.location(), response.body()) == 0) {
+                log.warn("Idempotency key was claimed again after lock-timeout; this response is not stored");
+            }
+        } catch (DataAccessException e) {
+            // Duplicates on this instance still replay; elsewhere the key unlocks after lock-timeout
+            log.warn("Could not store the response for an idempotency key", e);
+        }
+        remember(shardFor(claim.id()), claim.id(), claim.done(), response, Instant.now().plus(properties.getTtl()));
+    }
+
+    /**
+     * Gives up an acquired claim without a response, so a retry executes again.
+     */
+    public void release(Claim.Acquired claim) {
+        try {
+            repository.release(claim.id(), claim.fingerprint(), claim.lockedUntil());
+        } catch (DataAccessException e) {
+            log.warn("Could not release an idempotency key; it unlocks after lock-timeout", e);
+        }
+        forget(shardFor(claim.id()), claim.id(), claim.done());
+    }
+
+    @Scheduled(fixedDelayString = "${finance.idempotency.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Shard shardFor(String id) {
+        return shards[id.hashCode() & (shards.length - 1)];
+    }
+
+    private static void remember(Shard shard, String id, CompletableFuture<StoredResponse> done,
+                                 StoredResponse response, Instant expiresAt) {
+        synchronized (shard) {
+            shard.put(id, new Entry(response.fingerprint(), done, response, expiresAt));
+        }
+        done.complete(response);
+    }
+
+    // Waiting duplicates see null and answer 409, so the client retries
+    private static void forget(Shard shard, String id, CompletableFuture<StoredResponse> done) {
+        synchronized (shard) {
+            Entry entry = shard.get(id);
+            if (entry != null && entry.done == done) {
+                shard.remove(id);
+            }
+        }
+        done.complete(null);
+    }
+
+    /**
+     * Hash identifying a request, so a key reused for a different one is detected.
+     */
+    public static String fingerprint(String method, String uri, String query, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update((method + ' ' + uri + '?' + (query != null ? query : "") + '\n').getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest(body));
+    }
+
+    private static String sha256Hex(String value) {
+        return HexFormat.of().formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * What a request should do with its key.
+     */
+    public sealed interface Claim {
+
+        // Execute the request, then complete or release the claim; lockedUntil tells this claim from later ones
+        record Acquired(String id, String fingerprint, Instant lockedUntil, CompletableFuture<StoredResponse> done)
+                implements Claim {
+        }
+
+        record Completed(StoredResponse response) implements Claim {
+        }
+
+        // Another request with the key is running here; its response completes done, or null if it gave up
+        record InFlight(String fingerprint, CompletableFuture<StoredResponse> done) implements Claim {
+        }
+
+        // Another instance holds the key
+        record Busy() implements Claim {
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> done, StoredResponse response,
+                         Instant expiresAt) {
+    }
+
+    private static final class Shard extends LinkedHashMap<String, Entry> {
+
+        private final int capacity;
+
+        private Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        // In-flight entries are never evicted; duplicates must keep finding them
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > capacity && eldest.getValue().response() != null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.financedash.finance_dashboard.idempotency;
+
+/**
+ * The response replayed for an idempotency key.
+ *
+ * @param fingerprint hash of the request that produced it
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body) {
+}
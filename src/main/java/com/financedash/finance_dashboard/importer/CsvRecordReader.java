@@ -0,0 +1,191 @@
+package com.financedash.finance_dashboard.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader, the counterpart of {@link com.financedash.finance_dashboard.export.CsvRowWriter}.
+ * <p>
+ * Returns one record at a time so memory use does not grow with the upload. Quoted fields
+ * may contain commas, doubled quotes and line breaks; records end with CRLF or LF, and a
+ * leading byte order mark is skipped.
+ * <p>
+ * Cells and records are bounded too, so a missing line break or a runaway quoted field
+ * cannot make one record hold the whole upload: past a limit the rest of the record is
+ * read without being kept, and the record is refused with a {@link RecordTooLongException}.
+ */
+public class CsvRecordReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final int maxCellLength;
+    private final int maxRecordLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder cell = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean started;
+    private long line = 1;
+    private long recordLine;
+    // Characters of the current record, separators and quotes included
+    private int recordLength;
+    private String tooLong;
+
+    /**
+     * @param maxCellLength   characters a cell may hold once unquoted
+     * @param maxRecordLength characters a record may span, separators and quotes included
+     */
+    public CsvRecordReader(Reader reader, int maxCellLength, int maxRecordLength) {
+        this.reader = reader;
+        this.maxCellLength = maxCellLength;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the record's cells, or null at the end of the input
+     * @throws RecordTooLongException   when a cell or the record exceeds its limit; the next
+     *                                  call continues with the following record
+     * @throws IllegalArgumentException when a quoted field is malformed or never closed
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        recordLength = 0;
+        tooLong = null;
+        List<String> cells = new ArrayList<>();
+        cell.setLength(0);
+        while (true) {
+            if (c == '"' && cell.isEmpty()) {
+                readQuoted();
+                c = read();
+                if (c != ',' && c != '\r' && c != '\n' && c != -1) {
+                    throw new IllegalArgumentException("Unexpected character after closing quote on line " + line);
+                }
+                continue;
+            }
+            switch (c) {
+                case ',' -> {
+                    count();
+                    if (tooLong == null) {
+                        cells.add(cell.toString());
+                    }
+                    cell.setLength(0);
+                }
+                case '\r', '\n', -1 -> {
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    if (tooLong != null) {
+                        throw new RecordTooLongException(tooLong);
+                    }
+                    cells.add(cell.toString());
+                    return cells;
+                }
+                default -> append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started, 1-based.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private void readQuoted() throws IOException {
+        long startLine = line;
+        count();
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IllegalArgumentException("Unterminated quoted field starting on line " + startLine);
+            }
+            if (c == '"') {
+                count();
+                if (peek() != '"') {
+                    return;
+                }
+                read();
+            } else if (c == '\n') {
+                line++;
+            }
+            append((char) c);
+        }
+    }
+
+    private void append(char c) {
+        count();
+        if (tooLong != null) {
+            return;
+        }
+        if (cell.length() == maxCellLength) {
+            tooLong = "Cell exceeds " + maxCellLength + " characters";
+            cell.setLength(0);
+            return;
+        }
+        cell.append(c);
+    }
+
+    // Counts a character of the record; past the record limit, nothing more of it is kept
+    private void count() {
+        if (++recordLength > maxRecordLength && tooLong == null) {
+            tooLong = "Record exceeds " + maxRecordLength + " characters";
+            cell.setLength(0);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * A record was refused for its size; unlike other malformed input, reading can go on with
+     * the next record.
+     */
+    public static class RecordTooLongException extends IllegalArgumentException {
+
+        public RecordTooLongException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.financedash.finance_dashboard.importer;
+
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import com.financedash.finance_dashboard.rollup.LedgerEntry;
+
+import java.time.LocalDate;
+
+/**
+ * A validated upload row in ledger-neutral form.
+ *
+ * @param dimension  category, source or type
+ * @param text       notes or description, may be null
+ * @param returnRate investment return rate; 0 for other ledgers
+ */
+public record ImportRow(LocalDate date, double amount, String dimension, String text, double returnRate) {
+
+    // Length of the ledger tables' varchar columns
+    public static final int MAX_TEXT_LENGTH = 255;
+
+    public static ImportRow of(ExpenseDTO dto) {
+        return new ImportRow(dto.getDate(), dto.getAmount(), dto.getCategory(), dto.getNotes(), 0.0);
+    }
+
+    public static ImportRow of(IncomeDTO dto) {
+        return new ImportRow(dto.getDate(), dto.getAmount(), dto.getSource(), dto.getDescription(), 0.0);
+    }
+
+    public static ImportRow of(InvestmentDTO dto) {
+        return new ImportRow(dto.getInvestmentDate(), dto.getAmount(), dto.getType(), dto.getDescription(), dto.getReturns());
+    }
+
+    public LedgerEntry toEntry(Long userId) {
+        return new LedgerEntry(userId, date, dimension, amount);
+    }
+}
@@ -0,0 +1,160 @@
+package com.financedash.finance_dashboard.importer;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.export.CsvRowWriter;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binds upload records to a ledger's DTO by header name and validates them with the same
+ * constraints as the single-entry endpoints.
+ * <p>
+ * Headers are the DTO property names, so a CSV export can be imported as is; the {@code id}
+ * column and any unknown column are ignored, and the export's formula guard is taken off text.
+ */
+public class ImportRowBinder {
+
+    private final LedgerType ledger;
+    private final Validator validator;
+    private final int columnCount;
+    private final String dimensionColumn;
+    private final String dateColumn;
+    private final String textColumn;
+    private final int amountIndex;
+    private final int dimensionIndex;
+    private final int dateIndex;
+    private final int textIndex;
+    private final int returnsIndex;
+
+    /**
+     * @throws IllegalArgumentException when a required column is missing from the header
+     */
+    public ImportRowBinder(LedgerType ledger, List<String> header, Validator validator) {
+        this.ledger = ledger;
+        this.validator = validator;
+        this.columnCount = header.size();
+        this.dimensionColumn = switch (ledger) {
+            case EXPENSE -> "category";
+            case INCOME -> "source";
+            case INVESTMENT -> "type";
+        };
+        this.dateColumn = ledger == LedgerType.INVESTMENT ? "investmentDate" : "date";
+        this.textColumn = ledger == LedgerType.EXPENSE ? "notes" : "description";
+
+        List<String> missing = new ArrayList<>();
+        this.amountIndex = required(header, "amount", missing);
+        this.dimensionIndex = required(header, dimensionColumn, missing);
+        this.dateIndex = required(header, dateColumn, missing);
+        this.returnsIndex = ledger == LedgerType.INVESTMENT ? required(header, "returns", missing) : -1;
+        this.textIndex = indexOf(header, textColumn);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing required columns: " + String.join(", ", missing));
+        }
+    }
+
+    /**
+     * Binds and validates one record.
+     *
+     * @param errors receives one message per problem found
+     * @return the row, or null when the record was rejected
+     */
+    public ImportRow bind(List<String> cells, List<String> errors) {
+        if (cells.size() != columnCount) {
+            errors.add("Expected " + columnCount + " columns, found " + cells.size());
+            return null;
+        }
+
+        // Properties that failed to parse; their "is required" violations would only repeat the error
+        Set<String> unparsed = new HashSet<>();
+        Double amount = parseNumber(cells, amountIndex, "amount", errors, unparsed);
+        Double returns = returnsIndex >= 0 ? parseNumber(cells, returnsIndex, "returns", errors, unparsed) : null;
+        LocalDate date = parseDate(cells, errors, unparsed);
+        String dimension = text(cells, dimensionIndex, dimensionColumn, errors);
+        String text = text(cells, textIndex, textColumn, errors);
+
+        Object dto = switch (ledger) {
+            case EXPENSE -> new ExpenseDTO(null, amount, dimension, date, text);
+            case INCOME -> new IncomeDTO(null, dimension, amount, date, text);
+            case INVESTMENT -> new InvestmentDTO(null, amount, dimension, returns, date, text);
+        };
+        for (ConstraintViolation<Object> violation : validator.validate(dto)) {
+            if (!unparsed.contains(violation.getPropertyPath().toString())) {
+                errors.add(violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return null;
+        }
+        return new ImportRow(date, amount, dimension, text, returns != null ? returns : 0.0);
+    }
+
+    private Double parseNumber(List<String> cells, int index, String column, List<String> errors, Set<String> unparsed) {
+        String value = cells.get(index).trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            double number = Double.parseDouble(value);
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        errors.add(column + ": '" + value + "' is not a number");
+        unparsed.add(column);
+        return null;
+    }
+
+    private LocalDate parseDate(List<String> cells, List<String> errors, Set<String> unparsed) {
+        String value = cells.get(dateIndex).trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            errors.add(dateColumn + ": '" + value + "' is not a yyyy-MM-dd date");
+            unparsed.add(dateColumn);
+            return null;
+        }
+    }
+
+    private static String text(List<String> cells, int index, String column, List<String> errors) {
+        if (index < 0) {
+            return null;
+        }
+        String value = CsvRowWriter.unguard(cells.get(index).trim());
+        if (value.length() > ImportRow.MAX_TEXT_LENGTH) {
+            errors.add(column + ": must be at most " + ImportRow.MAX_TEXT_LENGTH + " characters");
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int required(List<String> header, String column, List<String> missing) {
+        int index = indexOf(header, column);
+        if (index < 0) {
+            missing.add(column);
+        }
+        return index;
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.financedash.finance_dashboard.ingest;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Highest journal sequence whose write is committed, per ingesting instance.
+ * <p>
+ * Advanced in the same transaction as the writes themselves, so a journal replay after a crash
+ * skips exactly what already reached the database.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "ingest_checkpoint")
+public class IngestCheckpoint {
+
+    @Id
+    @Column(name = "instance_id")
+    private String instanceId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
@@ -0,0 +1,18 @@
+package com.financedash.finance_dashboard.ingest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestCheckpointRepository extends JpaRepository<IngestCheckpoint, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO ingest_checkpoint (instance_id, last_sequence) VALUES (:instanceId, :sequence) " +
+            "ON CONFLICT (instance_id) DO UPDATE " +
+            "SET last_sequence = GREATEST(ingest_checkpoint.last_sequence, EXCLUDED.last_sequence)",
+            nativeQuery = true)
+    int advance(@Param("instanceId") String instanceId, @Param("sequence") long sequence);
+}
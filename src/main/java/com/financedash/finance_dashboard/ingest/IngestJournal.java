@@ -0,0 +1,217 @@
+package com.financedash.finance_dashboard.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Append-only local write-ahead log of accepted writes, one JSON line per write.
+ * <p>
+ * Appends only reach the page cache; {@link #sync(long)} forces them to disk. Concurrent
+ * callers share forces: whoever syncs first covers every write appended before it, so under
+ * load one fsync acknowledges a whole group of submissions.
+ * <p>
+ * The log is split into segments of about {@code segmentBytes}. Appends go to the newest
+ * segment; a full one is forced and sealed, and a new one started. {@link #release(long)}
+ * deletes sealed segments holding only committed writes, and empties the newest one once
+ * every write is committed, so the log stays bounded even when the queue never runs empty.
+ */
+public class IngestJournal implements Closeable {
+
+    private static final byte NEWLINE = '\n';
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final String name;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+    // Guards the channel against a concurrent force while a segment is sealed
+    private final Object syncLock = new Object();
+    // Sealed segments, oldest first
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+
+    private long activeNumber;
+    private Path activeFile;
+    private FileChannel channel;
+    private volatile long appendedSequence;
+    private volatile long syncedSequence;
+
+    /**
+     * @param name         prefix of this journal's segment files in the directory
+     * @param segmentBytes size after which the newest segment is sealed
+     */
+    public IngestJournal(Path directory, String name, long segmentBytes, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.name = name;
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads every complete record of every segment, in append order, and opens the newest
+     * segment for appends; call once, before the first append.
+     * <p>
+     * A trailing partial line in the newest segment, left by a crash in the middle of an
+     * append, was never acknowledged and is cut off.
+     *
+     * @throws IOException when a complete line cannot be parsed
+     */
+    public synchronized List<PendingWrite> readAll() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, name + ".*" + SUFFIX)) {
+            for (Path file : files) {
+                String number = file.getFileName().toString();
+                number = number.substring(name.length() + 1, number.length() - SUFFIX.length());
+                if (!number.isEmpty() && number.chars().allMatch(Character::isDigit)) {
+                    segments.put(Long.parseLong(number), file);
+                }
+            }
+        }
+
+        List<PendingWrite> writes = new ArrayList<>();
+        long end = 0;
+        for (var segment : segments.entrySet()) {
+            byte[] content = Files.readAllBytes(segment.getValue());
+            end = read(segment.getValue(), content, writes);
+            if (!segment.getKey().equals(segments.lastKey())) {
+                if (end != content.length) {
+                    throw new IOException("Partial ingest journal record at byte " + end + " of sealed segment "
+                            + segment.getValue());
+                }
+                long last = writes.isEmpty() ? 0 : writes.getLast().sequence();
+                sealed.add(new Segment(segment.getValue(), last));
+            }
+        }
+
+        activeNumber = segments.isEmpty() ? 1 : segments.lastKey();
+        activeFile = segments.isEmpty() ? segmentFile(activeNumber) : segments.lastEntry().getValue();
+        channel = FileChannel.open(activeFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        channel.truncate(end);
+        channel.position(end);
+        if (!writes.isEmpty()) {
+            appendedSequence = writes.getLast().sequence();
+            syncedSequence = appendedSequence;
+        }
+        return writes;
+    }
+
+    private int read(Path file, byte[] content, List<PendingWrite> writes) throws IOException {
+        int start = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != NEWLINE) {
+                continue;
+            }
+            try {
+                writes.add(objectMapper.readValue(content, start, i - start, PendingWrite.class));
+            } catch (JsonProcessingException e) {
+                throw new IOException("Corrupt ingest journal record at byte " + start + " of " + file, e);
+            }
+            start = i + 1;
+        }
+        return start;
+    }
+
+    /**
+     * Appends a write without forcing it to disk. Callers append in sequence order. A failed
+     * append leaves the journal as it was.
+     */
+    public synchronized void append(PendingWrite write) throws IOException {
+        if (channel.position() >= segmentBytes) {
+            seal();
+        }
+        byte[] json = objectMapper.writeValueAsBytes(write);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put(NEWLINE).flip();
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // A partial line would otherwise be glued to the next record
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        }
+        appendedSequence = write.sequence();
+    }
+
+    // Forces the newest segment, so everything in it stays acknowledged, and starts the next one
+    private void seal() throws IOException {
+        synchronized (syncLock) {
+            long covered = appendedSequence;
+            channel.force(false);
+            syncedSequence = covered;
+            Path next = segmentFile(activeNumber + 1);
+            FileChannel nextChannel = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            channel.close();
+            sealed.add(new Segment(activeFile, covered));
+            activeNumber++;
+            activeFile = next;
+            channel = nextChannel;
+        }
+    }
+
+    /**
+     * Returns once the write with the given sequence, and everything before it, is on disk.
+     */
+    public void sync(long sequence) throws IOException {
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            long covered = appendedSequence;
+            channel.force(false);
+            syncedSequence = covered;
+        }
+    }
+
+    /**
+     * Drops what is no longer needed for a replay: sealed segments whose writes are all
+     * committed, and the newest segment's content once every appended write is.
+     *
+     * @param committedSequence every write up to this sequence is committed or rejected
+     */
+    public synchronized void release(long committedSequence) throws IOException {
+        while (!sealed.isEmpty() && sealed.peekFirst().lastSequence() <= committedSequence) {
+            Files.deleteIfExists(sealed.pollFirst().file());
+        }
+        if (sealed.isEmpty() && committedSequence >= appendedSequence && channel.position() > 0) {
+            channel.truncate(0);
+            channel.position(0);
+            syncedSequence = appendedSequence;
+        }
+    }
+
+    private Path segmentFile(long number) {
+        return directory.resolve(name + "." + String.format("%010d", number) + SUFFIX);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private record Segment(Path file, long lastSequence) {
+    }
+}
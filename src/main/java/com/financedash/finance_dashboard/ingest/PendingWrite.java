@@ -0,0 +1,12 @@
+package com.financedash.finance_dashboard.ingest;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.importer.ImportRow;
+
+/**
+ * A validated write accepted for asynchronous persistence.
+ *
+ * @param sequence journal position; also the receipt id handed to the client
+ */
+public record PendingWrite(long sequence, Long userId, LedgerType ledger, ImportRow row) {
+}
@@ -0,0 +1,33 @@
+package com.financedash.finance_dashboard.mapper;
+
+import com.financedash.finance_dashboard.entity.Expense;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field copies between {@link Expense} and {@link ExpenseDTO}; no reflection at runtime.
+ */
+@Component
+public class ExpenseMapper {
+
+    /**
+     * Builds a new, unsaved entity. The DTO id is ignored so a create can never overwrite an existing row.
+     */
+    public Expense toEntity(ExpenseDTO dto) {
+        Expense expense = new Expense();
+        expense.setAmount(dto.getAmount() != null ? dto.getAmount() : 0.0);
+        expense.setCategory(dto.getCategory());
+        expense.setDate(dto.getDate());
+        expense.setNotes(dto.getNotes());
+        return expense;
+    }
+
+    public ExpenseDTO toDto(Expense expense) {
+        return new ExpenseDTO(
+                expense.getId(),
+                expense.getAmount(),
+                expense.getCategory(),
+                expense.getDate(),
+                expense.getNotes());
+    }
+}
@@ -0,0 +1,33 @@
+package com.financedash.finance_dashboard.mapper;
+
+import com.financedash.finance_dashboard.entity.Income;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field copies between {@link Income} and {@link IncomeDTO}; no reflection at runtime.
+ */
+@Component
+public class IncomeMapper {
+
+    /**
+     * Builds a new, unsaved entity. The DTO id is ignored so a create can never overwrite an existing row.
+     */
+    public Income toEntity(IncomeDTO dto) {
+        Income income = new Income();
+        income.setAmount(dto.getAmount() != null ? dto.getAmount() : 0.0);
+        income.setSource(dto.getSource());
+        income.setDate(dto.getDate());
+        income.setDescription(dto.getDescription());
+        return income;
+    }
+
+    public IncomeDTO toDto(Income income) {
+        return new IncomeDTO(
+                income.getId(),
+                income.getSource(),
+                income.getAmount(),
+                income.getDate(),
+                income.getDescription());
+    }
+}
@@ -0,0 +1,36 @@
+package com.financedash.finance_dashboard.mapper;
+
+import com.financedash.finance_dashboard.entity.Investment;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field copies between {@link Investment} and {@link InvestmentDTO}; no reflection at runtime.
+ */
+@Component
+public class InvestmentMapper {
+
+    /**
+     * Builds a new, unsaved entity. The DTO id is ignored so a create can never overwrite an existing row.
+     */
+    public Investment toEntity(InvestmentDTO dto) {
+        Investment investment = new Investment();
+        investment.setAmount(dto.getAmount() != null ? dto.getAmount() : 0.0);
+        investment.setType(dto.getType());
+        // The API calls the rate "returns"; the entity stores it as returnRate
+        investment.setReturnRate(dto.getReturns() != null ? dto.getReturns() : 0.0);
+        investment.setInvestmentDate(dto.getInvestmentDate());
+        investment.setDescription(dto.getDescription());
+        return investment;
+    }
+
+    public InvestmentDTO toDto(Investment investment) {
+        return new InvestmentDTO(
+                investment.getId(),
+                investment.getAmount(),
+                investment.getType(),
+                investment.getReturnRate(),
+                investment.getInvestmentDate(),
+                investment.getDescription());
+    }
+}
@@ -0,0 +1,50 @@
+package com.financedash.finance_dashboard.mapper;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.entity.RecurringRule;
+import com.financedash.finance_dashboard.payload.RecurringRuleDTO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field copies between {@link RecurringRule} and {@link RecurringRuleDTO}; no reflection at runtime.
+ */
+@Component
+public class RecurringRuleMapper {
+
+    /**
+     * Builds a new, unsaved rule whose first occurrence is on the start date. The DTO id and
+     * progress fields are ignored so a create can never overwrite or skip ahead.
+     */
+    public RecurringRule toEntity(RecurringRuleDTO dto) {
+        RecurringRule rule = new RecurringRule();
+        rule.setLedger(dto.getLedger());
+        rule.setAmount(dto.getAmount() != null ? dto.getAmount() : 0.0);
+        rule.setDimension(dto.getCategory());
+        rule.setDescription(dto.getDescription());
+        rule.setReturnRate(dto.getLedger() == LedgerType.INVESTMENT && dto.getReturns() != null ? dto.getReturns() : 0.0);
+        rule.setFrequency(dto.getFrequency());
+        rule.setInterval(dto.getInterval() != null ? dto.getInterval() : 1);
+        rule.setStartDate(dto.getStartDate());
+        rule.setEndDate(dto.getEndDate());
+        rule.setNextDue(dto.getStartDate());
+        rule.setOccurrences(0);
+        return rule;
+    }
+
+    public RecurringRuleDTO toDto(RecurringRule rule) {
+        return RecurringRuleDTO.builder()
+                .id(rule.getId())
+                .ledger(rule.getLedger())
+                .amount(rule.getAmount())
+                .category(rule.getDimension())
+                .description(rule.getDescription())
+                .returns(rule.getLedger() == LedgerType.INVESTMENT ? rule.getReturnRate() : null)
+                .frequency(rule.getFrequency())
+                .interval(rule.getInterval())
+                .startDate(rule.getStartDate())
+                .endDate(rule.getEndDate())
+                .nextDue(rule.getNextDue())
+                .occurrences(rule.getOccurrences())
+                .build();
+    }
+}
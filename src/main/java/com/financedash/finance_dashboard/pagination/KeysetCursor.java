@@ -0,0 +1,40 @@
+package com.financedash.finance_dashboard.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page in (date desc, id desc) order.
+ * Clients receive it as an opaque URL-safe token and pass it back unchanged.
+ */
+public record KeysetCursor(LocalDate date, long id) {
+
+    private static final String VERSION = "1";
+
+    public String encode() {
+        String raw = VERSION + ":" + date.toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a missing or blank token
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new KeysetCursor(LocalDate.ofEpochDay(Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            // Covers malformed Base64, numbers and out-of-range dates alike
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.financedash.finance_dashboard.pagination;
+
+import com.financedash.finance_dashboard.config.PaginationProperties;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Resolves page sizes and turns a fetched slice into a {@link CursorPageDTO}.
+ * Repositories fetch one row more than the page size so the presence of a next page
+ * is known without a count query.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    private final PaginationProperties paginationProperties;
+
+    /**
+     * Applies the default to a missing size and caps it at the configured maximum.
+     */
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return paginationProperties.getDefaultPageSize();
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, paginationProperties.getMaxPageSize());
+    }
+
+    /**
+     * @param rows     up to {@code pageSize + 1} rows in (date desc, id desc) order
+     * @param cursorOf position of a row, used for the last row of the page
+     */
+    public <E, T> CursorPageDTO<T> toPage(List<E> rows, int pageSize,
+                                          Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        int count = Math.min(rows.size(), pageSize);
+        List<T> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(mapper.apply(rows.get(i)));
+        }
+        String nextCursor = hasMore ? cursorOf.apply(rows.get(count - 1)).encode() : null;
+        return new CursorPageDTO<>(items, count, hasMore, nextCursor);
+    }
+}
@@ -0,0 +1,46 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Platform-wide totals across every user's ledgers.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AdminReportDTO {
+    private Instant generatedAt;
+    private long elapsedMillis;
+    // Number of id-range partitions aggregated
+    private int partitions;
+
+    private long registeredUsers;
+    // Enabled and not locked
+    private long enabledUsers;
+    // Holding an unexpired refresh token
+    private long activeUsers;
+
+    private Map<LedgerType, LedgerStats> ledgers;
+    // Income minus expenses
+    private double netProfit;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LedgerStats {
+        private long count;
+        private double total;
+        private double min;
+        private double max;
+        private double mean;
+        private double stddev;
+    }
+}
@@ -0,0 +1,43 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class AnalyticsSummaryDTO {
+    private Instant generatedAt;
+    // True when writes happened after the snapshot was built and a refresh is pending
+    private boolean stale;
+    private LocalDate currentMonth;
+    private ReportDTO currentMonthTotals;
+    private ReportDTO lastMonthTotals;
+    private MonthOverMonth monthOverMonth;
+    private List<CategoryBreakdownDTO> topExpenseCategories;
+    // Share of this month's income that was not spent, between -inf and 1; null without income
+    private Double savingsRate;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class MonthOverMonth {
+        private Double incomeChange;
+        private Double expenseChange;
+        private Double investmentChange;
+        private Double netProfitChange;
+        // Relative changes in percent; null when last month's value was zero
+        private Double incomeChangePercent;
+        private Double expenseChangePercent;
+        private Double investmentChangePercent;
+        private Double netProfitChangePercent;
+    }
+}
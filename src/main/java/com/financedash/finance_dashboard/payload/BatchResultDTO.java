@@ -0,0 +1,37 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch create, one item per submitted entry in submission order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDTO<D> {
+    private int created;
+    private int rejected;
+    private List<Item<D>> items;
+
+    public enum Status {
+        CREATED,
+        INVALID
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item<D> {
+        private int index;
+        private Status status;
+        // The stored entry with its id; null when rejected
+        private D entry;
+        private List<String> errors;
+    }
+}
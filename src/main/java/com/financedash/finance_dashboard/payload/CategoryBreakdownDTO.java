@@ -0,0 +1,23 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryBreakdownDTO {
+    private String name;
+    private Double total;
+    private Long count;
+    // Fraction of the ledger total for the period, between 0 and 1
+    private Double share;
+
+    // Used by the GROUP BY constructor expressions; share is filled in by the service
+    public CategoryBreakdownDTO(String name, Double total, Long count) {
+        this.name = name;
+        this.total = total;
+        this.count = count;
+    }
+}
@@ -0,0 +1,27 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryReportDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private Double totalIncome;
+    private Double totalExpense;
+    private Double totalInvestment;
+    // Expenses grouped by category
+    private List<CategoryBreakdownDTO> expenses;
+    // Income grouped by source
+    private List<CategoryBreakdownDTO> income;
+    // Investments grouped by type
+    private List<CategoryBreakdownDTO> investments;
+}
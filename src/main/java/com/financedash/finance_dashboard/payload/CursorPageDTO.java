@@ -0,0 +1,21 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing, newest first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasMore;
+    // Pass back as ?cursor= to fetch the next page; null on the last page
+    private String nextCursor;
+}
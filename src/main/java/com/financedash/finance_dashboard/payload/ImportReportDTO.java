@@ -0,0 +1,32 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportReportDTO {
+    private LedgerType ledger;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    // False when a batch failed to insert; rows before it stay imported, nothing after it was read
+    private boolean completed;
+    private String failure;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,37 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * State of a write accepted for asynchronous persistence.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IngestReceiptDTO {
+    private long id;
+    private LedgerType ledger;
+    private Status status;
+    // Id of the stored entry once PERSISTED
+    private Long entryId;
+    private Instant acceptedAt;
+    private Instant completedAt;
+    // Why the database refused the write when REJECTED
+    private String error;
+
+    public enum Status {
+        QUEUED,
+        // Queued, but the journal could not be forced to disk: it is persisted unless this instance
+        // stops first. Poll the receipt rather than resubmitting, which would store the entry twice
+        BUFFERED,
+        PERSISTED,
+        REJECTED
+    }
+}
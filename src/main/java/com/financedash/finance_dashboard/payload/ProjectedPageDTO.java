@@ -0,0 +1,28 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.financedash.finance_dashboard.projection.ProjectedColumns;
+import com.financedash.finance_dashboard.projection.ProjectedRows;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A {@link CursorPageDTO} restricted to selected fields, as rows or as columns.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProjectedPageDTO {
+    // Set for the ROWS shape
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ProjectedRows<?> items;
+    // Set for the COLUMNS shape
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ProjectedColumns columns;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
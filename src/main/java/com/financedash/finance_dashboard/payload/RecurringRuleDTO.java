@@ -0,0 +1,59 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.entity.RecurrenceFrequency;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A rule creating the same entry in one ledger on a fixed schedule. Amount, category,
+ * description and returns are validated like the ledger's own entries.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RecurringRuleDTO {
+
+    private Long id;
+
+    @NotNull(message = "Ledger is required")
+    private LedgerType ledger;
+
+    private Double amount;
+
+    // Category, source or investment type, depending on the ledger
+    private String category;
+
+    private String description;
+
+    // Investment return rate; required for investment rules, ignored otherwise
+    private Double returns;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    // Every how many frequency units the rule repeats; 1 when omitted
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 1000, message = "Interval must be at most 1000")
+    private Integer interval;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    // Inclusive; open-ended when omitted
+    private LocalDate endDate;
+
+    // Read-only: the next date an entry will be created on, null once the rule has ended
+    private LocalDate nextDue;
+
+    // Read-only: entries created so far
+    private long occurrences;
+}
@@ -0,0 +1,24 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RecurringRunReport {
+    // Occurrences due on or before this date were materialized
+    private LocalDate asOf;
+    private int chunks;
+    // Rule updates; a rule catching up over several chunks counts once per chunk
+    private long rulesProcessed;
+    private long entriesCreated;
+    // Rules the database refused; they are retried on the next run
+    private long rulesFailed;
+    private long durationMillis;
+}
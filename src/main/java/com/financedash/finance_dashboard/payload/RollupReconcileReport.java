@@ -0,0 +1,34 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RollupReconcileReport {
+    private int rollupsChecked;
+    private int driftCount;
+    private boolean repaired;
+    private List<Drift> drifts;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Drift {
+        private Long userId;
+        private String ledger;
+        private LocalDate periodStart;
+        private String dimension;
+        private double expectedAmount;
+        private double actualAmount;
+        private long expectedCount;
+        private long actualCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchHitDTO {
+    private LedgerType ledger;
+    private Long id;
+    private double score;
+    private LocalDate date;
+    private double amount;
+    // Expense category, income source or investment type
+    private String label;
+    // Expense notes or income/investment description
+    private String text;
+}
@@ -0,0 +1,24 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ranked full-text matches across the ledgers, best first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchResultDTO {
+    private String query;
+    // Matching records across the searched ledgers, not just the returned hits
+    private long total;
+    // False while the index is still being rebuilt after startup; results may be incomplete
+    private boolean complete;
+    private List<SearchHitDTO> hits;
+}
@@ -0,0 +1,41 @@
+package com.financedash.finance_dashboard.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Monte Carlo projection of the investment portfolio; every band is aligned with
+ * year 0 (today) through {@link #years}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SimulationResultDTO {
+    private int years;
+    private int paths;
+    private long seed;
+    private double startValue;
+    // Mean portfolio value after the last year
+    private double expectedFinalValue;
+    // Share of paths ending below the start value
+    private double probabilityOfLoss;
+    private List<Position> positions;
+    private double[] percentiles;
+    // Indexed [percentile][year]
+    private double[][] bands;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Position {
+        private String type;
+        private double amount;
+        private double expectedReturn;
+        private double volatility;
+    }
+}
@@ -0,0 +1,39 @@
+package com.financedash.finance_dashboard.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.financedash.finance_dashboard.analytics.TrendGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bucketed time series; every array is aligned with {@link #periods}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrendSeriesDTO {
+    private TrendGranularity granularity;
+    private LocalDate from;
+    private LocalDate to;
+    // Start date of each bucket
+    private List<LocalDate> periods;
+    private double[] income;
+    private double[] expense;
+    private double[] investment;
+    // Income minus expenses minus investments
+    private double[] netCashFlow;
+
+    // Present only when a moving average window was requested
+    private Integer movingAverageWindow;
+    private double[] incomeMovingAverage;
+    private double[] expenseMovingAverage;
+    private double[] investmentMovingAverage;
+    private double[] netCashFlowMovingAverage;
+}
@@ -0,0 +1,75 @@
+package com.financedash.finance_dashboard.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
+import com.financedash.finance_dashboard.payload.ProjectedPageDTO;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The fields a client asked for, in the order it asked for them.
+ */
+public final class FieldSelection<D> {
+
+    private final List<LedgerField<D>> fields;
+    private final boolean allFields;
+    // Property names quoted and escaped once instead of on every row
+    private final SerializedString[] names;
+
+    FieldSelection(List<LedgerField<D>> fields, boolean allFields) {
+        this.fields = fields;
+        this.allFields = allFields;
+        this.names = new SerializedString[fields.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = new SerializedString(fields.get(i).name());
+        }
+    }
+
+    /**
+     * Reshapes a page; the full row shape is returned untouched so its output stays
+     * exactly the plain DTO serialization.
+     */
+    public Object project(CursorPageDTO<D> page, ResponseShape shape) {
+        if (shape == ResponseShape.ROWS && allFields) {
+            return page;
+        }
+        ProjectedPageDTO.ProjectedPageDTOBuilder projected = ProjectedPageDTO.builder()
+                .size(page.getSize())
+                .hasMore(page.isHasMore())
+                .nextCursor(page.getNextCursor());
+        if (shape == ResponseShape.COLUMNS) {
+            projected.columns(new ProjectedColumns(this, page.getItems()));
+        } else {
+            projected.items(new ProjectedRows<>(this, page.getItems()));
+        }
+        return projected.build();
+    }
+
+    int size() {
+        return fields.size();
+    }
+
+    LedgerField<D> field(int index) {
+        return fields.get(index);
+    }
+
+    SerializedString name(int index) {
+        return names[index];
+    }
+
+    static void writeValue(JsonGenerator gen, LedgerField.Kind kind, Object value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        switch (kind) {
+            case INTEGER -> gen.writeNumber(((Number) value).longValue());
+            case DECIMAL -> gen.writeNumber(((Number) value).doubleValue());
+            case DATE -> gen.writeString(((LocalDate) value).toString());
+            case TEXT -> gen.writeString((String) value);
+        }
+    }
+}
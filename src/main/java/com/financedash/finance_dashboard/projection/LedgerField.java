@@ -0,0 +1,24 @@
+package com.financedash.finance_dashboard.projection;
+
+import java.util.function.Function;
+
+/**
+ * One selectable property of a ledger DTO.
+ *
+ * @param name   JSON property name, as in the full DTO
+ * @param kind   how the value is written; decides the array type of a column
+ * @param getter reads the (possibly null) value from a DTO
+ */
+public record LedgerField<D>(String name, Kind kind, Function<D, ?> getter) {
+
+    public enum Kind {
+        // Long
+        INTEGER,
+        // Double
+        DECIMAL,
+        // LocalDate, written as an ISO date like the full DTO
+        DATE,
+        // String
+        TEXT
+    }
+}
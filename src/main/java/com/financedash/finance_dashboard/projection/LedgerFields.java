@@ -0,0 +1,77 @@
+package com.financedash.finance_dashboard.projection;
+
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.financedash.finance_dashboard.projection.LedgerField.Kind.DATE;
+import static com.financedash.finance_dashboard.projection.LedgerField.Kind.DECIMAL;
+import static com.financedash.finance_dashboard.projection.LedgerField.Kind.INTEGER;
+import static com.financedash.finance_dashboard.projection.LedgerField.Kind.TEXT;
+
+/**
+ * The selectable fields of one ledger DTO, in the DTO's declaration order.
+ */
+public final class LedgerFields<D> {
+
+    public static final LedgerFields<ExpenseDTO> EXPENSE = new LedgerFields<>(List.of(
+            new LedgerField<>("id", INTEGER, ExpenseDTO::getId),
+            new LedgerField<>("amount", DECIMAL, ExpenseDTO::getAmount),
+            new LedgerField<>("category", TEXT, ExpenseDTO::getCategory),
+            new LedgerField<>("date", DATE, ExpenseDTO::getDate),
+            new LedgerField<>("notes", TEXT, ExpenseDTO::getNotes)));
+
+    public static final LedgerFields<IncomeDTO> INCOME = new LedgerFields<>(List.of(
+            new LedgerField<>("id", INTEGER, IncomeDTO::getId),
+            new LedgerField<>("source", TEXT, IncomeDTO::getSource),
+            new LedgerField<>("amount", DECIMAL, IncomeDTO::getAmount),
+            new LedgerField<>("date", DATE, IncomeDTO::getDate),
+            new LedgerField<>("description", TEXT, IncomeDTO::getDescription)));
+
+    public static final LedgerFields<InvestmentDTO> INVESTMENT = new LedgerFields<>(List.of(
+            new LedgerField<>("id", INTEGER, InvestmentDTO::getId),
+            new LedgerField<>("amount", DECIMAL, InvestmentDTO::getAmount),
+            new LedgerField<>("type", TEXT, InvestmentDTO::getType),
+            new LedgerField<>("returns", DECIMAL, InvestmentDTO::getReturns),
+            new LedgerField<>("investmentDate", DATE, InvestmentDTO::getInvestmentDate),
+            new LedgerField<>("description", TEXT, InvestmentDTO::getDescription)));
+
+    private final Map<String, LedgerField<D>> byName = new LinkedHashMap<>();
+
+    private LedgerFields(List<LedgerField<D>> fields) {
+        fields.forEach(field -> byName.put(field.name(), field));
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter; null or blank selects every field.
+     * Fields are written in the requested order.
+     */
+    public FieldSelection<D> select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return new FieldSelection<>(List.copyOf(byName.values()), true);
+        }
+        List<LedgerField<D>> selected = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            LedgerField<D> field = byName.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field '" + trimmed + "'; expected any of " + byName.keySet());
+            }
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + byName.keySet());
+        }
+        return new FieldSelection<>(List.copyOf(selected), false);
+    }
+}
@@ -0,0 +1,101 @@
+package com.financedash.finance_dashboard.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows transposed into one index-aligned array per field, e.g.
+ * {@code {"date":["2025-01-02",...],"amount":[12.5,...]}}.
+ * <p>
+ * Id and amount columns are unboxed into primitive arrays up front and written with
+ * {@link JsonGenerator#writeArray(long[], int, int)}; a column containing a null keeps
+ * its boxed values so the null survives.
+ */
+@JsonSerialize(using = ProjectedColumns.Serializer.class)
+public final class ProjectedColumns {
+
+    private final SerializedString[] names;
+    private final LedgerField.Kind[] kinds;
+    // long[], double[] or Object[] per field
+    private final Object[] columns;
+    private final int rowCount;
+
+    <D> ProjectedColumns(FieldSelection<D> selection, List<D> rows) {
+        int fieldCount = selection.size();
+        this.names = new SerializedString[fieldCount];
+        this.kinds = new LedgerField.Kind[fieldCount];
+        this.columns = new Object[fieldCount];
+        this.rowCount = rows.size();
+        for (int i = 0; i < fieldCount; i++) {
+            LedgerField<D> field = selection.field(i);
+            names[i] = selection.name(i);
+            kinds[i] = field.kind();
+            columns[i] = extract(field, rows);
+        }
+    }
+
+    private static <D> Object extract(LedgerField<D> field, List<D> rows) {
+        Object[] boxed = new Object[rows.size()];
+        boolean hasNull = false;
+        for (int r = 0; r < boxed.length; r++) {
+            boxed[r] = field.getter().apply(rows.get(r));
+            hasNull |= boxed[r] == null;
+        }
+        if (hasNull) {
+            return boxed;
+        }
+        switch (field.kind()) {
+            case INTEGER -> {
+                long[] values = new long[boxed.length];
+                for (int r = 0; r < values.length; r++) {
+                    values[r] = ((Number) boxed[r]).longValue();
+                }
+                return values;
+            }
+            case DECIMAL -> {
+                double[] values = new double[boxed.length];
+                for (int r = 0; r < values.length; r++) {
+                    values[r] = ((Number) boxed[r]).doubleValue();
+                }
+                return values;
+            }
+            default -> {
+                return boxed;
+            }
+        }
+    }
+
+    static final class Serializer extends StdSerializer<ProjectedColumns> {
+
+        Serializer() {
+            super(ProjectedColumns.class);
+        }
+
+        @Override
+        public void serialize(ProjectedColumns value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (int i = 0; i < value.columns.length; i++) {
+                gen.writeFieldName(value.names[i]);
+                Object column = value.columns[i];
+                if (column instanceof long[] longs) {
+                    gen.writeArray(longs, 0, value.rowCount);
+                } else if (column instanceof double[] doubles) {
+                    gen.writeArray(doubles, 0, value.rowCount);
+                } else {
+                    gen.writeStartArray(column, value.rowCount);
+                    for (Object cell : (Object[]) column) {
+                        FieldSelection.writeValue(gen, value.kinds[i], cell);
+                    }
+                    gen.writeEndArray();
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+}
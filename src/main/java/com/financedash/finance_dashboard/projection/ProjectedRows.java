@@ -0,0 +1,52 @@
+package com.financedash.finance_dashboard.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows written as objects holding only the selected fields.
+ */
+@JsonSerialize(using = ProjectedRows.Serializer.class)
+public final class ProjectedRows<D> {
+
+    private final FieldSelection<D> selection;
+    private final List<D> rows;
+
+    ProjectedRows(FieldSelection<D> selection, List<D> rows) {
+        this.selection = selection;
+        this.rows = rows;
+    }
+
+    static final class Serializer extends StdSerializer<ProjectedRows<?>> {
+
+        @SuppressWarnings("unchecked")
+        Serializer() {
+            super((Class<ProjectedRows<?>>) (Class<?>) ProjectedRows.class);
+        }
+
+        @Override
+        public void serialize(ProjectedRows<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen);
+        }
+
+        private static <D> void write(ProjectedRows<D> value, JsonGenerator gen) throws IOException {
+            FieldSelection<D> selection = value.selection;
+            gen.writeStartArray(value.rows, value.rows.size());
+            for (D row : value.rows) {
+                gen.writeStartObject();
+                for (int i = 0; i < selection.size(); i++) {
+                    LedgerField<D> field = selection.field(i);
+                    gen.writeFieldName(selection.name(i));
+                    FieldSelection.writeValue(gen, field.kind(), field.getter().apply(row));
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
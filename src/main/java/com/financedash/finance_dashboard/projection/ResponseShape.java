@@ -0,0 +1,8 @@
+package com.financedash.finance_dashboard.projection;
+
+public enum ResponseShape {
+    // An array of objects, one per entry
+    ROWS,
+    // One array per field, index-aligned across fields
+    COLUMNS
+}
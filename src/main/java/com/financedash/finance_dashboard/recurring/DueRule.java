@@ -0,0 +1,30 @@
+package com.financedash.finance_dashboard.recurring;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.entity.RecurrenceFrequency;
+import com.financedash.finance_dashboard.importer.ImportRow;
+
+import java.time.LocalDate;
+
+/**
+ * A recurring rule locked for materialization: what it creates and how far it has got.
+ *
+ * @param nextDue     date of occurrence number {@code occurrences}
+ * @param occurrences occurrences materialized so far
+ */
+public record DueRule(long id, long userId, LedgerType ledger, double amount, String dimension, String text,
+                      double returnRate, RecurrenceFrequency frequency, int interval, LocalDate startDate,
+                      LocalDate endDate, LocalDate nextDue, long occurrences) {
+
+    /**
+     * Date of the given occurrence, or null when it falls after the end date.
+     */
+    public LocalDate occurrence(long index) {
+        LocalDate date = frequency.occurrence(startDate, index, interval);
+        return endDate != null && date.isAfter(endDate) ? null : date;
+    }
+
+    public ImportRow row(LocalDate date) {
+        return new ImportRow(date, amount, dimension, text, returnRate);
+    }
+}
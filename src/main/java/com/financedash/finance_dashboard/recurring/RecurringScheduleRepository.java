@@ -0,0 +1,109 @@
+package com.financedash.finance_dashboard.recurring;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.entity.RecurrenceFrequency;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The scheduler's side of {@code recurring_rule}: locks due rules and advances them in
+ * set-based statements, one per chunk rather than one per rule.
+ */
+@Repository
+public class RecurringScheduleRepository {
+
+    private static final String COLUMNS = "SELECT id, user_id, ledger, amount, dimension, description, return_rate, " +
+            "frequency, repeat_interval, start_date, end_date, next_due, occurrences FROM recurring_rule ";
+
+    // SKIP LOCKED: concurrent runs, on this or other instances, split the due rules instead of queueing
+    private static final String LOCK_DUE_SQL = COLUMNS +
+            "WHERE next_due <= ? AND id <> ALL(?) ORDER BY next_due, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String LOCK_ONE_SQL = COLUMNS +
+            "WHERE id = ? AND next_due <= ? FOR UPDATE SKIP LOCKED";
+    private static final String DUE_IDS_SQL =
+            "SELECT id FROM recurring_rule WHERE next_due <= ? AND id <> ALL(?) ORDER BY next_due, id LIMIT ?";
+    private static final String ADVANCE_SQL =
+            "UPDATE recurring_rule r SET next_due = u.next_due, occurrences = u.occurrences " +
+            "FROM unnest(?, ?, ?) AS u(id, next_due, occurrences) WHERE r.id = u.id";
+
+    private static final RowMapper<DueRule> DUE_RULE = (rs, rowNum) -> new DueRule(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            LedgerType.valueOf(rs.getString("ledger")),
+            rs.getDouble("amount"),
+            rs.getString("dimension"),
+            rs.getString("description"),
+            rs.getDouble("return_rate"),
+            RecurrenceFrequency.valueOf(rs.getString("frequency")),
+            rs.getInt("repeat_interval"),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getObject("end_date", LocalDate.class),
+            rs.getObject("next_due", LocalDate.class),
+            rs.getLong("occurrences"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecurringScheduleRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Locks up to {@code limit} rules due on or before the date, earliest first, skipping rules
+     * another transaction holds; must run inside a transaction.
+     *
+     * @param excluded ids to leave alone
+     */
+    public List<DueRule> lockDue(LocalDate asOf, List<Long> excluded, int limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_DUE_SQL);
+            statement.setDate(1, Date.valueOf(asOf));
+            statement.setArray(2, connection.createArrayOf("bigint", excluded.toArray()));
+            statement.setInt(3, limit);
+            return statement;
+        }, DUE_RULE);
+    }
+
+    /**
+     * Locks one rule if it is still due and not held elsewhere; must run inside a transaction.
+     */
+    public List<DueRule> lockDue(long id, LocalDate asOf) {
+        return jdbcTemplate.query(LOCK_ONE_SQL, DUE_RULE, id, Date.valueOf(asOf));
+    }
+
+    /**
+     * Ids of up to {@code limit} due rules, without locking them.
+     */
+    public List<Long> findDueIds(LocalDate asOf, List<Long> excluded, int limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DUE_IDS_SQL);
+            statement.setDate(1, Date.valueOf(asOf));
+            statement.setArray(2, connection.createArrayOf("bigint", excluded.toArray()));
+            statement.setInt(3, limit);
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * Stores each rule's progress in one statement; a null next due date ends the rule.
+     */
+    public void advance(Long[] ids, LocalDate[] nextDues, Long[] occurrences) {
+        Date[] dates = new Date[nextDues.length];
+        for (int i = 0; i < nextDues.length; i++) {
+            dates[i] = nextDues[i] != null ? Date.valueOf(nextDues[i]) : null;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADVANCE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            statement.setArray(2, connection.createArrayOf("date", dates));
+            statement.setArray(3, connection.createArrayOf("bigint", occurrences));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.analytics.PartitionStats;
+import com.financedash.finance_dashboard.config.ReportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Platform-wide aggregate queries for the admin report.
+ * <p>
+ * Runs on a small read-only pool of its own, sized to the admin report parallelism, so
+ * a long platform-wide scan never holds connections of the user-facing pool.
+ * The pool is deliberately not a bean and therefore does not replace the primary DataSource.
+ */
+@Repository
+public class AdminReportQueryRepository {
+
+    private static final String ID_BOUNDS_SQL = "SELECT MIN(id), MAX(id) FROM %s";
+
+    // Primary-key range scan; VAR_POP * COUNT is the partition's centred second moment
+    private static final String PARTITION_STATS_SQL =
+            "SELECT COUNT(*), COALESCE(SUM(amount), 0), MIN(amount), MAX(amount), " +
+            "COALESCE(VAR_POP(amount) * COUNT(*), 0) FROM %s WHERE id >= ? AND id < ?";
+
+    private static final String USER_COUNTS_SQL =
+            "SELECT COUNT(*), COUNT(*) FILTER (WHERE enabled AND NOT locked) FROM app_user";
+
+    // Users holding a refresh token that has not expired signed in within the refresh window
+    private static final String ACTIVE_USERS_SQL =
+            "SELECT COUNT(DISTINCT user_id) FROM refresh_token WHERE expiry_date > ?";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdminReportQueryRepository(DataSourceProperties dataSourceProperties, ReportProperties reportProperties) {
+        ReportProperties.Admin admin = reportProperties.getAdmin();
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("admin-report");
+        dataSource.setMaximumPoolSize(admin.getParallelism());
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout(Math.toIntExact(admin.getQueryTimeout().toSeconds()));
+    }
+
+    @PreDestroy
+    void closeDataSource() {
+        dataSource.close();
+    }
+
+    /**
+     * Returns {min id, max id} of the ledger table, or null when it is empty.
+     */
+    public long[] findIdBounds(LedgerType ledger) {
+        return jdbcTemplate.queryForObject(ID_BOUNDS_SQL.formatted(tableOf(ledger)), (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+    }
+
+    /**
+     * Aggregates the rows with {@code fromId <= id < toId}.
+     */
+    public PartitionStats aggregatePartition(LedgerType ledger, long fromId, long toId) {
+        return jdbcTemplate.queryForObject(PARTITION_STATS_SQL.formatted(tableOf(ledger)), (rs, rowNum) -> {
+            long count = rs.getLong(1);
+            if (count == 0) {
+                return PartitionStats.EMPTY;
+            }
+            return new PartitionStats(count, rs.getDouble(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5));
+        }, fromId, toId);
+    }
+
+    /**
+     * Returns {registered users, enabled and unlocked users, active users}.
+     */
+    public long[] countUsers() {
+        long[] counts = jdbcTemplate.queryForObject(USER_COUNTS_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), 0L});
+        Long active = jdbcTemplate.queryForObject(ACTIVE_USERS_SQL, Long.class, Timestamp.from(Instant.now()));
+        counts[2] = active != null ? active : 0L;
+        return counts;
+    }
+
+    private static String tableOf(LedgerType ledger) {
+        return switch (ledger) {
+            case INCOME -> "income";
+            case EXPENSE -> "expense";
+            case INVESTMENT -> "investment";
+        };
+    }
+}
@@ -1,12 +1,39 @@
 package com.financedash.finance_dashboard.repository;
 
 import com.financedash.finance_dashboard.entity.Expense;
+import com.financedash.finance_dashboard.payload.CategoryBreakdownDTO;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.rollup.RollupRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense,Long> {
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE MONTH(e.date) = MONTH(CURRENT_DATE) AND YEAR(e.date) = YEAR(CURRENT_DATE)")
-    Double getMonthlyExpense();
+    // Half-open range on the bare column so the (user_id, date, amount) index can serve the sum
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND e.date >= :from AND e.date < :to")
+    Double getExpenseTotal(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.financedash.finance_dashboard.payload.CategoryBreakdownDTO(e.category, SUM(e.amount), COUNT(e)) " +
+            "FROM Expense e WHERE e.userId = :userId AND e.date >= :from AND e.date < :to GROUP BY e.category ORDER BY SUM(e.amount) DESC")
+    List<CategoryBreakdownDTO> getTotalsByCategory(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.financedash.finance_dashboard.rollup.RollupRow(e.userId, YEAR(e.date), MONTH(e.date), e.category, SUM(e.amount), COUNT(e)) " +
+            "FROM Expense e WHERE e.userId = :userId GROUP BY e.userId, YEAR(e.date), MONTH(e.date), e.category")
+    List<RollupRow> aggregateMonthlyByCategory(@Param("userId") Long userId);
+
+    // First page of the keyset listing, selected straight into DTOs and served by the (user_id, date, id) index
+    @Query("SELECT new com.financedash.finance_dashboard.payload.ExpenseDTO(e.id, e.amount, e.category, e.date, e.notes) " +
+            "FROM Expense e WHERE e.userId = :userId ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDTO> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    // Row-value comparison lets PostgreSQL seek straight to the cursor position in the (user_id, date, id) index
+    @Query("SELECT new com.financedash.finance_dashboard.payload.ExpenseDTO(e.id, e.amount, e.category, e.date, e.notes) " +
+            "FROM Expense e WHERE e.userId = :userId AND (e.date, e.id) < (:date, :id) ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDTO> findPageAfter(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("id") long id, Limit limit);
 }
@@ -1,12 +1,39 @@
 package com.financedash.finance_dashboard.repository;
 
 import com.financedash.finance_dashboard.entity.Income;
+import com.financedash.finance_dashboard.payload.CategoryBreakdownDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.rollup.RollupRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface IncomeRepository extends JpaRepository<Income, Long> {
-    @Query("SELECT SUM(i.amount) FROM Income i WHERE MONTH(i.date) = MONTH(CURRENT_DATE) AND YEAR(i.date) = YEAR(CURRENT_DATE)")
-    Double getMonthlyIncome();
+    // Half-open range on the bare column so the (user_id, date, amount) index can serve the sum
+    @Query("SELECT SUM(i.amount) FROM Income i WHERE i.userId = :userId AND i.date >= :from AND i.date < :to")
+    Double getIncomeTotal(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.financedash.finance_dashboard.payload.CategoryBreakdownDTO(i.source, SUM(i.amount), COUNT(i)) " +
+            "FROM Income i WHERE i.userId = :userId AND i.date >= :from AND i.date < :to GROUP BY i.source ORDER BY SUM(i.amount) DESC")
+    List<CategoryBreakdownDTO> getTotalsBySource(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.financedash.finance_dashboard.rollup.RollupRow(i.userId, YEAR(i.date), MONTH(i.date), i.source, SUM(i.amount), COUNT(i)) " +
+            "FROM Income i WHERE i.userId = :userId GROUP BY i.userId, YEAR(i.date), MONTH(i.date), i.source")
+    List<RollupRow> aggregateMonthlyBySource(@Param("userId") Long userId);
+
+    // First page of the keyset listing, selected straight into DTOs and served by the (user_id, date, id) index
+    @Query("SELECT new com.financedash.finance_dashboard.payload.IncomeDTO(i.id, i.source, i.amount, i.date, i.description) " +
+            "FROM Income i WHERE i.userId = :userId ORDER BY i.date DESC, i.id DESC")
+    List<IncomeDTO> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    // Row-value comparison lets PostgreSQL seek straight to the cursor position in the (user_id, date, id) index
+    @Query("SELECT new com.financedash.finance_dashboard.payload.IncomeDTO(i.id, i.source, i.amount, i.date, i.description) " +
+            "FROM Income i WHERE i.userId = :userId AND (i.date, i.id) < (:date, :id) ORDER BY i.date DESC, i.id DESC")
+    List<IncomeDTO> findPageAfter(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("id") long id, Limit limit);
 }
@@ -1,12 +1,49 @@
 package com.financedash.finance_dashboard.repository;
 
 import com.financedash.finance_dashboard.entity.Investment;
+import com.financedash.finance_dashboard.payload.CategoryBreakdownDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import com.financedash.finance_dashboard.rollup.RollupRow;
+import com.financedash.finance_dashboard.simulation.PortfolioPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
-    @Query("SELECT SUM(i.amount) FROM Investment i WHERE MONTH(i.investmentDate) = MONTH(CURRENT_DATE) AND YEAR(i.investmentDate) = YEAR(CURRENT_DATE)")
-    Double getMonthlyInvestment();
+    // Half-open range on the bare column so the (user_id, investment_date, amount) index can serve the sum
+    @Query("SELECT SUM(i.amount) FROM Investment i WHERE i.userId = :userId AND i.investmentDate >= :from AND i.investmentDate < :to")
+    Double getInvestmentTotal(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.financedash.finance_dashboard.payload.CategoryBreakdownDTO(i.type, SUM(i.amount), COUNT(i)) " +
+            "FROM Investment i WHERE i.userId = :userId AND i.investmentDate >= :from AND i.investmentDate < :to GROUP BY i.type ORDER BY SUM(i.amount) DESC")
+    List<CategoryBreakdownDTO> getTotalsByType(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.financedash.finance_dashboard.rollup.RollupRow(i.userId, YEAR(i.investmentDate), MONTH(i.investmentDate), i.type, SUM(i.amount), COUNT(i)) " +
+            "FROM Investment i WHERE i.userId = :userId GROUP BY i.userId, YEAR(i.investmentDate), MONTH(i.investmentDate), i.type")
+    List<RollupRow> aggregateMonthlyByType(@Param("userId") Long userId);
+
+    @Query("SELECT new com.financedash.finance_dashboard.simulation.PortfolioPosition(i.type, SUM(i.amount), SUM(i.amount * i.returnRate)) " +
+            "FROM Investment i WHERE i.userId = :userId GROUP BY i.type")
+    List<PortfolioPosition> getPortfolioPositions(@Param("userId") Long userId);
+
+    // First page of the keyset listing, selected straight into DTOs and served by the (user_id, investment_date, id) index
+    @Query("SELECT new com.financedash.finance_dashboard.payload.InvestmentDTO(i.id, i.amount, i.type, i.returnRate, i.investmentDate, i.description) " +
+            "FROM Investment i WHERE i.userId = :userId ORDER BY i.investmentDate DESC, i.id DESC")
+    List<InvestmentDTO> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    // Row-value comparison lets PostgreSQL seek straight to the cursor position in the (user_id, investment_date, id) index
+    @Query("SELECT new com.financedash.finance_dashboard.payload.InvestmentDTO(i.id, i.amount, i.type, i.returnRate, i.investmentDate, i.description) " +
+            "FROM Investment i WHERE i.userId = :userId AND (i.investmentDate, i.id) < (:investmentDate, :id) ORDER BY i.investmentDate DESC, i.id DESC")
+    List<InvestmentDTO> findPageAfter(@Param("userId") Long userId, @Param("investmentDate") LocalDate investmentDate, @Param("id") long id, Limit limit);
+
+    @Query("SELECT new com.financedash.finance_dashboard.payload.InvestmentDTO(i.id, i.amount, i.type, i.returnRate, i.investmentDate, i.description) " +
+            "FROM Investment i WHERE i.id = :id AND i.userId = :userId")
+    Optional<InvestmentDTO> findDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -0,0 +1,73 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.config.ExportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.export.ExportRowWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Forward-only reads of whole ledgers for export.
+ * <p>
+ * The PostgreSQL driver only honours the fetch size inside a transaction, so callers must
+ * run {@link #writeRows} in one; rows are then pulled from a server-side cursor in batches
+ * and nothing is retained once a row has been written.
+ */
+@Repository
+public class LedgerExportRepository {
+
+    // Column labels match the DTO property names of each ledger
+    private static final String INCOME_SQL =
+            "SELECT id, amount, source, date, description FROM income";
+    private static final String EXPENSE_SQL =
+            "SELECT id, amount, category, date, notes FROM expense";
+    private static final String INVESTMENT_SQL =
+            "SELECT id, amount, type, return_rate AS returns, investment_date AS \"investmentDate\", description FROM investment";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerExportRepository(DataSource dataSource, ExportProperties exportProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(exportProperties.getFetchSize());
+    }
+
+    /**
+     * Writes the user's rows of the ledger in (date, id) order, optionally limited to the inclusive range [from, to].
+     *
+     * @return number of rows written
+     * @throws UncheckedIOException when the writer fails, typically because the client disconnected
+     */
+    public long writeRows(Long userId, LedgerType ledger, LocalDate from, LocalDate to, ExportRowWriter writer) {
+        String dateColumn = ledger == LedgerType.INVESTMENT ? "investment_date" : "date";
+        String select = switch (ledger) {
+            case INCOME -> INCOME_SQL;
+            case EXPENSE -> EXPENSE_SQL;
+            case INVESTMENT -> INVESTMENT_SQL;
+        };
+        // Open bounds fall back to the full date range so the statement shape never changes
+        Date start = Date.valueOf(from != null ? from : LocalDate.of(1, 1, 1));
+        Date end = Date.valueOf(to != null ? to : LocalDate.of(9999, 12, 31));
+        String sql = select + " WHERE user_id = ? AND " + dateColumn + " >= ? AND " + dateColumn + " <= ?"
+                + " ORDER BY " + dateColumn + ", id";
+        Long rows = jdbcTemplate.query(sql, rs -> {
+            try {
+                writer.writeHeader(rs);
+                long count = 0;
+                while (rs.next()) {
+                    writer.writeRow(rs);
+                    count++;
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, userId, start, end);
+        return rows != null ? rows : 0L;
+    }
+}
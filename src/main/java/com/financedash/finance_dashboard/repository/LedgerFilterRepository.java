@@ -0,0 +1,46 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.filter.LedgerAttributes;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Runs ledger specifications as criteria queries that select straight into DTOs,
+ * newest first, so filtered listings never hydrate entities.
+ */
+@Repository
+public class LedgerFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T, D> List<D> findPage(LedgerAttributes<T, D> attributes, Specification<T> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(attributes.dtoType());
+        Root<T> root = query.from(attributes.entityType());
+
+        Selection<?>[] columns = attributes.selection().stream()
+                .map(root::get)
+                .toArray(Selection<?>[]::new);
+        query.select(cb.construct(attributes.dtoType(), columns));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get(attributes.date())), cb.desc(root.get(attributes.id())));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Set-based inserts of whole import batches.
+ * <p>
+ * Ids for a batch are drawn from the ledger's identity sequence in one round trip, then the
+ * rows go in as a single {@code INSERT ... SELECT FROM unnest(...)} over column arrays;
+ * Hibernate cannot batch inserts of identity-keyed entities, which costs one statement and
+ * one round trip per row.
+ */
+@Repository
+public class LedgerImportRepository {
+
+    private static final String IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    private static final String INCOME_SQL =
+            "INSERT INTO income (id, user_id, amount, source, date, description) " +
+            "SELECT r.id, r.user_id, r.amount, r.dimension, r.day, r.text " +
+            "FROM unnest(?, ?, ?, ?, ?, ?) AS r(id, user_id, amount, dimension, day, text)";
+    private static final String EXPENSE_SQL =
+            "INSERT INTO expense (id, user_id, amount, category, date, notes) " +
+            "SELECT r.id, r.user_id, r.amount, r.dimension, r.day, r.text " +
+            "FROM unnest(?, ?, ?, ?, ?, ?) AS r(id, user_id, amount, dimension, day, text)";
+    private static final String INVESTMENT_SQL =
+            "INSERT INTO investment (id, user_id, amount, type, investment_date, description, return_rate) " +
+            "SELECT r.id, r.user_id, r.amount, r.dimension, r.day, r.text, r.return_rate " +
+            "FROM unnest(?, ?, ?, ?, ?, ?, ?) AS r(id, user_id, amount, dimension, day, text, return_rate)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerImportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Inserts rows of several users in one statement; must run inside a transaction.
+     *
+     * @param userIds owner of each row, in row order
+     * @return the generated ids, in row order
+     */
+    public long[] insert(LedgerType ledger, long[] userIds, List<ImportRow> rows) {
+        String table = ledger.name().toLowerCase();
+        long[] ids = jdbcTemplate.queryForList(IDS_SQL, Long.class, table, rows.size())
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        String sql = switch (ledger) {
+            case INCOME -> INCOME_SQL;
+            case EXPENSE -> EXPENSE_SQL;
+            case INVESTMENT -> INVESTMENT_SQL;
+        };
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindColumns(connection, statement, userIds, ledger, ids, rows);
+            return statement;
+        });
+        return ids;
+    }
+
+    private static void bindColumns(Connection connection, PreparedStatement statement, long[] userIds,
+                                    LedgerType ledger, long[] ids, List<ImportRow> rows) throws SQLException {
+        int size = rows.size();
+        Long[] idColumn = new Long[size];
+        Long[] userColumn = new Long[size];
+        Double[] amounts = new Double[size];
+        String[] dimensions = new String[size];
+        Date[] days = new Date[size];
+        String[] texts = new String[size];
+        Double[] returnRates = new Double[size];
+        for (int i = 0; i < size; i++) {
+            ImportRow row = rows.get(i);
+            idColumn[i] = ids[i];
+            userColumn[i] = userIds[i];
+            amounts[i] = row.amount();
+            dimensions[i] = row.dimension();
+            days[i] = Date.valueOf(row.date());
+            texts[i] = row.text();
+            returnRates[i] = row.returnRate();
+        }
+
+        statement.setArray(1, connection.createArrayOf("bigint", idColumn));
+        statement.setArray(2, connection.createArrayOf("bigint", userColumn));
+        statement.setArray(3, connection.createArrayOf("float8", amounts));
+        statement.setArray(4, connection.createArrayOf("varchar", dimensions));
+        statement.setArray(5, connection.createArrayOf("date", days));
+        statement.setArray(6, connection.createArrayOf("varchar", texts));
+        if (ledger == LedgerType.INVESTMENT) {
+            statement.setArray(7, connection.createArrayOf("float8", returnRates));
+        }
+    }
+}
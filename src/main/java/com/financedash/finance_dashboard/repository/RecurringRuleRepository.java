@@ -0,0 +1,16 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.entity.RecurringRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    List<RecurringRule> findByUserIdOrderById(Long userId);
+
+    Optional<RecurringRule> findByIdAndUserId(Long id, Long userId);
+}
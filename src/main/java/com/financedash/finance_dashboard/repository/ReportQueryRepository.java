@@ -0,0 +1,73 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.analytics.DailyTotalConsumer;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.ReportDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Cross-ledger report queries that do not belong to a single entity repository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReportQueryRepository {
+
+    // Each scalar subquery is an index-only range scan; the whole report is one round trip
+    private static final String FUSED_TOTALS_SQL = """
+            WITH totals AS (
+                SELECT
+                    (SELECT COALESCE(SUM(amount), 0) FROM income
+                        WHERE user_id = :userId AND date >= :from AND date < :to) AS total_income,
+                    (SELECT COALESCE(SUM(amount), 0) FROM expense
+                        WHERE user_id = :userId AND date >= :from AND date < :to) AS total_expense,
+                    (SELECT COALESCE(SUM(amount), 0) FROM investment
+                        WHERE user_id = :userId AND investment_date >= :from AND investment_date < :to) AS total_investment
+            )
+            SELECT total_income, total_expense, total_investment, total_income - total_expense AS net_profit
+            FROM totals
+            """;
+
+    private static final String DAILY_TOTALS_SQL =
+            "SELECT %1$s AS day, SUM(amount) AS total FROM %2$s " +
+            "WHERE user_id = :userId AND %1$s >= :from AND %1$s < :to GROUP BY %1$s";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReportDTO fetchTotals(Long userId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("from", from)
+                .addValue("to", to);
+
+        return jdbcTemplate.queryForObject(FUSED_TOTALS_SQL, params, (rs, rowNum) -> ReportDTO.builder()
+                .totalIncome(rs.getDouble("total_income"))
+                .totalExpense(rs.getDouble("total_expense"))
+                .totalInvestment(rs.getDouble("total_investment"))
+                .netProfit(rs.getDouble("net_profit"))
+                .build());
+    }
+
+    /**
+     * Streams one total per day with the user's entries in [from, to) to the consumer, without materializing a list.
+     */
+    public void forEachDailyTotal(Long userId, LedgerType ledger, LocalDate from, LocalDate to, DailyTotalConsumer consumer) {
+        String sql = switch (ledger) {
+            case INCOME -> DAILY_TOTALS_SQL.formatted("date", "income");
+            case EXPENSE -> DAILY_TOTALS_SQL.formatted("date", "expense");
+            case INVESTMENT -> DAILY_TOTALS_SQL.formatted("investment_date", "investment");
+        };
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("from", from)
+                .addValue("to", to);
+
+        jdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(rs.getObject("day", LocalDate.class).toEpochDay(), rs.getDouble("total"));
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.config.SearchProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * Streams the searchable text of a ledger, with its owner, for rebuilding the in-memory search index.
+ * Rows arrive grouped by owner in ascending order, and by ascending id within an owner.
+ * Must run inside a transaction for the fetch size to take effect.
+ */
+@Repository
+public class SearchTextRepository {
+
+    @FunctionalInterface
+    public interface TextConsumer {
+        void accept(long userId, long id, String text);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchTextRepository(DataSource dataSource, SearchProperties searchProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(searchProperties.getRebuildFetchSize());
+    }
+
+    public void forEachText(LedgerType ledger, TextConsumer consumer) {
+        String sql = switch (ledger) {
+            case INCOME -> "SELECT user_id, id, description FROM income " +
+                    "WHERE user_id IS NOT NULL AND description IS NOT NULL ORDER BY user_id, id";
+            case EXPENSE -> "SELECT user_id, id, notes FROM expense " +
+                    "WHERE user_id IS NOT NULL AND notes IS NOT NULL ORDER BY user_id, id";
+            case INVESTMENT -> "SELECT user_id, id, description FROM investment " +
+                    "WHERE user_id IS NOT NULL AND description IS NOT NULL ORDER BY user_id, id";
+        };
+        // Ascending ids per owner keep every posting list on its append-only fast path
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getLong(2), rs.getString(3)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.financedash.finance_dashboard.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per user, ledger and day with entries: that day's total and the running total of
+ * every day up to and including it. The total of any range is the difference of two
+ * running totals.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "user_ledger_daily_prefix", indexes = {
+        // Serves the "latest day on or before X" seeks
+        @Index(name = "idx_user_ledger_daily_prefix_day", columnList = "user_id, ledger, day, cumulative")
+})
+public class DailyLedgerPrefix {
+
+    @EmbeddedId
+    private DailyLedgerPrefixId id;
+
+    @Column(name = "day_total", nullable = false)
+    private double dayTotal;
+
+    @Column(name = "cumulative", nullable = false)
+    private double cumulative;
+}
@@ -0,0 +1,26 @@
+package com.financedash.finance_dashboard.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Amounts of committed entries per user, ledger and day that are not in the daily prefix
+ * sums yet: an import parks them batch by batch, in the batch's transaction, and adds them
+ * all after its last batch. A rebuild from the raw rows drops them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "user_ledger_daily_prefix_pending")
+public class DailyLedgerPrefixPending {
+
+    @EmbeddedId
+    private DailyLedgerPrefixId id;
+
+    @Column(name = "amount", nullable = false)
+    private double amount;
+}
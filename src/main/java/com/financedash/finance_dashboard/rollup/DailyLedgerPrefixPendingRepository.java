@@ -0,0 +1,36 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyLedgerPrefixPendingRepository extends JpaRepository<DailyLedgerPrefixPending, DailyLedgerPrefixId> {
+
+    // (user, day) pairs must be distinct; amounts are bound as float8[] as in addToDays
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_daily_prefix_pending (user_id, ledger, day, amount) " +
+            "SELECT d.user_id, :ledger, d.day, d.amount " +
+            "FROM unnest(CAST(:userIds AS bigint[]), CAST(:days AS date[]), CAST(:amounts AS float8[])) " +
+            "AS d(user_id, day, amount) " +
+            "ON CONFLICT (user_id, ledger, day) DO UPDATE " +
+            "SET amount = user_ledger_daily_prefix_pending.amount + EXCLUDED.amount",
+            nativeQuery = true)
+    int addAll(@Param("ledger") String ledger, @Param("userIds") Long[] userIds,
+               @Param("days") LocalDate[] days, @Param("amounts") BigDecimal[] amounts);
+
+    @Query("SELECT p FROM DailyLedgerPrefixPending p WHERE p.id.userId = :userId AND p.id.ledger = :ledger " +
+            "ORDER BY p.id.day")
+    List<DailyLedgerPrefixPending> findByUserAndLedger(@Param("userId") Long userId, @Param("ledger") LedgerType ledger);
+
+    @Modifying
+    @Query("DELETE FROM DailyLedgerPrefixPending p WHERE p.id.userId = :userId AND p.id.ledger = :ledger")
+    int deleteByUserAndLedger(@Param("userId") Long userId, @Param("ledger") LedgerType ledger);
+}
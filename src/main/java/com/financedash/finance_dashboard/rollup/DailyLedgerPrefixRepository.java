@@ -0,0 +1,134 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyLedgerPrefixRepository extends JpaRepository<DailyLedgerPrefix, DailyLedgerPrefixId> {
+
+    // Serializes prefix maintenance per user and ledger until the transaction ends
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:key))) AS l", nativeQuery = true)
+    Integer lockForUpdate(@Param("key") String key);
+
+    // Batch form of lockForUpdate; locks are taken in array order
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext(k.key)) " +
+            "FROM unnest(CAST(:keys AS text[])) AS k(key)) AS l", nativeQuery = true)
+    Long lockAllForUpdate(@Param("keys") String[] keys);
+
+    // New day rows start from the previous day's running total
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_daily_prefix (user_id, ledger, day, day_total, cumulative) " +
+            "SELECT :userId, :ledger, :day, :amount, COALESCE((SELECT p.cumulative FROM user_ledger_daily_prefix p " +
+            "WHERE p.user_id = :userId AND p.ledger = :ledger AND p.day < :day ORDER BY p.day DESC LIMIT 1), 0) + :amount " +
+            "ON CONFLICT (user_id, ledger, day) DO UPDATE " +
+            "SET day_total = user_ledger_daily_prefix.day_total + :amount, " +
+            "cumulative = user_ledger_daily_prefix.cumulative + :amount",
+            nativeQuery = true)
+    int addToDay(@Param("userId") Long userId, @Param("ledger") String ledger,
+                 @Param("day") LocalDate day, @Param("amount") double amount);
+
+    @Modifying
+    @Query(value = "UPDATE user_ledger_daily_prefix SET cumulative = cumulative + :amount " +
+            "WHERE user_id = :userId AND ledger = :ledger AND day > :day",
+            nativeQuery = true)
+    int addToLaterDays(@Param("userId") Long userId, @Param("ledger") String ledger,
+                       @Param("day") LocalDate day, @Param("amount") double amount);
+
+    // Batch counterpart of addToDay: missing days start at the previous day's running total, nothing added yet
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_daily_prefix (user_id, ledger, day, day_total, cumulative) " +
+            "SELECT d.user_id, :ledger, d.day, 0, COALESCE((SELECT p.cumulative FROM user_ledger_daily_prefix p " +
+            "WHERE p.user_id = d.user_id AND p.ledger = :ledger AND p.day < d.day ORDER BY p.day DESC LIMIT 1), 0) " +
+            "FROM unnest(CAST(:userIds AS bigint[]), CAST(:days AS date[])) AS d(user_id, day) " +
+            "ON CONFLICT (user_id, ledger, day) DO NOTHING",
+            nativeQuery = true)
+    int insertMissingDays(@Param("ledger") String ledger, @Param("userIds") Long[] userIds,
+                          @Param("days") LocalDate[] days);
+
+    // Every day of a user from their earliest batch day on gains its own batch amount and the user's batch
+    // amounts up to it; (user, day) pairs must be distinct. Amounts are bound as BigDecimal and cast to
+    // float8[]: Hibernate binds double arrays as real[]
+    @Modifying
+    // Each stored day joins the one batch day of its user whose interval [day, next_day) contains it
+    @Query(value = "WITH d AS (SELECT u.user_id, u.day, u.amount, " +
+            "SUM(u.amount) OVER (PARTITION BY u.user_id ORDER BY u.day) AS running, " +
+            "LEAD(u.day) OVER (PARTITION BY u.user_id ORDER BY u.day) AS next_day " +
+            "FROM unnest(CAST(:userIds AS bigint[]), CAST(:days AS date[]), CAST(:amounts AS float8[])) " +
+            "AS u(user_id, day, amount)) " +
+            "UPDATE user_ledger_daily_prefix p " +
+            "SET day_total = p.day_total + CASE WHEN p.day = d.day THEN d.amount ELSE 0 END, " +
+            "cumulative = p.cumulative + d.running " +
+            "FROM d WHERE p.user_id = d.user_id AND p.ledger = :ledger " +
+            "AND p.day >= d.day AND (d.next_day IS NULL OR p.day < d.next_day)",
+            nativeQuery = true)
+    int addToDays(@Param("ledger") String ledger, @Param("userIds") Long[] userIds,
+                  @Param("days") LocalDate[] days, @Param("amounts") BigDecimal[] amounts);
+
+    // Two index seeks per ledger: running total at the end of the range minus the one before it
+    @Query(value = "SELECT l.ledger, " +
+            "COALESCE((SELECT p.cumulative FROM user_ledger_daily_prefix p " +
+            "WHERE p.user_id = :userId AND p.ledger = l.ledger AND p.day <= :to ORDER BY p.day DESC LIMIT 1), 0) - " +
+            "COALESCE((SELECT p.cumulative FROM user_ledger_daily_prefix p " +
+            "WHERE p.user_id = :userId AND p.ledger = l.ledger AND p.day < :from ORDER BY p.day DESC LIMIT 1), 0) " +
+            "FROM (VALUES ('INCOME'), ('EXPENSE'), ('INVESTMENT')) AS l(ledger)",
+            nativeQuery = true)
+    List<Object[]> rangeTotals(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Days whose stored day total or running total differs from the raw rows by more than the relative
+    // tolerance: day, expected and stored day total, expected and stored running total (null without a row)
+    @Query(value = "WITH raw AS (" +
+            "SELECT date AS day, amount FROM income WHERE user_id = :userId AND :ledger = 'INCOME' " +
+            "UNION ALL SELECT date, amount FROM expense WHERE user_id = :userId AND :ledger = 'EXPENSE' " +
+            "UNION ALL SELECT investment_date, amount FROM investment " +
+            "WHERE user_id = :userId AND :ledger = 'INVESTMENT'), " +
+            "e AS (SELECT day, SUM(amount) AS total FROM raw GROUP BY day), " +
+            "s AS (SELECT day, day_total, cumulative FROM user_ledger_daily_prefix " +
+            "WHERE user_id = :userId AND ledger = :ledger), " +
+            "j AS (SELECT COALESCE(e.day, s.day) AS day, COALESCE(e.total, 0) AS expected_total, " +
+            "COALESCE(s.day_total, 0) AS actual_total, " +
+            "SUM(COALESCE(e.total, 0)) OVER (ORDER BY COALESCE(e.day, s.day)) AS expected_cumulative, " +
+            "s.cumulative AS actual_cumulative FROM e FULL JOIN s ON s.day = e.day) " +
+            "SELECT day, expected_total, actual_total, expected_cumulative, actual_cumulative FROM j " +
+            "WHERE ABS(expected_total - actual_total) > :tolerance * GREATEST(1, ABS(expected_total)) " +
+            "OR ABS(expected_cumulative - actual_cumulative) > :tolerance * GREATEST(1, ABS(expected_cumulative)) " +
+            "ORDER BY day",
+            nativeQuery = true)
+    List<Object[]> drift(@Param("userId") Long userId, @Param("ledger") String ledger,
+                         @Param("tolerance") double tolerance);
+
+    @Modifying
+    @Query("DELETE FROM DailyLedgerPrefix p WHERE p.id.userId = :userId AND p.id.ledger = :ledger")
+    int deleteByUserAndLedger(@Param("userId") Long userId, @Param("ledger") LedgerType ledger);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_daily_prefix (user_id, ledger, day, day_total, cumulative) " +
+            "SELECT :userId, 'INCOME', d.day, d.total, SUM(d.total) OVER (ORDER BY d.day) " +
+            "FROM (SELECT date AS day, SUM(amount) AS total FROM income " +
+            "WHERE user_id = :userId GROUP BY date) d",
+            nativeQuery = true)
+    int rebuildIncome(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_daily_prefix (user_id, ledger, day, day_total, cumulative) " +
+            "SELECT :userId, 'EXPENSE', d.day, d.total, SUM(d.total) OVER (ORDER BY d.day) " +
+            "FROM (SELECT date AS day, SUM(amount) AS total FROM expense " +
+            "WHERE user_id = :userId GROUP BY date) d",
+            nativeQuery = true)
+    int rebuildExpense(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_daily_prefix (user_id, ledger, day, day_total, cumulative) " +
+            "SELECT :userId, 'INVESTMENT', d.day, d.total, SUM(d.total) OVER (ORDER BY d.day) " +
+            "FROM (SELECT investment_date AS day, SUM(amount) AS total FROM investment " +
+            "WHERE user_id = :userId GROUP BY investment_date) d",
+            nativeQuery = true)
+    int rebuildInvestment(@Param("userId") Long userId);
+}
@@ -0,0 +1,12 @@
+package com.financedash.finance_dashboard.rollup;
+
+import java.time.LocalDate;
+
+/**
+ * A day whose stored prefix sums disagree with the raw ledger rows, found when reconciling.
+ *
+ * @param actualCumulative stored running total, null when the day has no stored row
+ */
+public record DailyPrefixDrift(LocalDate day, double expectedTotal, double actualTotal, double expectedCumulative,
+                               Double actualCumulative) {
+}
@@ -0,0 +1,12 @@
+package com.financedash.finance_dashboard.rollup;
+
+import java.time.LocalDate;
+
+/**
+ * The parts of a persisted ledger entry that rollups and prefix sums aggregate.
+ *
+ * @param userId    owning user
+ * @param dimension category, source or type
+ */
+public record LedgerEntry(Long userId, LocalDate date, String dimension, double amount) {
+}
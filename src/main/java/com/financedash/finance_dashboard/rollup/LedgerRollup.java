@@ -0,0 +1,27 @@
+package com.financedash.finance_dashboard.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running monthly total for one user's ledger and dimension, maintained on every write.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+@Entity
+@Table(name = "user_ledger_rollup")
+public class LedgerRollup {
+
+    @EmbeddedId
+    private LedgerRollupId id;
+
+    @Column(name = "total_amount", nullable = false)
+    private double totalAmount;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+}
@@ -0,0 +1,44 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Primary key of a rollup row: owning user, ledger, first day of the month and dimension
+ * (category, source or type). The month-wide total uses {@link #TOTAL} as dimension.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class LedgerRollupId implements Serializable {
+
+    // Categories, sources and types are validated as non-blank, so the empty string never collides
+    public static final String TOTAL = "";
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ledger", nullable = false, length = 16)
+    private LedgerType ledger;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "dimension", nullable = false)
+    private String dimension;
+
+    public static LedgerRollupId total(Long userId, LedgerType ledger, LocalDate periodStart) {
+        return new LedgerRollupId(userId, ledger, periodStart, TOTAL);
+    }
+}
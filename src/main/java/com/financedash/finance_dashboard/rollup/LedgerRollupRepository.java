@@ -0,0 +1,56 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LedgerRollupRepository extends JpaRepository<LedgerRollup, LedgerRollupId> {
+
+    // Atomic increment so concurrent writers never lose updates
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_rollup (user_id, ledger, period_start, dimension, total_amount, entry_count) " +
+            "VALUES (:userId, :ledger, :periodStart, :dimension, :amount, :count) " +
+            "ON CONFLICT (user_id, ledger, period_start, dimension) DO UPDATE " +
+            "SET total_amount = user_ledger_rollup.total_amount + EXCLUDED.total_amount, " +
+            "entry_count = user_ledger_rollup.entry_count + EXCLUDED.entry_count",
+            nativeQuery = true)
+    int increment(@Param("userId") Long userId,
+                  @Param("ledger") String ledger,
+                  @Param("periodStart") LocalDate periodStart,
+                  @Param("dimension") String dimension,
+                  @Param("amount") double amount,
+                  @Param("count") long count);
+
+    // Batch form of increment; keys must be distinct. Amounts are bound as BigDecimal and cast to float8[]:
+    // Hibernate binds double arrays as real[]
+    @Modifying
+    @Query(value = "INSERT INTO user_ledger_rollup (user_id, ledger, period_start, dimension, total_amount, entry_count) " +
+            "SELECT u.user_id, :ledger, u.period_start, u.dimension, u.amount, u.entry_count " +
+            "FROM unnest(CAST(:userIds AS bigint[]), CAST(:periodStarts AS date[]), CAST(:dimensions AS varchar[]), " +
+            "CAST(:amounts AS float8[]), CAST(:counts AS bigint[])) AS u(user_id, period_start, dimension, amount, entry_count) " +
+            "ON CONFLICT (user_id, ledger, period_start, dimension) DO UPDATE " +
+            "SET total_amount = user_ledger_rollup.total_amount + EXCLUDED.total_amount, " +
+            "entry_count = user_ledger_rollup.entry_count + EXCLUDED.entry_count",
+            nativeQuery = true)
+    int incrementAll(@Param("ledger") String ledger,
+                     @Param("userIds") Long[] userIds,
+                     @Param("periodStarts") LocalDate[] periodStarts,
+                     @Param("dimensions") String[] dimensions,
+                     @Param("amounts") BigDecimal[] amounts,
+                     @Param("counts") Long[] counts);
+
+    List<LedgerRollup> findByIdUserIdAndIdLedger(Long userId, LedgerType ledger);
+
+    // Rows whose entries were all reconciled away; rows a concurrent writer just incremented keep their count
+    @Modifying
+    @Query("DELETE FROM LedgerRollup r WHERE r.id.userId = :userId AND r.id.ledger = :ledger AND r.entryCount = 0")
+    int deleteEmpty(@Param("userId") Long userId, @Param("ledger") LedgerType ledger);
+}
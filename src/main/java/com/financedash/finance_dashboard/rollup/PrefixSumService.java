@@ -0,0 +1,213 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Persisted per-user, per-ledger daily prefix sums answering the total of any date range
+ * with two lookups.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrefixSumService {
+
+    private static final String LOCK_PREFIX = "ledger_daily_prefix:";
+    private static final double DRIFT_TOLERANCE = 1e-9;
+
+    private final DailyLedgerPrefixRepository prefixRepository;
+    private final DailyLedgerPrefixPendingRepository pendingRepository;
+
+    /**
+     * Adds an entry to its day and to the running total of every later day.
+     * Must run inside the transaction that persisted the entry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, LedgerType ledger, LocalDate date, double amount) {
+        // Writers of different users never wait on each other
+        prefixRepository.lockForUpdate(LOCK_PREFIX + userId + ":" + ledger.name());
+        prefixRepository.addToDay(userId, ledger.name(), date, amount);
+        prefixRepository.addToLaterDays(userId, ledger.name(), date, amount);
+    }
+
+    /**
+     * Batch form of {@link #record} for entries possibly of several users: every later day's
+     * running total is updated once per call, not once per entry. Must run inside the
+     * transaction that persisted the entries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(LedgerType ledger, Collection<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        addDayTotals(ledger, sumByUserAndDay(entries));
+    }
+
+    private static SortedMap<Long, SortedMap<LocalDate, Double>> sumByUserAndDay(Collection<LedgerEntry> entries) {
+        SortedMap<Long, SortedMap<LocalDate, Double>> dayTotals = new TreeMap<>();
+        for (LedgerEntry entry : entries) {
+            dayTotals.computeIfAbsent(entry.userId(), id -> new TreeMap<>())
+                    .merge(entry.date(), entry.amount(), Double::sum);
+        }
+        return dayTotals;
+    }
+
+    /**
+     * Parks the entries' amounts per day instead of adding them, so callers committing many
+     * batches update the later days once, through {@link #applyDeferred}, after the last one.
+     * Must run inside the transaction that persisted the entries: parked amounts commit and
+     * roll back with their rows, and a rebuild taking the writer lock in between drops them
+     * together with the prefix sums it replaces.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deferAll(LedgerType ledger, Collection<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        SortedMap<Long, SortedMap<LocalDate, Double>> dayTotals = sumByUserAndDay(entries);
+        int size = dayTotals.values().stream().mapToInt(Map::size).sum();
+        Long[] userIds = new Long[size];
+        LocalDate[] days = new LocalDate[size];
+        BigDecimal[] amounts = new BigDecimal[size];
+        int i = 0;
+        for (Map.Entry<Long, SortedMap<LocalDate, Double>> user : dayTotals.entrySet()) {
+            for (Map.Entry<LocalDate, Double> day : user.getValue().entrySet()) {
+                userIds[i] = user.getKey();
+                days[i] = day.getKey();
+                amounts[i++] = BigDecimal.valueOf(day.getValue());
+            }
+        }
+        lockAllWriters(ledger, dayTotals.keySet());
+        pendingRepository.addAll(ledger.name(), userIds, days, amounts);
+    }
+
+    /**
+     * Adds every amount parked by {@link #deferAll} for the user and ledger, whichever import
+     * parked it, with one update of the later days.
+     *
+     * @return the number of days added
+     */
+    @Transactional
+    public int applyDeferred(Long userId, LedgerType ledger) {
+        lockWriters(userId, ledger);
+        List<DailyLedgerPrefixPending> pending = pendingRepository.findByUserAndLedger(userId, ledger);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        SortedMap<LocalDate, Double> days = new TreeMap<>();
+        for (DailyLedgerPrefixPending day : pending) {
+            days.put(day.getId().getDay(), day.getAmount());
+        }
+        SortedMap<Long, SortedMap<LocalDate, Double>> byUser = new TreeMap<>();
+        byUser.put(userId, days);
+        addDayTotals(ledger, byUser);
+        pendingRepository.deleteByUserAndLedger(userId, ledger);
+        return days.size();
+    }
+
+    private void addDayTotals(LedgerType ledger, SortedMap<Long, SortedMap<LocalDate, Double>> dayTotals) {
+        int size = dayTotals.values().stream().mapToInt(Map::size).sum();
+        Long[] userIds = new Long[size];
+        LocalDate[] days = new LocalDate[size];
+        BigDecimal[] amounts = new BigDecimal[size];
+        String[] keys = new String[dayTotals.size()];
+        int i = 0;
+        int k = 0;
+        for (Map.Entry<Long, SortedMap<LocalDate, Double>> user : dayTotals.entrySet()) {
+            keys[k++] = LOCK_PREFIX + user.getKey() + ":" + ledger.name();
+            for (Map.Entry<LocalDate, Double> day : user.getValue().entrySet()) {
+                userIds[i] = user.getKey();
+                days[i] = day.getKey();
+                amounts[i++] = BigDecimal.valueOf(day.getValue());
+            }
+        }
+
+        // Locks are taken in user order, so batches touching the same users queue instead of deadlocking
+        prefixRepository.lockAllForUpdate(keys);
+        prefixRepository.insertMissingDays(ledger.name(), userIds, days);
+        prefixRepository.addToDays(ledger.name(), userIds, days, amounts);
+    }
+
+    /**
+     * The user's totals per ledger for the inclusive range [from, to].
+     */
+    @Transactional(readOnly = true)
+    public Map<LedgerType, Double> getRangeTotals(Long userId, LocalDate from, LocalDate to) {
+        Map<LedgerType, Double> totals = new EnumMap<>(LedgerType.class);
+        for (Object[] row : prefixRepository.rangeTotals(userId, from, to)) {
+            totals.put(LedgerType.valueOf((String) row[0]), ((Number) row[1]).doubleValue());
+        }
+        return totals;
+    }
+
+    /**
+     * Blocks the user's writers to the ledger until the calling transaction ends, so a
+     * maintenance job sees the raw rows, rollups and prefix sums move together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockWriters(Long userId, LedgerType ledger) {
+        prefixRepository.lockForUpdate(LOCK_PREFIX + userId + ":" + ledger.name());
+    }
+
+    /**
+     * {@link #lockWriters} for every given user, taken in user order so batches touching the
+     * same users queue instead of deadlocking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockAllWriters(LedgerType ledger, Collection<Long> userIds) {
+        prefixRepository.lockAllForUpdate(new TreeSet<>(userIds).stream()
+                .map(userId -> LOCK_PREFIX + userId + ":" + ledger.name())
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Days whose stored prefix sums differ from the raw rows, oldest first. Amounts parked by
+     * {@link #deferAll} count as missing until applied. Must run inside a transaction holding
+     * {@link #lockWriters} for the same user and ledger.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DailyPrefixDrift> findDrift(Long userId, LedgerType ledger) {
+        return prefixRepository.drift(userId, ledger.name(), DRIFT_TOLERANCE).stream()
+                .map(row -> new DailyPrefixDrift(toLocalDate(row[0]), ((Number) row[1]).doubleValue(),
+                        ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue(),
+                        row[4] != null ? ((Number) row[4]).doubleValue() : null))
+                .toList();
+    }
+
+    // Native queries return dates as java.sql.Date
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    /**
+     * Recomputes the user's prefix sums for the ledger from the raw rows, dropping parked
+     * amounts since the raw rows already hold them. Must run inside a transaction holding
+     * {@link #lockWriters} for the same user and ledger.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuild(Long userId, LedgerType ledger) {
+        prefixRepository.deleteByUserAndLedger(userId, ledger);
+        pendingRepository.deleteByUserAndLedger(userId, ledger);
+        int days = switch (ledger) {
+            case INCOME -> prefixRepository.rebuildIncome(userId);
+            case EXPENSE -> prefixRepository.rebuildExpense(userId);
+            case INVESTMENT -> prefixRepository.rebuildInvestment(userId);
+        };
+        log.debug("Rebuilt {} daily prefix sums for user {} ledger {}", days, userId, ledger);
+    }
+}
@@ -0,0 +1,7 @@
+package com.financedash.finance_dashboard.rollup;
+
+/**
+ * Monthly aggregate recomputed from raw ledger rows, used when reconciling rollups.
+ */
+public record RollupRow(Long userId, Integer year, Integer month, String dimension, Double total, Long count) {
+}
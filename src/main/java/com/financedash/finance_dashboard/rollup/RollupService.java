@@ -0,0 +1,304 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.RollupReconcileReport;
+import com.financedash.finance_dashboard.repository.ExpenseRepository;
+import com.financedash.finance_dashboard.repository.IncomeRepository;
+import com.financedash.finance_dashboard.repository.InvestmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Maintains per-user, per-month running totals for every ledger so reports can read
+ * a handful of rows by primary key instead of aggregating the raw tables.
+ */
+@Service
+@Slf4j
+public class RollupService {
+
+    private static final double AMOUNT_TOLERANCE = 1e-6;
+    private static final int MAX_REPORTED_DRIFTS = 100;
+    private static final int USER_PAGE_SIZE = 500;
+    // Dimensions under which drifted days of the daily prefix sums are reported
+    private static final String PREFIX_DAY_TOTAL = "daily prefix: day total";
+    private static final String PREFIX_RUNNING_TOTAL = "daily prefix: running total";
+
+    private final LedgerRollupRepository rollupRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final InvestmentRepository investmentRepository;
+    private final PrefixSumService prefixSumService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate userTransaction;
+
+    public RollupService(LedgerRollupRepository rollupRepository, IncomeRepository incomeRepository,
+                         ExpenseRepository expenseRepository, InvestmentRepository investmentRepository,
+                         PrefixSumService prefixSumService, UserRepository userRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.investmentRepository = investmentRepository;
+        this.prefixSumService = prefixSumService;
+        this.userRepository = userRepository;
+        this.userTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds a freshly persisted entry to the month total, to its dimension total and to the
+     * daily prefix sums. Must run inside the transaction that persisted the entry.
+     * <p>
+     * Writers take the user's writer lock before touching a rollup row, as reconcile does, so
+     * a repair and a live write on the same user and ledger queue instead of deadlocking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, LedgerType ledger, LocalDate date, String dimension, double amount) {
+        prefixSumService.lockWriters(userId, ledger);
+        LocalDate periodStart = date.withDayOfMonth(1);
+        rollupRepository.increment(userId, ledger.name(), periodStart, LedgerRollupId.TOTAL, amount, 1);
+        rollupRepository.increment(userId, ledger.name(), periodStart, dimension, amount, 1);
+        prefixSumService.record(userId, ledger, date, amount);
+    }
+
+    /**
+     * Batch form of {@link #record} for entries persisted together, possibly of several users:
+     * increments are summed per user, month and dimension and applied in one statement. Must
+     * run inside the transaction that persisted the entries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(LedgerType ledger, Collection<LedgerEntry> entries) {
+        recordRollups(ledger, entries);
+        prefixSumService.recordAll(ledger, entries);
+    }
+
+    /**
+     * {@link #recordAll} with the daily prefix sums parked instead of added, for callers that
+     * commit many batches and add them once through {@link PrefixSumService#applyDeferred}.
+     * Must run inside the transaction that persisted the entries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAllDeferred(LedgerType ledger, Collection<LedgerEntry> entries) {
+        recordRollups(ledger, entries);
+        prefixSumService.deferAll(ledger, entries);
+    }
+
+    /**
+     * {@link #recordAll} without the daily prefix sums. Must run inside the transaction that
+     * persisted the entries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRollups(LedgerType ledger, Collection<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        prefixSumService.lockAllWriters(ledger, entries.stream().map(LedgerEntry::userId).toList());
+        Map<LedgerRollupId, LedgerRollup> increments = new HashMap<>();
+        for (LedgerEntry entry : entries) {
+            LocalDate periodStart = entry.date().withDayOfMonth(1);
+            add(increments, LedgerRollupId.total(entry.userId(), ledger, periodStart), entry.amount());
+            add(increments, new LedgerRollupId(entry.userId(), ledger, periodStart, entry.dimension()), entry.amount());
+        }
+
+        // Same row order in every batch, totals first as in record(), so concurrent batches queue instead of deadlocking
+        List<LedgerRollup> sorted = new ArrayList<>(increments.values());
+        sorted.sort(Comparator.comparing((LedgerRollup r) -> r.getId().getUserId())
+                .thenComparing(r -> r.getId().getPeriodStart())
+                .thenComparing(r -> r.getId().getDimension()));
+        apply(ledger, sorted);
+    }
+
+    /**
+     * Returns the user's month totals for every ledger; ledgers without entries map to 0.
+     */
+    @Transactional(readOnly = true)
+    public Map<LedgerType, Double> getMonthTotals(Long userId, LocalDate periodStart) {
+        List<LedgerRollupId> ids = Arrays.stream(LedgerType.values())
+                .map(ledger -> LedgerRollupId.total(userId, ledger, periodStart))
+                .toList();
+
+        Map<LedgerType, Double> totals = new EnumMap<>(LedgerType.class);
+        for (LedgerType ledger : LedgerType.values()) {
+            totals.put(ledger, 0.0);
+        }
+        for (LedgerRollup rollup : rollupRepository.findAllById(ids)) {
+            totals.put(rollup.getId().getLedger(), rollup.getTotalAmount());
+        }
+        return totals;
+    }
+
+    /**
+     * Recomputes every rollup from the raw rows and reports where the stored values drifted.
+     * Users are checked one ledger at a time, each in its own transaction holding that user's
+     * writer lock, so live writes neither show up as drift nor get lost by a repair.
+     *
+     * @param repair when true, drifted rollups are corrected in place and daily prefix sums
+     *               with drifted days are rebuilt
+     */
+    public RollupReconcileReport reconcile(boolean repair) {
+        List<RollupReconcileReport.Drift> drifts = new ArrayList<>();
+        int checked = 0;
+        int driftCount = 0;
+
+        long after = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(after, Limit.of(USER_PAGE_SIZE));
+            for (Long userId : userIds) {
+                UserLedgerCheck check = reconcileUser(userId, repair, drifts);
+                checked += check.checked();
+                driftCount += check.drifted();
+                after = userId;
+            }
+        } while (userIds.size() == USER_PAGE_SIZE);
+
+        log.info("Rollup reconcile checked {} rollups, found {} drifted", checked, driftCount);
+        return report(checked, driftCount, repair, drifts);
+    }
+
+    /**
+     * {@link #reconcile(boolean)} for a single user.
+     */
+    public RollupReconcileReport reconcile(Long userId, boolean repair) {
+        List<RollupReconcileReport.Drift> drifts = new ArrayList<>();
+        UserLedgerCheck check = reconcileUser(userId, repair, drifts);
+        return report(check.checked(), check.drifted(), repair, drifts);
+    }
+
+    private UserLedgerCheck reconcileUser(Long userId, boolean repair, List<RollupReconcileReport.Drift> drifts) {
+        int checked = 0;
+        int drifted = 0;
+        for (LedgerType ledger : LedgerType.values()) {
+            UserLedgerCheck check = userTransaction.execute(status -> reconcile(userId, ledger, repair, drifts));
+            checked += check.checked();
+            drifted += check.drifted();
+        }
+        return new UserLedgerCheck(checked, drifted);
+    }
+
+    private static RollupReconcileReport report(int checked, int driftCount, boolean repair,
+                                                List<RollupReconcileReport.Drift> drifts) {
+        return RollupReconcileReport.builder()
+                .rollupsChecked(checked)
+                .driftCount(driftCount)
+                .repaired(repair && driftCount > 0)
+                .drifts(drifts)
+                .build();
+    }
+
+    private UserLedgerCheck reconcile(Long userId, LedgerType ledger, boolean repair, List<RollupReconcileReport.Drift> drifts) {
+        prefixSumService.lockWriters(userId, ledger);
+        Map<LedgerRollupId, LedgerRollup> expected = recompute(userId, ledger);
+        Map<LedgerRollupId, LedgerRollup> actual = new HashMap<>();
+        rollupRepository.findByIdUserIdAndIdLedger(userId, ledger).forEach(r -> actual.put(r.getId(), r));
+
+        Set<LedgerRollupId> keys = new TreeSet<>(Comparator.comparing(LedgerRollupId::getPeriodStart)
+                .thenComparing(LedgerRollupId::getDimension));
+        keys.addAll(expected.keySet());
+        keys.addAll(actual.keySet());
+
+        // Drift is applied as a delta through the same upsert writers use, so the repair composes with them
+        List<LedgerRollup> deltas = new ArrayList<>();
+        for (LedgerRollupId key : keys) {
+            LedgerRollup want = expected.get(key);
+            LedgerRollup have = actual.get(key);
+            double wantAmount = want != null ? want.getTotalAmount() : 0.0;
+            double haveAmount = have != null ? have.getTotalAmount() : 0.0;
+            long wantCount = want != null ? want.getEntryCount() : 0L;
+            long haveCount = have != null ? have.getEntryCount() : 0L;
+
+            if (Math.abs(wantAmount - haveAmount) > AMOUNT_TOLERANCE || wantCount != haveCount) {
+                deltas.add(new LedgerRollup(key, wantAmount - haveAmount, wantCount - haveCount));
+                if (drifts.size() < MAX_REPORTED_DRIFTS) {
+                    drifts.add(new RollupReconcileReport.Drift(userId, ledger.name(), key.getPeriodStart(),
+                            key.getDimension(), wantAmount, haveAmount, wantCount, haveCount));
+                }
+            }
+        }
+
+        // Prefix sums are compared day by day too; amounts an import parked count as drift until added
+        List<DailyPrefixDrift> prefixDrifts = prefixSumService.findDrift(userId, ledger);
+        for (DailyPrefixDrift day : prefixDrifts) {
+            if (drifts.size() < MAX_REPORTED_DRIFTS) {
+                drifts.add(Math.abs(day.expectedTotal() - day.actualTotal()) > AMOUNT_TOLERANCE
+                        ? new RollupReconcileReport.Drift(userId, ledger.name(), day.day(), PREFIX_DAY_TOTAL,
+                        day.expectedTotal(), day.actualTotal(), 0, 0)
+                        : new RollupReconcileReport.Drift(userId, ledger.name(), day.day(), PREFIX_RUNNING_TOTAL,
+                        day.expectedCumulative(), day.actualCumulative(), 0, 0));
+            }
+        }
+
+        if (repair) {
+            if (!deltas.isEmpty()) {
+                apply(ledger, deltas);
+                rollupRepository.deleteEmpty(userId, ledger);
+                log.info("Repaired {} rollups of user {} ledger {}", deltas.size(), userId, ledger);
+            }
+            if (!prefixDrifts.isEmpty()) {
+                prefixSumService.rebuild(userId, ledger);
+                log.info("Rebuilt daily prefix sums of user {} ledger {}, {} days drifted", userId, ledger,
+                        prefixDrifts.size());
+            }
+        }
+        return new UserLedgerCheck(keys.size(), deltas.size() + prefixDrifts.size());
+    }
+
+    private void apply(LedgerType ledger, List<LedgerRollup> deltas) {
+        int size = deltas.size();
+        Long[] userIds = new Long[size];
+        LocalDate[] periodStarts = new LocalDate[size];
+        String[] dimensions = new String[size];
+        BigDecimal[] amounts = new BigDecimal[size];
+        Long[] counts = new Long[size];
+        for (int i = 0; i < size; i++) {
+            LedgerRollup delta = deltas.get(i);
+            userIds[i] = delta.getId().getUserId();
+            periodStarts[i] = delta.getId().getPeriodStart();
+            dimensions[i] = delta.getId().getDimension();
+            amounts[i] = BigDecimal.valueOf(delta.getTotalAmount());
+            counts[i] = delta.getEntryCount();
+        }
+        rollupRepository.incrementAll(ledger.name(), userIds, periodStarts, dimensions, amounts, counts);
+    }
+
+    private static void add(Map<LedgerRollupId, LedgerRollup> rollups, LedgerRollupId id, double amount) {
+        LedgerRollup rollup = rollups.computeIfAbsent(id, key -> new LedgerRollup(key, 0.0, 0L));
+        rollup.setTotalAmount(rollup.getTotalAmount() + amount);
+        rollup.setEntryCount(rollup.getEntryCount() + 1);
+    }
+
+    private Map<LedgerRollupId, LedgerRollup> recompute(Long userId, LedgerType ledger) {
+        List<RollupRow> rows = switch (ledger) {
+            case INCOME -> incomeRepository.aggregateMonthlyBySource(userId);
+            case EXPENSE -> expenseRepository.aggregateMonthlyByCategory(userId);
+            case INVESTMENT -> investmentRepository.aggregateMonthlyByType(userId);
+        };
+
+        Map<LedgerRollupId, LedgerRollup> rollups = new HashMap<>();
+        for (RollupRow row : rows) {
+            LocalDate periodStart = LocalDate.of(row.year(), row.month(), 1);
+            double total = row.total() != null ? row.total() : 0.0;
+            long count = row.count() != null ? row.count() : 0L;
+
+            LedgerRollupId id = new LedgerRollupId(row.userId(), ledger, periodStart, row.dimension());
+            rollups.put(id, new LedgerRollup(id, total, count));
+            LedgerRollup monthTotal = rollups.computeIfAbsent(LedgerRollupId.total(row.userId(), ledger, periodStart),
+                    key -> new LedgerRollup(key, 0.0, 0L));
+            monthTotal.setTotalAmount(monthTotal.getTotalAmount() + total);
+            monthTotal.setEntryCount(monthTotal.getEntryCount() + count);
+        }
+        return rollups;
+    }
+
+    private record UserLedgerCheck(int checked, int drifted) {
+    }
+}
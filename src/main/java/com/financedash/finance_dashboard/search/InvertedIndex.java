@@ -0,0 +1,111 @@
+package com.financedash.finance_dashboard.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Term to postings index over one ledger's free text.
+ * <p>
+ * Terms live in a sorted concurrent map so a prefix is a contiguous sub-map. Adding a
+ * record that is already indexed is a no-op, which makes replaying writes during a rebuild
+ * safe. Records are never removed because the ledgers have no delete path.
+ * <p>
+ * Ranking is BM25 without length normalisation; notes and descriptions are short enough
+ * that term saturation and inverse document frequency carry the signal.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+
+    private final ConcurrentSkipListMap<String, PostingList> terms = new ConcurrentSkipListMap<>();
+    // Every indexed record; its size is the document count used for idf
+    private final PostingList documents = new PostingList();
+
+    public void add(long id, String text) {
+        Map<String, Integer> frequencies = Tokenizer.termFrequencies(text);
+        if (frequencies.isEmpty() || !documents.add(id, 1)) {
+            return;
+        }
+        frequencies.forEach((term, frequency) ->
+                terms.computeIfAbsent(term, t -> new PostingList()).add(id, frequency));
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Records containing every term; the last term also matches as a prefix when requested.
+     *
+     * @param maxExpansions upper bound on index terms a prefix expands to
+     */
+    Matches match(List<String> queryTerms, boolean prefixLast, int maxExpansions) {
+        int documentCount = documentCount();
+        List<Matches> perTerm = new ArrayList<>(queryTerms.size());
+        for (int i = 0; i < queryTerms.size(); i++) {
+            boolean prefix = prefixLast && i == queryTerms.size() - 1;
+            Matches matches = prefix
+                    ? matchPrefix(queryTerms.get(i), maxExpansions, documentCount)
+                    : matchTerm(terms.get(queryTerms.get(i)), documentCount);
+            if (matches.size() == 0) {
+                return Matches.EMPTY;
+            }
+            perTerm.add(matches);
+        }
+        if (perTerm.isEmpty()) {
+            return Matches.EMPTY;
+        }
+        // Rarest first keeps every intermediate intersection small
+        perTerm.sort(Comparator.comparingInt(Matches::size));
+        Matches result = perTerm.get(0);
+        for (int i = 1; i < perTerm.size() && result.size() > 0; i++) {
+            result = result.intersect(perTerm.get(i));
+        }
+        return result;
+    }
+
+    private Matches matchPrefix(String prefix, int maxExpansions, int documentCount) {
+        NavigableMap<String, PostingList> expansions =
+                terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        Deque<Matches> pending = new ArrayDeque<>();
+        for (PostingList postings : expansions.values()) {
+            if (pending.size() >= maxExpansions) {
+                break;
+            }
+            pending.add(matchTerm(postings, documentCount));
+        }
+        if (pending.isEmpty()) {
+            return Matches.EMPTY;
+        }
+        // Pairwise merging keeps the union at O(n log k) for k expansions
+        while (pending.size() > 1) {
+            pending.addLast(pending.pollFirst().union(pending.pollFirst()));
+        }
+        return pending.poll();
+    }
+
+    private Matches matchTerm(PostingList postingList, int documentCount) {
+        if (postingList == null) {
+            return Matches.EMPTY;
+        }
+        PostingList.Postings postings = postingList.decode();
+        int documentFrequency = postings.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double[] scores = new double[documentFrequency];
+        for (int i = 0; i < documentFrequency; i++) {
+            int frequency = postings.frequencies()[i];
+            scores[i] = idf * frequency * (K1 + 1) / (frequency + K1);
+        }
+        return new Matches(postings.ids(), scores, documentFrequency);
+    }
+}
@@ -0,0 +1,58 @@
+package com.financedash.finance_dashboard.search;
+
+/**
+ * Matching record ids sorted ascending with their accumulated scores.
+ */
+record Matches(long[] ids, double[] scores, int size) {
+
+    static final Matches EMPTY = new Matches(new long[0], new double[0], 0);
+
+    /**
+     * Ids present in both, scores summed.
+     */
+    Matches intersect(Matches other) {
+        int capacity = Math.min(size, other.size);
+        long[] ids = new long[capacity];
+        double[] scores = new double[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            long a = this.ids[i];
+            long b = other.ids[j];
+            if (a == b) {
+                ids[count] = a;
+                scores[count++] = this.scores[i++] + other.scores[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new Matches(ids, scores, count);
+    }
+
+    /**
+     * Ids present in either, keeping the better score; used to merge prefix expansions.
+     */
+    Matches union(Matches other) {
+        long[] ids = new long[size + other.size];
+        double[] scores = new double[size + other.size];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && this.ids[i] < other.ids[j])) {
+                ids[count] = this.ids[i];
+                scores[count++] = this.scores[i++];
+            } else if (i >= size || other.ids[j] < this.ids[i]) {
+                ids[count] = other.ids[j];
+                scores[count++] = other.scores[j++];
+            } else {
+                ids[count] = this.ids[i];
+                scores[count++] = Math.max(this.scores[i++], other.scores[j++]);
+            }
+        }
+        return new Matches(ids, scores, count);
+    }
+}
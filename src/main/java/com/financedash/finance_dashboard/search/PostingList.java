@@ -0,0 +1,123 @@
+package com.financedash.finance_dashboard.search;
+
+import java.util.Arrays;
+
+/**
+ * Record ids containing one term, with the term's frequency in each, kept sorted and
+ * encoded as delta varints (usually two or three bytes per posting).
+ * <p>
+ * Writers synchronize on the list. Readers never lock: they read an immutable
+ * {@link Snapshot} whose length bounds what they decode, so bytes a concurrent append
+ * writes past that length are never observed half-written.
+ */
+final class PostingList {
+
+    private record Snapshot(byte[] data, int length, int size, long lastId) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new byte[8], 0, 0, 0L);
+
+    int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * @return false when the id is already present
+     */
+    synchronized boolean add(long id, int frequency) {
+        Snapshot current = snapshot;
+        if (id > current.lastId()) {
+            // Ids are generated in increasing order, so this is the common path
+            byte[] data = current.data();
+            int length = current.length();
+            if (data.length - length < 15) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 15));
+            }
+            length = writeVarLong(data, length, id - current.lastId());
+            length = writeVarLong(data, length, frequency);
+            snapshot = new Snapshot(data, length, current.size() + 1, id);
+            return true;
+        }
+
+        Postings postings = decode(current);
+        int position = Arrays.binarySearch(postings.ids(), 0, postings.size(), id);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        long[] ids = new long[postings.size() + 1];
+        int[] frequencies = new int[postings.size() + 1];
+        System.arraycopy(postings.ids(), 0, ids, 0, insertAt);
+        System.arraycopy(postings.frequencies(), 0, frequencies, 0, insertAt);
+        ids[insertAt] = id;
+        frequencies[insertAt] = frequency;
+        System.arraycopy(postings.ids(), insertAt, ids, insertAt + 1, postings.size() - insertAt);
+        System.arraycopy(postings.frequencies(), insertAt, frequencies, insertAt + 1, postings.size() - insertAt);
+        snapshot = encode(ids, frequencies);
+        return true;
+    }
+
+    Postings decode() {
+        return decode(snapshot);
+    }
+
+    private static Postings decode(Snapshot snapshot) {
+        long[] ids = new long[snapshot.size()];
+        int[] frequencies = new int[snapshot.size()];
+        byte[] data = snapshot.data();
+        int offset = 0;
+        long previous = 0L;
+        for (int i = 0; i < snapshot.size(); i++) {
+            long delta = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += delta;
+            ids[i] = previous;
+
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[offset++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            frequencies[i] = frequency;
+        }
+        return new Postings(ids, frequencies, ids.length);
+    }
+
+    private static Snapshot encode(long[] ids, int[] frequencies) {
+        byte[] data = new byte[ids.length * 4 + 8];
+        int length = 0;
+        long previous = 0L;
+        for (int i = 0; i < ids.length; i++) {
+            if (data.length - length < 15) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            length = writeVarLong(data, length, ids[i] - previous);
+            length = writeVarLong(data, length, frequencies[i]);
+            previous = ids[i];
+        }
+        return new Snapshot(data, length, ids.length, ids.length > 0 ? ids[ids.length - 1] : 0L);
+    }
+
+    private static int writeVarLong(byte[] data, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Decoded postings sorted by id.
+     */
+    record Postings(long[] ids, int[] frequencies, int size) {
+    }
+}
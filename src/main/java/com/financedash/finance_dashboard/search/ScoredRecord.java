@@ -0,0 +1,6 @@
+package com.financedash.finance_dashboard.search;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+
+public record ScoredRecord(LedgerType ledger, long id, double score) {
+}
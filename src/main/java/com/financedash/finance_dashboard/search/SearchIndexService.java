@@ -0,0 +1,216 @@
+package com.financedash.finance_dashboard.search;
+
+import com.financedash.finance_dashboard.config.SearchProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.repository.SearchTextRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Owns one {@link InvertedIndex} per user and ledger, so a search only ever touches the
+ * caller's own postings and term statistics.
+ * <p>
+ * Committed writes are indexed from {@link LedgerChangedEvent}; on startup every ledger is
+ * streamed from the database in the background, owner by owner. Writes for an owner the
+ * rebuild has not reached yet are held back until it has passed them, so each posting list is
+ * built in ascending id order and appended to rather than inserted into. Both paths may index
+ * the same record, which the index ignores, so writes racing the rebuild are neither lost nor
+ * counted twice.
+ */
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    // Each user's map is fully populated before it is published and never modified afterwards
+    private final ConcurrentMap<Long, Map<LedgerType, InvertedIndex>> indexes = new ConcurrentHashMap<>();
+    private final Map<LedgerType, PendingChanges> pending = new EnumMap<>(LedgerType.class);
+    private final SearchTextRepository textRepository;
+    private final SearchProperties searchProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("search-index-rebuild").daemon().factory());
+
+    private volatile boolean ready;
+
+    public SearchIndexService(SearchTextRepository textRepository, SearchProperties searchProperties,
+                              PlatformTransactionManager transactionManager) {
+        this.textRepository = textRepository;
+        this.searchProperties = searchProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        for (LedgerType ledger : LedgerType.values()) {
+            pending.put(ledger, new PendingChanges());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildExecutor.execute(() -> {
+            long started = System.nanoTime();
+            try {
+                for (LedgerType ledger : LedgerType.values()) {
+                    PendingChanges ledgerPending = pending.get(ledger);
+                    long[] records = {0};
+                    long[] owner = {Long.MIN_VALUE};
+                    readOnlyTransaction.executeWithoutResult(status ->
+                            textRepository.forEachText(ledger, (userId, id, text) -> {
+                                if (userId != owner[0]) {
+                                    owner[0] = userId;
+                                    apply(ledger, ledgerPending.advanceTo(userId));
+                                }
+                                index(userId, ledger).add(id, text);
+                                records[0]++;
+                            }));
+                    apply(ledger, ledgerPending.finish());
+                    log.info("Indexed {} {} records", records[0], ledger);
+                }
+                ready = true;
+                log.info("Search index ready in {} ms", (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("Search index rebuild failed; results cover only records written since startup", e);
+                pending.forEach((ledger, ledgerPending) -> apply(ledger, ledgerPending.finish()));
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdownRebuildExecutor() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        if (!pending.get(event.ledger()).defer(event.userId(), event.changes())) {
+            apply(event.userId(), event.ledger(), event.changes());
+        }
+    }
+
+    private void apply(LedgerType ledger, Map<Long, List<LedgerChangedEvent.Change>> changesByUser) {
+        changesByUser.forEach((userId, changes) -> apply(userId, ledger, changes));
+    }
+
+    private void apply(Long userId, LedgerType ledger, List<LedgerChangedEvent.Change> changes) {
+        InvertedIndex index = index(userId, ledger);
+        for (LedgerChangedEvent.Change change : changes) {
+            if (change.id() != null && change.text() != null) {
+                index.add(change.id(), change.text());
+            }
+        }
+    }
+
+    /**
+     * False while the startup rebuild is still running.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ranks the user's records matching every query term across the given ledgers.
+     *
+     * @param prefixLast whether the last term also matches longer terms starting with it
+     */
+    public Ranking search(Long userId, List<String> queryTerms, boolean prefixLast,
+                          Collection<LedgerType> ledgers, int limit) {
+        Map<LedgerType, InvertedIndex> userIndexes = indexes.get(userId);
+        if (userIndexes == null) {
+            return new Ranking(List.of(), 0);
+        }
+        PriorityQueue<ScoredRecord> top = new PriorityQueue<>(limit + 1,
+                (a, b) -> Double.compare(a.score(), b.score()));
+        long total = 0;
+        for (LedgerType ledger : ledgers) {
+            Matches matches = userIndexes.get(ledger).match(queryTerms, prefixLast, searchProperties.getMaxPrefixExpansions());
+            total += matches.size();
+            for (int i = 0; i < matches.size(); i++) {
+                double score = matches.scores()[i];
+                if (top.size() < limit) {
+                    top.add(new ScoredRecord(ledger, matches.ids()[i], score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new ScoredRecord(ledger, matches.ids()[i], score));
+                }
+            }
+        }
+
+        List<ScoredRecord> ranked = new ArrayList<>(top);
+        ranked.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return new Ranking(ranked, total);
+    }
+
+    private InvertedIndex index(Long userId, LedgerType ledger) {
+        return indexes.computeIfAbsent(userId, id -> {
+            Map<LedgerType, InvertedIndex> userIndexes = new EnumMap<>(LedgerType.class);
+            for (LedgerType type : LedgerType.values()) {
+                userIndexes.put(type, new InvertedIndex());
+            }
+            return userIndexes;
+        }).get(ledger);
+    }
+
+    /**
+     * One ledger's changes for owners the startup rebuild has not reached yet. The rebuild
+     * streams owners in ascending order, so everything below the owner it is on is complete.
+     */
+    private static final class PendingChanges {
+
+        private final NavigableMap<Long, List<LedgerChangedEvent.Change>> deferred = new TreeMap<>();
+        private long current = Long.MIN_VALUE;
+        private boolean finished;
+
+        /**
+         * @return false when the owner's index is complete and the changes should be applied now
+         */
+        synchronized boolean defer(Long userId, List<LedgerChangedEvent.Change> changes) {
+            if (finished || userId < current) {
+                return false;
+            }
+            deferred.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(changes);
+            return true;
+        }
+
+        /**
+         * Moves the rebuild on to the owner and hands back what was held for the owners before it.
+         */
+        synchronized Map<Long, List<LedgerChangedEvent.Change>> advanceTo(long userId) {
+            current = userId;
+            NavigableMap<Long, List<LedgerChangedEvent.Change>> passed = deferred.headMap(userId, false);
+            Map<Long, List<LedgerChangedEvent.Change>> released = new TreeMap<>(passed);
+            passed.clear();
+            return released;
+        }
+
+        synchronized Map<Long, List<LedgerChangedEvent.Change>> finish() {
+            finished = true;
+            Map<Long, List<LedgerChangedEvent.Change>> released = new TreeMap<>(deferred);
+            deferred.clear();
+            return released;
+        }
+    }
+
+    /**
+     * The best-scoring records, highest first, and how many records matched in total.
+     */
+    public record Ranking(List<ScoredRecord> top, long total) {
+    }
+}
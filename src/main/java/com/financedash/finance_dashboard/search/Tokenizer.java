@@ -0,0 +1,62 @@
+package com.financedash.finance_dashboard.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits free text into lower-case alphanumeric terms. Terms shorter than
+ * {@link #MIN_TERM_LENGTH} are dropped, longer than {@link #MAX_TERM_LENGTH} truncated.
+ */
+public final class Tokenizer {
+
+    public static final int MIN_TERM_LENGTH = 2;
+    public static final int MAX_TERM_LENGTH = 40;
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TERM_LENGTH) {
+                    current.append(Character.toLowerCase(c));
+                }
+            } else {
+                flush(current, tokens);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    /**
+     * Distinct terms in first-occurrence order.
+     */
+    public static List<String> distinctTokens(String text) {
+        return new ArrayList<>(new LinkedHashSet<>(tokens(text)));
+    }
+
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() >= MIN_TERM_LENGTH) {
+            tokens.add(current.toString());
+        }
+        current.setLength(0);
+    }
+}
@@ -35,7 +35,8 @@ public class SecurityConfigProperties {
             "Origin",
             "Access-Control-Request-Method",
             "Access-Control-Request-Headers",
-            "Refresh-Token"
+            "Refresh-Token",
+            "Idempotency-Key"
     );
 
     // Configuration properties with validation and defaults
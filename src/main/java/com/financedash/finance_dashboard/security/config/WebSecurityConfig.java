@@ -114,7 +114,7 @@ public class WebSecurityConfig {
             style-src 'self' 'unsafe-inline'; 
             img-src 'self' data: https:;
             """.replaceAll("\n", " ").trim();
-        static final String[] EXPOSED_HEADERS = {"Authorization", "Refresh-Token"}; // Exposed headers for CORS
+        static final String[] EXPOSED_HEADERS = {"Authorization", "Refresh-Token", "Idempotent-Replayed"}; // Exposed headers for CORS
         static final String[] PUBLIC_AUTH_PATHS = {"/api/v1/auth/login", "/api/v1/auth/register", "/api/v1/auth/refresh", "/api/v1/auth/logout"}; // Public authentication paths
     }
 }
@@ -0,0 +1,11 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.payload.AdminReportDTO;
+
+public interface AdminReportService {
+
+    /**
+     * Aggregates every ledger across all users along with user counts.
+     */
+    AdminReportDTO getPlatformReport();
+}
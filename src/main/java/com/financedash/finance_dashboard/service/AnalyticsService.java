@@ -0,0 +1,22 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.analytics.TrendGranularity;
+import com.financedash.finance_dashboard.payload.AnalyticsSummaryDTO;
+import com.financedash.finance_dashboard.payload.TrendSeriesDTO;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+
+    /**
+     * Builds bucketed income, expense, investment and net cash flow series for the inclusive range [from, to].
+     *
+     * @param movingAverageWindow number of buckets to average over, or null for no moving averages
+     */
+    TrendSeriesDTO getTrends(LocalDate from, LocalDate to, TrendGranularity granularity, Integer movingAverageWindow);
+
+    /**
+     * Returns the precomputed summary snapshot; never aggregates on the calling thread once warmed up.
+     */
+    AnalyticsSummaryDTO getSummary();
+}
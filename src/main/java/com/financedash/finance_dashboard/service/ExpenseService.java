@@ -1,5 +1,8 @@
 package com.financedash.finance_dashboard.service;
 
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
 import com.financedash.finance_dashboard.payload.ExpenseDTO;
 
 import java.util.List;
@@ -8,5 +11,19 @@ public interface ExpenseService{
 
     ExpenseDTO addExpense(ExpenseDTO expense);
 
-    List<ExpenseDTO> getAllExpenses();
+    /**
+     * Creates every valid expense in one transaction; invalid ones are reported per item and skipped.
+     *
+     * @throws IllegalArgumentException when the batch is empty or exceeds the configured size
+     */
+    BatchResultDTO<ExpenseDTO> addExpenses(List<ExpenseDTO> expenses);
+
+    /**
+     * Returns one page of expenses matching the filter, newest first.
+     *
+     * @param filter category, date, amount and text filters; {@link LedgerFilter#NONE} for all
+     * @param cursor token from the previous page, or null for the first page
+     * @param size   requested page size, or null for the default
+     */
+    CursorPageDTO<ExpenseDTO> getExpenses(LedgerFilter filter, String cursor, Integer size);
 }
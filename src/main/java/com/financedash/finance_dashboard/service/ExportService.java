@@ -0,0 +1,18 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.export.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface ExportService {
+
+    /**
+     * Streams a ledger in (date, id) order; memory use does not grow with the number of rows.
+     *
+     * @param from inclusive start date, or null for no lower bound
+     * @param to   inclusive end date, or null for no upper bound
+     */
+    StreamingResponseBody export(LedgerType ledger, ExportFormat format, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,18 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.ImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+
+    /**
+     * Imports a CSV upload into the current user's ledger, streaming it in committed batches;
+     * invalid rows are skipped and listed in the report.
+     *
+     * @throws IllegalArgumentException when the upload is empty or its header lacks a required column
+     */
+    ImportReportDTO importCsv(LedgerType ledger, InputStream csv) throws IOException;
+}
@@ -1,6 +1,9 @@
 package com.financedash.finance_dashboard.service;
 
 
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
 import com.financedash.finance_dashboard.payload.IncomeDTO;
 
 import java.util.List;
@@ -9,5 +12,19 @@ public interface IncomeService {
 
     IncomeDTO addIncome(IncomeDTO income);
 
-    List<IncomeDTO> getAllIncome();
+    /**
+     * Creates every valid income entry in one transaction; invalid ones are reported per item and skipped.
+     *
+     * @throws IllegalArgumentException when the batch is empty or exceeds the configured size
+     */
+    BatchResultDTO<IncomeDTO> addIncomes(List<IncomeDTO> incomes);
+
+    /**
+     * Returns one page of income entries matching the filter, newest first.
+     *
+     * @param filter source, date, amount and text filters; {@link LedgerFilter#NONE} for all
+     * @param cursor token from the previous page, or null for the first page
+     * @param size   requested page size, or null for the default
+     */
+    CursorPageDTO<IncomeDTO> getIncome(LedgerFilter filter, String cursor, Integer size);
 }
@@ -0,0 +1,21 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.IngestReceiptDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+
+/**
+ * Write-behind ingestion: validated writes are journaled and queued, then persisted in group
+ * commits by a background drainer. Clients poll the returned receipt for the outcome.
+ */
+public interface IngestService {
+
+    IngestReceiptDTO submitExpense(ExpenseDTO expense);
+
+    IngestReceiptDTO submitIncome(IncomeDTO income);
+
+    IngestReceiptDTO submitInvestment(InvestmentDTO investment);
+
+    IngestReceiptDTO getReceipt(long id);
+}
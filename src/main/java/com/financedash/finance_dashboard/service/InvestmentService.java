@@ -1,12 +1,30 @@
 package com.financedash.finance_dashboard.service;
 
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
 import com.financedash.finance_dashboard.payload.InvestmentDTO;
 
 import java.util.List;
 
 public interface InvestmentService {
     InvestmentDTO addInvestment(InvestmentDTO investmentDTO);
-    List<InvestmentDTO> getAllInvestments();
+
+    /**
+     * Creates every valid investment in one transaction; invalid ones are reported per item and skipped.
+     *
+     * @throws IllegalArgumentException when the batch is empty or exceeds the configured size
+     */
+    BatchResultDTO<InvestmentDTO> addInvestments(List<InvestmentDTO> investments);
+
+    /**
+     * Returns one page of investments matching the filter, newest first.
+     *
+     * @param filter type, date, amount and text filters; {@link LedgerFilter#NONE} for all
+     * @param cursor token from the previous page, or null for the first page
+     * @param size   requested page size, or null for the default
+     */
+    CursorPageDTO<InvestmentDTO> getInvestments(LedgerFilter filter, String cursor, Integer size);
 
     InvestmentDTO getInvestmentById(Long id);
 }
@@ -0,0 +1,14 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.payload.SimulationResultDTO;
+
+public interface InvestmentSimulationService {
+
+    /**
+     * Projects the current investments over the given number of years.
+     *
+     * @param paths number of simulated paths, or null for the configured default
+     * @param seed  random seed for reproducible results, or null for a random one
+     */
+    SimulationResultDTO simulate(int years, Integer paths, Long seed);
+}
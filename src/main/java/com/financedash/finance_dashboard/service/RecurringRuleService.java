@@ -0,0 +1,33 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.payload.RecurringRuleDTO;
+import com.financedash.finance_dashboard.payload.RecurringRunReport;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Recurring income, expenses and investments: the current user's rules, and the scheduler that
+ * turns their due occurrences into ledger entries.
+ */
+public interface RecurringRuleService {
+
+    /**
+     * @throws IllegalArgumentException when the entry the rule creates would be invalid
+     */
+    RecurringRuleDTO createRule(RecurringRuleDTO rule);
+
+    List<RecurringRuleDTO> getRules();
+
+    /**
+     * Stops the rule; entries it already created are kept.
+     */
+    void deleteRule(Long id);
+
+    /**
+     * Creates every occurrence, of every user's rules, due on or before the date, catching up on
+     * any missed runs. Safe to run concurrently and to interrupt: each chunk of rules commits
+     * together with the entries it created.
+     */
+    RecurringRunReport materializeDue(LocalDate asOf);
+}
@@ -1,7 +1,20 @@
 package com.financedash.finance_dashboard.service;
 
+import com.financedash.finance_dashboard.payload.CategoryReportDTO;
 import com.financedash.finance_dashboard.payload.ReportDTO;
 
+import java.time.LocalDate;
+
 public interface ReportService {
     ReportDTO getMonthlyReport();
+
+    /**
+     * Breaks down every ledger by category, source or type for the inclusive range [from, to].
+     */
+    CategoryReportDTO getCategoryReport(LocalDate from, LocalDate to);
+
+    /**
+     * Ledger totals and net profit for the inclusive range [from, to].
+     */
+    ReportDTO getRangeReport(LocalDate from, LocalDate to);
 }
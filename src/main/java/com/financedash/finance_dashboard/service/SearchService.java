@@ -0,0 +1,18 @@
+package com.financedash.finance_dashboard.service;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.SearchResultDTO;
+
+import java.util.Set;
+
+public interface SearchService {
+
+    /**
+     * Full-text search over expense notes and income and investment descriptions.
+     *
+     * @param ledgers ledgers to search, or null/empty for all of them
+     * @param limit   maximum number of hits, or null for the configured default
+     * @param prefix  whether the last query term also matches as a prefix
+     */
+    SearchResultDTO search(String query, Set<LedgerType> ledgers, Integer limit, boolean prefix);
+}
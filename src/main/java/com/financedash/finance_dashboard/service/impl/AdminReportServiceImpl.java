@@ -0,0 +1,102 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.analytics.PartitionStats;
+import com.financedash.finance_dashboard.config.ReportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.AdminReportDTO;
+import com.financedash.finance_dashboard.repository.AdminReportQueryRepository;
+import com.financedash.finance_dashboard.service.AdminReportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Splits each ledger's id space into fixed-width partitions and aggregates them
+ * concurrently, then merges the partials. The pool is bounded by the admin report
+ * parallelism, which is also the size of the repository's connection pool.
+ */
+@Service
+@Slf4j
+public class AdminReportServiceImpl implements AdminReportService {
+
+    private final AdminReportQueryRepository queryRepository;
+    private final long partitionSize;
+    private final ExecutorService partitionExecutor;
+
+    public AdminReportServiceImpl(AdminReportQueryRepository queryRepository, ReportProperties reportProperties) {
+        this.queryRepository = queryRepository;
+        this.partitionSize = reportProperties.getAdmin().getPartitionSize();
+        this.partitionExecutor = Executors.newFixedThreadPool(reportProperties.getAdmin().getParallelism(),
+                Thread.ofPlatform().name("admin-report-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdownPartitionExecutor() {
+        partitionExecutor.shutdown();
+    }
+
+    @Override
+    public AdminReportDTO getPlatformReport() {
+        long started = System.nanoTime();
+
+        CompletableFuture<long[]> users = CompletableFuture.supplyAsync(queryRepository::countUsers, partitionExecutor);
+
+        Map<LedgerType, List<CompletableFuture<PartitionStats>>> partials = new EnumMap<>(LedgerType.class);
+        int partitions = 0;
+        for (LedgerType ledger : LedgerType.values()) {
+            List<CompletableFuture<PartitionStats>> futures = new ArrayList<>();
+            long[] bounds = queryRepository.findIdBounds(ledger);
+            if (bounds != null) {
+                for (long fromId = bounds[0]; fromId <= bounds[1]; fromId += partitionSize) {
+                    long start = fromId;
+                    long end = Math.min(fromId + partitionSize, bounds[1] + 1);
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> queryRepository.aggregatePartition(ledger, start, end), partitionExecutor));
+                }
+            }
+            partitions += futures.size();
+            partials.put(ledger, futures);
+        }
+
+        Map<LedgerType, AdminReportDTO.LedgerStats> ledgers = new EnumMap<>(LedgerType.class);
+        for (Map.Entry<LedgerType, List<CompletableFuture<PartitionStats>>> entry : partials.entrySet()) {
+            PartitionStats stats = PartitionStats.EMPTY;
+            for (CompletableFuture<PartitionStats> partial : entry.getValue()) {
+                stats = stats.merge(partial.join());
+            }
+            ledgers.put(entry.getKey(), toLedgerStats(stats));
+        }
+        long[] userCounts = users.join();
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Admin report aggregated {} partitions in {} ms", partitions, elapsedMillis);
+
+        return AdminReportDTO.builder()
+                .generatedAt(Instant.now())
+                .elapsedMillis(elapsedMillis)
+                .partitions(partitions)
+                .registeredUsers(userCounts[0])
+                .enabledUsers(userCounts[1])
+                .activeUsers(userCounts[2])
+                .ledgers(ledgers)
+                .netProfit(ledgers.get(LedgerType.INCOME).getTotal() - ledgers.get(LedgerType.EXPENSE).getTotal())
+                .build();
+    }
+
+    private AdminReportDTO.LedgerStats toLedgerStats(PartitionStats stats) {
+        if (stats.count() == 0) {
+            return new AdminReportDTO.LedgerStats(0, 0.0, 0.0, 0.0, 0.0, 0.0);
+        }
+        return new AdminReportDTO.LedgerStats(stats.count(), stats.sum(), stats.min(), stats.max(),
+                stats.mean(), stats.stddev());
+    }
+}
@@ -0,0 +1,78 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.analytics.SummarySnapshotService;
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.analytics.TrendBucketer;
+import com.financedash.finance_dashboard.analytics.TrendGranularity;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.AnalyticsSummaryDTO;
+import com.financedash.finance_dashboard.payload.TrendSeriesDTO;
+import com.financedash.finance_dashboard.repository.ReportQueryRepository;
+import com.financedash.finance_dashboard.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    // Twenty years of daily buckets
+    private static final long MAX_RANGE_DAYS = 366L * 20;
+
+    private final ReportQueryRepository reportQueryRepository;
+    private final SummarySnapshotService summarySnapshotService;
+    private final CurrentUser currentUser;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TrendSeriesDTO getTrends(LocalDate from, LocalDate to, TrendGranularity granularity, Integer movingAverageWindow) {
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Trend range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (movingAverageWindow != null && movingAverageWindow < 1) {
+            throw new IllegalArgumentException("Moving average window must be at least 1");
+        }
+
+        Long userId = currentUser.id();
+        TrendBucketer bucketer = new TrendBucketer(granularity, from, to);
+        double[] income = fill(userId, bucketer, LedgerType.INCOME, from, to);
+        double[] expense = fill(userId, bucketer, LedgerType.EXPENSE, from, to);
+        double[] investment = fill(userId, bucketer, LedgerType.INVESTMENT, from, to);
+        double[] netCashFlow = TrendBucketer.difference(income, expense, investment);
+
+        TrendSeriesDTO.TrendSeriesDTOBuilder trends = TrendSeriesDTO.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .periods(bucketer.bucketStarts())
+                .income(income)
+                .expense(expense)
+                .investment(investment)
+                .netCashFlow(netCashFlow);
+
+        if (movingAverageWindow != null) {
+            trends.movingAverageWindow(movingAverageWindow)
+                    .incomeMovingAverage(TrendBucketer.movingAverage(income, movingAverageWindow))
+                    .expenseMovingAverage(TrendBucketer.movingAverage(expense, movingAverageWindow))
+                    .investmentMovingAverage(TrendBucketer.movingAverage(investment, movingAverageWindow))
+                    .netCashFlowMovingAverage(TrendBucketer.movingAverage(netCashFlow, movingAverageWindow));
+        }
+        return trends.build();
+    }
+
+    @Override
+    public AnalyticsSummaryDTO getSummary() {
+        return summarySnapshotService.getSummary(currentUser.id());
+    }
+
+    private double[] fill(Long userId, TrendBucketer bucketer, LedgerType ledger, LocalDate from, LocalDate to) {
+        double[] series = bucketer.newSeries();
+        reportQueryRepository.forEachDailyTotal(userId, ledger, from, to.plusDays(1),
+                (epochDay, amount) -> bucketer.add(series, epochDay, amount));
+        return series;
+    }
+}
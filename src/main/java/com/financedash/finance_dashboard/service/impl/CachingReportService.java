@@ -0,0 +1,46 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.ReportCache;
+import com.financedash.finance_dashboard.cache.ReportCacheKey;
+import com.financedash.finance_dashboard.cache.ReportType;
+import com.financedash.finance_dashboard.payload.CategoryReportDTO;
+import com.financedash.finance_dashboard.payload.ReportDTO;
+import com.financedash.finance_dashboard.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Serves reports from {@link ReportCache}, falling back to {@link ReportServiceImpl} on a miss.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class CachingReportService implements ReportService {
+
+    private final ReportServiceImpl delegate;
+    private final ReportCache reportCache;
+    private final CurrentUser currentUser;
+
+    @Override
+    public ReportDTO getMonthlyReport() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        ReportCacheKey key = new ReportCacheKey(currentUser.id(), ReportType.MONTHLY, monthStart, monthStart.plusMonths(1));
+        return reportCache.get(key, ReportDTO.class, delegate::getMonthlyReport);
+    }
+
+    @Override
+    public CategoryReportDTO getCategoryReport(LocalDate from, LocalDate to) {
+        ReportCacheKey key = new ReportCacheKey(currentUser.id(), ReportType.CATEGORY, from, to.plusDays(1));
+        return reportCache.get(key, CategoryReportDTO.class, () -> delegate.getCategoryReport(from, to));
+    }
+
+    @Override
+    public ReportDTO getRangeReport(LocalDate from, LocalDate to) {
+        ReportCacheKey key = new ReportCacheKey(currentUser.id(), ReportType.RANGE, from, to.plusDays(1));
+        return reportCache.get(key, ReportDTO.class, () -> delegate.getRangeReport(from, to));
+    }
+}
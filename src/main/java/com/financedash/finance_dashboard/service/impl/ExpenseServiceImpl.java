@@ -1,15 +1,33 @@
 package com.financedash.finance_dashboard.service.impl;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.LedgerVersions;
 import com.financedash.finance_dashboard.entity.Expense;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.filter.LedgerAttributes;
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.filter.LedgerSpecifications;
+import com.financedash.finance_dashboard.mapper.ExpenseMapper;
+import com.financedash.finance_dashboard.pagination.KeysetCursor;
+import com.financedash.finance_dashboard.pagination.KeysetPager;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
 import com.financedash.finance_dashboard.payload.ExpenseDTO;
 import com.financedash.finance_dashboard.repository.ExpenseRepository;
+import com.financedash.finance_dashboard.repository.LedgerFilterRepository;
+import com.financedash.finance_dashboard.rollup.RollupService;
 import com.financedash.finance_dashboard.service.ExpenseService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class ExpenseServiceImpl implements ExpenseService {
@@ -17,22 +35,73 @@ public class ExpenseServiceImpl implements ExpenseService {
     private ExpenseRepository expenseRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ExpenseMapper expenseMapper;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private LedgerFilterRepository ledgerFilterRepository;
+
+    @Autowired
+    private LedgerVersions ledgerVersions;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private LedgerBatchWriter batchWriter;
 
     @Override
+    @Transactional
     public ExpenseDTO addExpense(ExpenseDTO expenseDTO) {
         // Convert DTO to entity
-        Expense expense = modelMapper.map(expenseDTO, Expense.class);
+        Long userId = currentUser.id();
+        Expense expense = expenseMapper.toEntity(expenseDTO);
+        expense.setUserId(userId);
         Expense savedExpense = expenseRepository.save(expense);
-        return modelMapper.map(savedExpense, ExpenseDTO.class);
+        rollupService.record(userId, LedgerType.EXPENSE, savedExpense.getDate(), savedExpense.getCategory(), savedExpense.getAmount());
+        eventPublisher.publishEvent(LedgerChangedEvent.of(userId, LedgerType.EXPENSE,
+                savedExpense.getId(), savedExpense.getDate(), savedExpense.getAmount(), savedExpense.getNotes()));
+        ledgerVersions.bump(userId, LedgerType.EXPENSE);
+        return expenseMapper.toDto(savedExpense);
+    }
+
+    @Override
+    @Transactional
+    public BatchResultDTO<ExpenseDTO> addExpenses(List<ExpenseDTO> expenses) {
+        // One transaction, one insert statement and one change event for the whole batch
+        return batchWriter.create(currentUser.id(), LedgerType.EXPENSE, expenses, ImportRow::of, ExpenseDTO::setId);
     }
 
-    // Get all expenses
+    // Get one page of expenses, newest first
     @Override
-    public List<ExpenseDTO> getAllExpenses() {
-        List<Expense> expenses = expenseRepository.findAll();
-        return expenses.stream()
-                .map(expense -> modelMapper.map(expense, ExpenseDTO.class))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> getExpenses(LedgerFilter filter, String cursor, Integer size) {
+        Long userId = currentUser.id();
+        int pageSize = keysetPager.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // Read-only transaction plus constructor-expression DTOs: no managed entities, no dirty-checking snapshots
+        List<ExpenseDTO> expenses;
+        if (filter.isEmpty()) {
+            expenses = after == null
+                    ? expenseRepository.findFirstPage(userId, Limit.of(pageSize + 1))
+                    : expenseRepository.findPageAfter(userId, after.date(), after.id(), Limit.of(pageSize + 1));
+        } else {
+            LedgerAttributes<Expense, ExpenseDTO> attributes = LedgerAttributes.expense();
+            expenses = ledgerFilterRepository.findPage(attributes, Specification.allOf(
+                    LedgerSpecifications.ownedBy(attributes, userId),
+                    LedgerSpecifications.matching(filter, attributes),
+                    LedgerSpecifications.after(attributes, after)), pageSize + 1);
+        }
+        return keysetPager.toPage(expenses, pageSize,
+                dto -> new KeysetCursor(dto.getDate(), dto.getId()),
+                Function.identity());
     }
 }
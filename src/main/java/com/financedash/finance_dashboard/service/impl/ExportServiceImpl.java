@@ -0,0 +1,120 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.ExportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.exception.CapacityExceededException;
+import com.financedash.finance_dashboard.export.CsvRowWriter;
+import com.financedash.finance_dashboard.export.ExportFormat;
+import com.financedash.finance_dashboard.export.ExportRowWriter;
+import com.financedash.finance_dashboard.export.NdjsonRowWriter;
+import com.financedash.finance_dashboard.repository.LedgerExportRepository;
+import com.financedash.finance_dashboard.service.ExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private final LedgerExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CurrentUser currentUser;
+    private final Semaphore running;
+
+    public ExportServiceImpl(LedgerExportRepository exportRepository, ObjectMapper objectMapper,
+                             ExportProperties exportProperties, PlatformTransactionManager transactionManager,
+                             CurrentUser currentUser) {
+        this.exportRepository = exportRepository;
+        this.currentUser = currentUser;
+        this.objectMapper = objectMapper;
+        this.exportProperties = exportProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        this.running = new Semaphore(exportProperties.getMaxConcurrent());
+    }
+
+    @Override
+    public StreamingResponseBody export(LedgerType ledger, ExportFormat format, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Export start date must not be after end date");
+        }
+        // Resolved here: the body runs on the MVC async executor after the handler returned, without the security context
+        Long userId = currentUser.id();
+        // Taken before the response starts so a refusal can still be a 503; released when the stream ends
+        if (!running.tryAcquire()) {
+            throw new CapacityExceededException("Too many exports running, retry later", exportProperties.getRetryAfter());
+        }
+        Permit permit = new Permit();
+        // The body may never run: the client can leave or the request time out before it is dispatched, or the
+        // executor can reject it. The end of async processing releases the permit on every one of those paths
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(Permit.class, permit);
+        }
+        return responseBody -> {
+            try {
+                stream(userId, ledger, format, from, to, responseBody);
+            } finally {
+                permit.release();
+            }
+        };
+    }
+
+    private void stream(Long userId, LedgerType ledger, ExportFormat format, LocalDate from, LocalDate to,
+                        OutputStream responseBody) throws IOException {
+        OutputStream out = new BufferedOutputStream(responseBody, exportProperties.getBufferSize());
+        ExportRowWriter writer = switch (format) {
+            case NDJSON -> new NdjsonRowWriter(objectMapper.getFactory(), out);
+            case CSV -> new CsvRowWriter(out);
+        };
+        long started = System.nanoTime();
+        long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> exportRepository.writeRows(userId, ledger, from, to, writer));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; unwrap so the container sees the I/O failure
+            throw e.getCause();
+        }
+        writer.finish();
+        out.flush();
+        log.info("Exported {} {} rows as {} in {} ms", rows, ledger, format,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // One export's slot; whichever of the stream's end and the async completion comes first returns it
+    private class Permit implements CallableProcessingInterceptor {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                running.release();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            release();
+        }
+    }
+}
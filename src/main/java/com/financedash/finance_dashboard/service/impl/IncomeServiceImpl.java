@@ -1,15 +1,33 @@
 package com.financedash.finance_dashboard.service.impl;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.LedgerVersions;
 import com.financedash.finance_dashboard.entity.Income;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.filter.LedgerAttributes;
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.filter.LedgerSpecifications;
+import com.financedash.finance_dashboard.mapper.IncomeMapper;
+import com.financedash.finance_dashboard.pagination.KeysetCursor;
+import com.financedash.finance_dashboard.pagination.KeysetPager;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
 import com.financedash.finance_dashboard.payload.IncomeDTO;
 import com.financedash.finance_dashboard.repository.IncomeRepository;
+import com.financedash.finance_dashboard.repository.LedgerFilterRepository;
+import com.financedash.finance_dashboard.rollup.RollupService;
 import com.financedash.finance_dashboard.service.IncomeService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class IncomeServiceImpl implements IncomeService {
@@ -18,22 +36,73 @@ public class IncomeServiceImpl implements IncomeService {
     private IncomeRepository incomeRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private IncomeMapper incomeMapper;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private LedgerFilterRepository ledgerFilterRepository;
+
+    @Autowired
+    private LedgerVersions ledgerVersions;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private LedgerBatchWriter batchWriter;
 
     // Add income
+    @Transactional
     public IncomeDTO addIncome(IncomeDTO incomeDTO) {
         // Convert DTO to entity
-        Income income = modelMapper.map(incomeDTO, Income.class);
+        Long userId = currentUser.id();
+        Income income = incomeMapper.toEntity(incomeDTO);
+        income.setUserId(userId);
         Income savedIncome = incomeRepository.save(income);
+        rollupService.record(userId, LedgerType.INCOME, savedIncome.getDate(), savedIncome.getSource(), savedIncome.getAmount());
+        eventPublisher.publishEvent(LedgerChangedEvent.of(userId, LedgerType.INCOME,
+                savedIncome.getId(), savedIncome.getDate(), savedIncome.getAmount(), savedIncome.getDescription()));
+        ledgerVersions.bump(userId, LedgerType.INCOME);
         // Convert entity back to DTO for response
-        return modelMapper.map(savedIncome, IncomeDTO.class);
+        return incomeMapper.toDto(savedIncome);
+    }
+
+    @Override
+    @Transactional
+    public BatchResultDTO<IncomeDTO> addIncomes(List<IncomeDTO> incomes) {
+        // One transaction, one insert statement and one change event for the whole batch
+        return batchWriter.create(currentUser.id(), LedgerType.INCOME, incomes, ImportRow::of, IncomeDTO::setId);
     }
 
-    // Get all incomes
-    public List<IncomeDTO> getAllIncome() {
-        List<Income> incomes = incomeRepository.findAll();
-        return incomes.stream()
-                .map(income -> modelMapper.map(income, IncomeDTO.class))
-                .collect(Collectors.toList());
+    // Get one page of incomes, newest first
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> getIncome(LedgerFilter filter, String cursor, Integer size) {
+        Long userId = currentUser.id();
+        int pageSize = keysetPager.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // Read-only transaction plus constructor-expression DTOs: no managed entities, no dirty-checking snapshots
+        List<IncomeDTO> incomes;
+        if (filter.isEmpty()) {
+            incomes = after == null
+                    ? incomeRepository.findFirstPage(userId, Limit.of(pageSize + 1))
+                    : incomeRepository.findPageAfter(userId, after.date(), after.id(), Limit.of(pageSize + 1));
+        } else {
+            LedgerAttributes<Income, IncomeDTO> attributes = LedgerAttributes.income();
+            incomes = ledgerFilterRepository.findPage(attributes, Specification.allOf(
+                    LedgerSpecifications.ownedBy(attributes, userId),
+                    LedgerSpecifications.matching(filter, attributes),
+                    LedgerSpecifications.after(attributes, after)), pageSize + 1);
+        }
+        return keysetPager.toPage(incomes, pageSize,
+                dto -> new KeysetCursor(dto.getDate(), dto.getId()),
+                Function.identity());
     }
 }
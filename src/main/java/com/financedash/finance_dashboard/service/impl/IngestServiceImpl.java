@@ -0,0 +1,494 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.IngestProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.exception.IngestBackpressureException;
+import com.financedash.finance_dashboard.exception.ResourceNotFoundException;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.ingest.IngestCheckpoint;
+import com.financedash.finance_dashboard.ingest.IngestCheckpointRepository;
+import com.financedash.finance_dashboard.ingest.IngestJournal;
+import com.financedash.finance_dashboard.ingest.PendingWrite;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.IngestReceiptDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import com.financedash.finance_dashboard.service.IngestService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Write-behind ingestion with group commit.
+ * <p>
+ * A submission is validated, appended to the local journal and queued under one lock, so queue
+ * order is journal order; it is acknowledged once the journal is forced to disk. A single
+ * drainer thread takes up to {@code max-batch} queued writes, waiting at most {@code max-delay}
+ * after the first, and commits them in one transaction through {@link LedgerBatchWriter}
+ * together with this instance's {@link IngestCheckpoint}. On startup, journaled writes past the
+ * checkpoint are queued again, so a crash loses no acknowledged write and stores none twice.
+ * The journal and checkpoint belong to one instance, named by {@code instance-id} or, when that
+ * is blank, by the host name.
+ * <p>
+ * At most {@code queue-capacity} writes wait at a time; beyond that, submissions are refused
+ * with a Retry-After rather than growing the heap and the replay.
+ */
+@Service
+@ConditionalOnProperty(prefix = "finance.ingest", name = "enabled", havingValue = "true")
+@Slf4j
+public class IngestServiceImpl implements IngestService {
+
+    private static final Duration IDLE_POLL = Duration.ofMillis(200);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final LedgerBatchWriter batchWriter;
+    private final IngestCheckpointRepository checkpointRepository;
+    private final CurrentUser currentUser;
+    private final IngestProperties properties;
+    private final TransactionTemplate groupTransaction;
+    private final String instanceId;
+    private final IngestJournal journal;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    // Free queue slots; negative after a replay of more writes than the configured capacity
+    private final Semaphore capacity;
+    private final Cache<Long, Receipt> receipts;
+    // Serializes sequence assignment, journal appends and enqueueing, so queue order is journal order
+    private final Object acceptLock = new Object();
+    private long lastSequence;
+
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    private final Timer commitTimer;
+    private final DistributionSummary groupSize;
+    private final Timer lagTimer;
+    private final Counter refusedCounter;
+
+    public IngestServiceImpl(LedgerBatchWriter batchWriter, IngestCheckpointRepository checkpointRepository,
+                             CurrentUser currentUser, IngestProperties properties, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.batchWriter = batchWriter;
+        this.checkpointRepository = checkpointRepository;
+        this.currentUser = currentUser;
+        this.properties = properties;
+        this.groupTransaction = new TransactionTemplate(transactionManager);
+        this.receipts = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReceiptRetention())
+                .maximumSize(properties.getMaxReceipts())
+                .build();
+
+        this.instanceId = instanceId(properties);
+        Path directory = properties.getJournalDirectory();
+        List<PendingWrite> journaled;
+        long checkpoint = checkpointRepository.findById(instanceId)
+                .map(IngestCheckpoint::getLastSequence)
+                .orElse(0L);
+        try {
+            Files.createDirectories(directory);
+            this.journal = new IngestJournal(directory, instanceId, properties.getJournalSegmentSize().toBytes(),
+                    objectMapper);
+            journaled = journal.readAll();
+            journal.release(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the ingest journal in " + directory.toAbsolutePath(), e);
+        }
+
+        this.lastSequence = journaled.isEmpty() ? checkpoint : Math.max(checkpoint, journaled.getLast().sequence());
+        Instant now = Instant.now();
+        int replayed = 0;
+        for (PendingWrite write : journaled) {
+            if (write.sequence() > checkpoint) {
+                receipts.put(write.sequence(), new Receipt(write, now));
+                queue.add(write);
+                replayed++;
+            }
+        }
+        if (replayed > 0) {
+            log.info("Replaying {} journaled writes of instance {} past checkpoint {}", replayed, instanceId, checkpoint);
+        }
+        this.capacity = new Semaphore(properties.getQueueCapacity() - replayed);
+        this.drainer = Thread.ofPlatform().name("ingest-drainer").daemon().unstarted(this::drain);
+
+        this.commitTimer = Timer.builder("finance.ingest.commit")
+                .description("Time spent committing one group of queued writes")
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("finance.ingest.commit.size")
+                .description("Writes persisted per group commit")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("finance.ingest.lag")
+                .description("Time from accepting a write to committing it")
+                .register(meterRegistry);
+        this.refusedCounter = Counter.builder("finance.ingest.refused")
+                .description("Submissions refused because the write-behind queue was full")
+                .register(meterRegistry);
+        Gauge.builder("finance.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Accepted writes waiting to be persisted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Two instances with the same id would advance one checkpoint and skip each other's journaled
+     * writes on replay, so there is no shared default: without a configured id the host name is
+     * used, and startup fails when neither is available.
+     */
+    private static String instanceId(IngestProperties properties) {
+        String configured = properties.getInstanceId();
+        String id = configured;
+        if (id == null || id.isBlank()) {
+            try {
+                id = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("finance.ingest.instance-id is not set and the host name is unknown", e);
+            }
+        }
+        // The id also names the journal files
+        id = id.strip().replaceAll("[^A-Za-z0-9._-]", "_");
+        if (id.isEmpty()) {
+            throw new IllegalStateException("finance.ingest.instance-id is not set and the host name is empty");
+        }
+        if (configured == null || configured.isBlank()) {
+            log.info("finance.ingest.instance-id is not set; using the host name {}", id);
+        }
+        return id;
+    }
+
+    @PostConstruct
+    void startDrainer() {
+        drainer.start();
+    }
+
+    /**
+     * Stops accepting writes, persists what is queued and closes the journal. Writes that still
+     * cannot be committed stay journaled for the next start.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException, IOException {
+        running = false;
+        drainer.join();
+        journal.close();
+    }
+
+    @Override
+    public IngestReceiptDTO submitExpense(ExpenseDTO expense) {
+        return submit(LedgerType.EXPENSE, expense, ImportRow::of);
+    }
+
+    @Override
+    public IngestReceiptDTO submitIncome(IncomeDTO income) {
+        return submit(LedgerType.INCOME, income, ImportRow::of);
+    }
+
+    @Override
+    public IngestReceiptDTO submitInvestment(InvestmentDTO investment) {
+        return submit(LedgerType.INVESTMENT, investment, ImportRow::of);
+    }
+
+    @Override
+    public IngestReceiptDTO getReceipt(long id) {
+        Receipt receipt = receipts.getIfPresent(id);
+        // Other users' receipts look exactly like expired ones
+        if (receipt == null || !receipt.userId.equals(currentUser.id())) {
+            throw new ResourceNotFoundException("Receipt not found with id: " + id);
+        }
+        return receipt.toDto();
+    }
+
+    private <D> IngestReceiptDTO submit(LedgerType ledger, D entry, Function<D, ImportRow> toRow) {
+        List<String> errors = batchWriter.validate(ledger, entry, toRow);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        Long userId = currentUser.id();
+        if (!running || !capacity.tryAcquire()) {
+            refusedCounter.increment();
+            throw new IngestBackpressureException("Ingestion queue is full, retry later", properties.getRetryAfter());
+        }
+
+        Receipt receipt;
+        try {
+            synchronized (acceptLock) {
+                PendingWrite write = new PendingWrite(lastSequence + 1, userId, ledger, toRow.apply(entry));
+                journal.append(write);
+                lastSequence = write.sequence();
+                receipt = new Receipt(write, Instant.now());
+                receipts.put(write.sequence(), receipt);
+                queue.add(write);
+            }
+        } catch (IOException e) {
+            capacity.release();
+            throw new UncheckedIOException("Cannot append to the ingest journal", e);
+        }
+        try {
+            journal.sync(receipt.id);
+        } catch (IOException e) {
+            // The write is queued and the drainer persists it either way; failing the request would
+            // make the client resubmit it. Only a crash before the commit can still lose it
+            log.warn("Cannot force the ingest journal to disk; write {} is not yet durable", receipt.id, e);
+            receipt.notDurable();
+        }
+        return receipt.toDto();
+    }
+
+    private void drain() {
+        int maxBatch = properties.getMaxBatch();
+        long maxDelayNanos = properties.getMaxDelay().toNanos();
+        List<PendingWrite> group = new ArrayList<>(maxBatch);
+        try {
+            while (running || !queue.isEmpty()) {
+                group.clear();
+                PendingWrite first = queue.poll(IDLE_POLL.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (group.size() < maxBatch) {
+                    if (queue.drainTo(group, maxBatch - group.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                boolean handled;
+                try {
+                    handled = persist(group);
+                } catch (RuntimeException e) {
+                    // Only bookkeeping after the writes were committed or rejected gets here; a dead
+                    // drainer would keep their queue slots and refuse every later submission
+                    log.error("Ingest drainer failed after handling {} writes up to {}",
+                            group.size(), group.getLast().sequence(), e);
+                    handled = true;
+                }
+                if (!handled) {
+                    return;
+                }
+                released(group);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Commits a group, retrying while the database is unreachable; when the database refuses
+     * it, commits or rejects its writes one at a time.
+     *
+     * @return false when shutting down with the group still uncommitted
+     */
+    private boolean persist(List<PendingWrite> group) throws InterruptedException {
+        Duration backoff = IDLE_POLL;
+        long[] ids;
+        long started;
+        while (true) {
+            try {
+                started = System.nanoTime();
+                ids = groupTransaction.execute(status -> insert(group));
+                break;
+            } catch (TransientDataAccessException | RecoverableDataAccessException | CannotCreateTransactionException e) {
+                if (!running) {
+                    log.error("Shutting down with {} writes uncommitted; they stay journaled for the next start",
+                            group.size() + queue.size(), e);
+                    return false;
+                }
+                log.warn("Group commit of {} writes failed, retrying in {} ms", group.size(), backoff.toMillis(), e);
+                backoff = backOff(backoff);
+            } catch (RuntimeException e) {
+                log.warn("Group commit of {} writes failed, committing them one at a time", group.size(), e);
+                for (PendingWrite write : group) {
+                    if (!persistAlone(write)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        commitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        groupSize.record(group.size());
+        Instant now = Instant.now();
+        for (int i = 0; i < group.size(); i++) {
+            completed(group.get(i).sequence(), now, ids[i], null);
+        }
+        return true;
+    }
+
+    /**
+     * Isolates the writes the database refuses so they do not hold back the rest of their group.
+     * Only constraint and data errors, and failures outside the database, reject a write; any
+     * other database failure may pass, so the write is retried like a group.
+     *
+     * @return false when shutting down with the write still uncommitted
+     */
+    private boolean persistAlone(PendingWrite write) throws InterruptedException {
+        Duration backoff = IDLE_POLL;
+        long[] ids;
+        while (true) {
+            try {
+                ids = groupTransaction.execute(status -> insert(List.of(write)));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                rejected(write, e.getMostSpecificCause().getMessage());
+                return true;
+            } catch (DataAccessException | TransactionException e) {
+                if (!running) {
+                    log.error("Shutting down with write {} uncommitted; it stays journaled for the next start",
+                            write.sequence(), e);
+                    return false;
+                }
+                log.warn("Write {} failed, retrying in {} ms", write.sequence(), backoff.toMillis(), e);
+                backoff = backOff(backoff);
+            } catch (RuntimeException e) {
+                log.error("Write {} failed outside the database", write.sequence(), e);
+                rejected(write, e.toString());
+                return true;
+            }
+        }
+        completed(write.sequence(), Instant.now(), ids[0], null);
+        return true;
+    }
+
+    private void rejected(PendingWrite write, String error) {
+        log.warn("Write {} was rejected: {}", write.sequence(), error);
+        try {
+            groupTransaction.executeWithoutResult(status -> checkpointRepository.advance(instanceId, write.sequence()));
+        } catch (DataAccessException advanceFailure) {
+            // Covered by the checkpoint of the next committed write; only a restart before that retries it
+            log.warn("Could not move the ingest checkpoint past write {}", write.sequence(), advanceFailure);
+        }
+        completed(write.sequence(), Instant.now(), null, error);
+    }
+
+    private static Duration backOff(Duration backoff) throws InterruptedException {
+        Thread.sleep(backoff.toMillis());
+        Duration next = backoff.multipliedBy(2);
+        return next.compareTo(MAX_RETRY_BACKOFF) > 0 ? MAX_RETRY_BACKOFF : next;
+    }
+
+    /**
+     * Inserts a group one ledger at a time and advances the checkpoint; runs in one transaction.
+     *
+     * @return the generated ids, in group order
+     */
+    private long[] insert(List<PendingWrite> group) {
+        Map<LedgerType, List<Integer>> positions = new EnumMap<>(LedgerType.class);
+        for (int i = 0; i < group.size(); i++) {
+            positions.computeIfAbsent(group.get(i).ledger(), ledger -> new ArrayList<>()).add(i);
+        }
+
+        long[] ids = new long[group.size()];
+        positions.forEach((ledger, indexes) -> {
+            List<ImportRow> rows = indexes.stream().map(i -> group.get(i).row()).toList();
+            long[] userIds = indexes.stream().mapToLong(i -> group.get(i).userId()).toArray();
+            long[] inserted = batchWriter.insert(ledger, userIds, rows);
+            for (int i = 0; i < indexes.size(); i++) {
+                ids[indexes.get(i)] = inserted[i];
+            }
+        });
+        checkpointRepository.advance(instanceId, group.getLast().sequence());
+        return ids;
+    }
+
+    private void completed(long sequence, Instant now, Long entryId, String error) {
+        Receipt receipt = receipts.getIfPresent(sequence);
+        if (receipt != null) {
+            receipt.complete(entryId, error, now);
+            lagTimer.record(Duration.between(receipt.acceptedAt, now));
+        }
+    }
+
+    // Groups are handled in sequence order, so every write up to the group's last one is done
+    private void released(List<PendingWrite> group) {
+        capacity.release(group.size());
+        try {
+            journal.release(group.getLast().sequence());
+        } catch (IOException e) {
+            // Harmless: a replay skips everything up to the checkpoint
+            log.warn("Could not release the ingest journal up to write {}", group.getLast().sequence(), e);
+        }
+    }
+
+    private static final class Receipt {
+
+        private final long id;
+        private final Long userId;
+        private final LedgerType ledger;
+        private final Instant acceptedAt;
+        private IngestReceiptDTO.Status status = IngestReceiptDTO.Status.QUEUED;
+        private Long entryId;
+        private Instant completedAt;
+        private String error;
+
+        private Receipt(PendingWrite write, Instant acceptedAt) {
+            this.id = write.sequence();
+            this.userId = write.userId();
+            this.ledger = write.ledger();
+            this.acceptedAt = acceptedAt;
+        }
+
+        private synchronized void notDurable() {
+            if (status == IngestReceiptDTO.Status.QUEUED) {
+                status = IngestReceiptDTO.Status.BUFFERED;
+            }
+        }
+
+        private synchronized void complete(Long entryId, String error, Instant completedAt) {
+            this.status = error == null ? IngestReceiptDTO.Status.PERSISTED : IngestReceiptDTO.Status.REJECTED;
+            this.entryId = entryId;
+            this.error = error;
+            this.completedAt = completedAt;
+        }
+
+        private synchronized IngestReceiptDTO toDto() {
+            return IngestReceiptDTO.builder()
+                    .id(id)
+                    .ledger(ledger)
+                    .status(status)
+                    .entryId(entryId)
+                    .acceptedAt(acceptedAt)
+                    .completedAt(completedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
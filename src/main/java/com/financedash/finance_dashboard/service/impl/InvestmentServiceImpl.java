@@ -1,50 +1,116 @@
 package com.financedash.finance_dashboard.service.impl;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.cache.LedgerVersions;
 import com.financedash.finance_dashboard.entity.Investment;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.filter.LedgerAttributes;
+import com.financedash.finance_dashboard.filter.LedgerFilter;
+import com.financedash.finance_dashboard.filter.LedgerSpecifications;
+import com.financedash.finance_dashboard.mapper.InvestmentMapper;
+import com.financedash.finance_dashboard.pagination.KeysetCursor;
+import com.financedash.finance_dashboard.pagination.KeysetPager;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
 import com.financedash.finance_dashboard.payload.InvestmentDTO;
 import com.financedash.finance_dashboard.repository.InvestmentRepository;
+import com.financedash.finance_dashboard.repository.LedgerFilterRepository;
+import com.financedash.finance_dashboard.rollup.RollupService;
 import com.financedash.finance_dashboard.service.InvestmentService;
 import com.financedash.finance_dashboard.exception.ResourceNotFoundException;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public  class InvestmentServiceImpl implements InvestmentService {
 
     private final InvestmentRepository investmentRepository;
-    private final ModelMapper modelMapper;
+    private final InvestmentMapper investmentMapper;
+    private final RollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPager keysetPager;
+    private final LedgerFilterRepository ledgerFilterRepository;
+    private final LedgerVersions ledgerVersions;
+    private final CurrentUser currentUser;
+    private final LedgerBatchWriter batchWriter;
 
     @Autowired
-    public InvestmentServiceImpl(InvestmentRepository investmentRepository, ModelMapper modelMapper) {
+    public InvestmentServiceImpl(InvestmentRepository investmentRepository, InvestmentMapper investmentMapper,
+                                 RollupService rollupService, ApplicationEventPublisher eventPublisher,
+                                 KeysetPager keysetPager, LedgerFilterRepository ledgerFilterRepository,
+                                 LedgerVersions ledgerVersions, CurrentUser currentUser,
+                                 LedgerBatchWriter batchWriter) {
         this.investmentRepository = investmentRepository;
-        this.modelMapper = modelMapper;
+        this.investmentMapper = investmentMapper;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.keysetPager = keysetPager;
+        this.ledgerFilterRepository = ledgerFilterRepository;
+        this.ledgerVersions = ledgerVersions;
+        this.currentUser = currentUser;
+        this.batchWriter = batchWriter;
     }
 
     @Override
+    @Transactional
     public InvestmentDTO addInvestment(InvestmentDTO investmentDTO) {
-        Investment investment = modelMapper.map(investmentDTO, Investment.class);
+        Long userId = currentUser.id();
+        Investment investment = investmentMapper.toEntity(investmentDTO);
+        investment.setUserId(userId);
         Investment saved = investmentRepository.save(investment);
-        return modelMapper.map(saved, InvestmentDTO.class);
+        rollupService.record(userId, LedgerType.INVESTMENT, saved.getInvestmentDate(), saved.getType(), saved.getAmount());
+        eventPublisher.publishEvent(LedgerChangedEvent.of(userId, LedgerType.INVESTMENT,
+                saved.getId(), saved.getInvestmentDate(), saved.getAmount(), saved.getDescription()));
+        ledgerVersions.bump(userId, LedgerType.INVESTMENT);
+        return investmentMapper.toDto(saved);
     }
 
     @Override
-    public List<InvestmentDTO> getAllInvestments() {
-        return investmentRepository.findAll()
-                .stream()
-                .map(investment -> modelMapper.map(investment, InvestmentDTO.class))
-                .collect(Collectors.toList());
+    @Transactional
+    public BatchResultDTO<InvestmentDTO> addInvestments(List<InvestmentDTO> investments) {
+        // One transaction, one insert statement and one change event for the whole batch
+        return batchWriter.create(currentUser.id(), LedgerType.INVESTMENT, investments, ImportRow::of, InvestmentDTO::setId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<InvestmentDTO> getInvestments(LedgerFilter filter, String cursor, Integer size) {
+        Long userId = currentUser.id();
+        int pageSize = keysetPager.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // Read-only transaction plus constructor-expression DTOs: no managed entities, no dirty-checking snapshots
+        List<InvestmentDTO> investments;
+        if (filter.isEmpty()) {
+            investments = after == null
+                    ? investmentRepository.findFirstPage(userId, Limit.of(pageSize + 1))
+                    : investmentRepository.findPageAfter(userId, after.date(), after.id(), Limit.of(pageSize + 1));
+        } else {
+            LedgerAttributes<Investment, InvestmentDTO> attributes = LedgerAttributes.investment();
+            investments = ledgerFilterRepository.findPage(attributes, Specification.allOf(
+                    LedgerSpecifications.ownedBy(attributes, userId),
+                    LedgerSpecifications.matching(filter, attributes),
+                    LedgerSpecifications.after(attributes, after)), pageSize + 1);
+        }
+        return keysetPager.toPage(investments, pageSize,
+                dto -> new KeysetCursor(dto.getInvestmentDate(), dto.getId()),
+                Function.identity());
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public InvestmentDTO getInvestmentById(Long id) {
-        Investment investment = investmentRepository.findById(id)
+        return investmentRepository.findDtoByIdAndUserId(id, currentUser.id())
                 .orElseThrow(() -> new ResourceNotFoundException("Investment not found with id: " + id));
-        return modelMapper.map(investment, InvestmentDTO.class);
     }
 }
\ No newline at end of file
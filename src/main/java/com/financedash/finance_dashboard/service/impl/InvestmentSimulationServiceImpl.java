@@ -0,0 +1,100 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.SimulationProperties;
+import com.financedash.finance_dashboard.exception.CapacityExceededException;
+import com.financedash.finance_dashboard.payload.SimulationResultDTO;
+import com.financedash.finance_dashboard.repository.InvestmentRepository;
+import com.financedash.finance_dashboard.service.InvestmentSimulationService;
+import com.financedash.finance_dashboard.simulation.MonteCarloEngine;
+import com.financedash.finance_dashboard.simulation.PortfolioPosition;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@Slf4j
+public class InvestmentSimulationServiceImpl implements InvestmentSimulationService {
+
+    private static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+
+    private final InvestmentRepository investmentRepository;
+    private final SimulationProperties simulationProperties;
+    private final CurrentUser currentUser;
+    private final Semaphore running;
+    private final ForkJoinPool simulationPool;
+
+    public InvestmentSimulationServiceImpl(InvestmentRepository investmentRepository,
+                                           SimulationProperties simulationProperties, CurrentUser currentUser) {
+        this.investmentRepository = investmentRepository;
+        this.simulationProperties = simulationProperties;
+        this.currentUser = currentUser;
+        this.running = new Semaphore(simulationProperties.getMaxConcurrent());
+        this.simulationPool = new ForkJoinPool(simulationProperties.getParallelism());
+    }
+
+    @PreDestroy
+    void shutdownSimulationPool() {
+        simulationPool.shutdown();
+    }
+
+    @Override
+    public SimulationResultDTO simulate(int years, Integer paths, Long seed) {
+        if (years < 1 || years > simulationProperties.getMaxYears()) {
+            throw new IllegalArgumentException("Years must be between 1 and " + simulationProperties.getMaxYears());
+        }
+        int pathCount = paths != null ? paths : simulationProperties.getDefaultPaths();
+        if (pathCount < 1 || pathCount > simulationProperties.getMaxPaths()) {
+            throw new IllegalArgumentException("Paths must be between 1 and " + simulationProperties.getMaxPaths());
+        }
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+
+        List<PortfolioPosition> portfolio = investmentRepository.getPortfolioPositions(currentUser.id());
+        int count = portfolio.size();
+        double[] initial = new double[count];
+        double[] meanReturn = new double[count];
+        double[] volatility = new double[count];
+        List<SimulationResultDTO.Position> positions = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            PortfolioPosition position = portfolio.get(p);
+            initial[p] = position.amount() != null ? position.amount() : 0.0;
+            meanReturn[p] = position.meanReturn();
+            volatility[p] = simulationProperties.volatilityFor(position.type());
+            positions.add(new SimulationResultDTO.Position(position.type(), initial[p], meanReturn[p], volatility[p]));
+        }
+
+        if (!running.tryAcquire()) {
+            throw new CapacityExceededException("Too many simulations running, retry later",
+                    simulationProperties.getRetryAfter());
+        }
+        MonteCarloEngine.Projection projection;
+        long started = System.nanoTime();
+        try {
+            projection = MonteCarloEngine.project(initial, meanReturn, volatility, years, pathCount, effectiveSeed,
+                    PERCENTILES, simulationPool);
+        } finally {
+            running.release();
+        }
+
+        log.info("Simulated {} paths over {} years for {} positions in {} ms",
+                pathCount, years, count, (System.nanoTime() - started) / 1_000_000);
+
+        return SimulationResultDTO.builder()
+                .years(years)
+                .paths(pathCount)
+                .seed(effectiveSeed)
+                .startValue(projection.startValue())
+                .expectedFinalValue(projection.expectedFinalValue())
+                .probabilityOfLoss(projection.probabilityOfLoss())
+                .positions(positions)
+                .percentiles(PERCENTILES.clone())
+                .bands(projection.bands())
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.cache.LedgerVersions;
+import com.financedash.finance_dashboard.config.ImportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.payload.BatchResultDTO;
+import com.financedash.finance_dashboard.repository.LedgerImportRepository;
+import com.financedash.finance_dashboard.rollup.LedgerEntry;
+import com.financedash.finance_dashboard.rollup.RollupService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Persists many entries of one ledger at once for CSV imports, batch creates, write-behind
+ * group commits and recurring rules: one insert statement and one rollup statement per call,
+ * and one change event and one version bump per user instead of per entry. Callers provide the
+ * transaction.
+ */
+@Component
+@RequiredArgsConstructor
+class LedgerBatchWriter {
+
+    private final LedgerImportRepository importRepository;
+    private final RollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerVersions ledgerVersions;
+    private final Validator validator;
+    private final ImportProperties importProperties;
+
+    /**
+     * Inserts already validated rows with their derived state.
+     *
+     * @return the generated ids, in row order
+     */
+    long[] insert(Long userId, LedgerType ledger, List<ImportRow> rows) {
+        long[] userIds = new long[rows.size()];
+        Arrays.fill(userIds, userId);
+        return insert(ledger, userIds, rows, true);
+    }
+
+    /**
+     * {@link #insert(Long, LedgerType, List)} with the daily prefix sums parked in the same
+     * transaction; the caller adds them later through
+     * {@link com.financedash.finance_dashboard.rollup.PrefixSumService#applyDeferred}.
+     *
+     * @return the generated ids, in row order
+     */
+    long[] insertDeferred(Long userId, LedgerType ledger, List<ImportRow> rows) {
+        long[] userIds = new long[rows.size()];
+        Arrays.fill(userIds, userId);
+        return insert(ledger, userIds, rows, false);
+    }
+
+    /**
+     * Inserts already validated rows of several users with their derived state; each user gets
+     * one change event and one version bump.
+     *
+     * @param userIds owner of each row, in row order
+     * @return the generated ids, in row order
+     */
+    long[] insert(LedgerType ledger, long[] userIds, List<ImportRow> rows) {
+        return insert(ledger, userIds, rows, true);
+    }
+
+    private long[] insert(LedgerType ledger, long[] userIds, List<ImportRow> rows, boolean prefixSums) {
+        long[] ids = importRepository.insert(ledger, userIds, rows);
+        List<LedgerEntry> entries = new ArrayList<>(rows.size());
+        Map<Long, List<LedgerChangedEvent.Change>> changes = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            entries.add(row.toEntry(userIds[i]));
+            changes.computeIfAbsent(userIds[i], id -> new ArrayList<>())
+                    .add(new LedgerChangedEvent.Change(ids[i], row.date(), row.amount(), row.text()));
+        }
+        if (prefixSums) {
+            rollupService.recordAll(ledger, entries);
+        } else {
+            rollupService.recordAllDeferred(ledger, entries);
+        }
+
+        changes.forEach((userId, userChanges) ->
+                eventPublisher.publishEvent(new LedgerChangedEvent(userId, ledger, userChanges)));
+        ledgerVersions.bumpAll(ledger, changes.keySet());
+        return ids;
+    }
+
+    /**
+     * Validates every entry on its own and inserts the valid ones; stored entries get their ids set.
+     *
+     * @throws IllegalArgumentException when the batch is empty or larger than {@code max-batch-items}
+     */
+    <D> BatchResultDTO<D> create(Long userId, LedgerType ledger, List<D> entries,
+                                 Function<D, ImportRow> toRow, BiConsumer<D, Long> setId) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one entry");
+        }
+        int maxItems = importProperties.getMaxBatchItems();
+        if (entries.size() > maxItems) {
+            throw new IllegalArgumentException("Batch must not contain more than " + maxItems + " entries");
+        }
+
+        List<BatchResultDTO.Item<D>> items = new ArrayList<>(entries.size());
+        List<ImportRow> rows = new ArrayList<>(entries.size());
+        List<D> accepted = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            D entry = entries.get(i);
+            List<String> errors = validate(ledger, entry, toRow);
+            if (errors.isEmpty()) {
+                rows.add(toRow.apply(entry));
+                accepted.add(entry);
+                items.add(new BatchResultDTO.Item<>(i, BatchResultDTO.Status.CREATED, entry, List.of()));
+            } else {
+                items.add(new BatchResultDTO.Item<>(i, BatchResultDTO.Status.INVALID, null, errors));
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            long[] ids = insert(userId, ledger, rows);
+            for (int i = 0; i < accepted.size(); i++) {
+                setId.accept(accepted.get(i), ids[i]);
+            }
+        }
+        return BatchResultDTO.<D>builder()
+                .created(accepted.size())
+                .rejected(entries.size() - accepted.size())
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Checks one entry against the DTO constraints and the column limits.
+     *
+     * @return the problems found, empty when the entry can be inserted
+     */
+    <D> List<String> validate(LedgerType ledger, D entry, Function<D, ImportRow> toRow) {
+        if (entry == null) {
+            return List.of("Entry is required");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<D> violation : validator.validate(entry)) {
+            errors.add(violation.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            // Violations come back as a set; keep responses stable
+            errors.sort(null);
+            return errors;
+        }
+
+        // Checks the DTO constraints leave to the database
+        ImportRow row = toRow.apply(entry);
+        if (!Double.isFinite(row.amount()) || !Double.isFinite(row.returnRate())) {
+            errors.add("Amounts must be finite numbers");
+        }
+        if (row.dimension().length() > ImportRow.MAX_TEXT_LENGTH) {
+            errors.add(dimensionName(ledger) + " must be at most " + ImportRow.MAX_TEXT_LENGTH + " characters");
+        }
+        if (row.text() != null && row.text().length() > ImportRow.MAX_TEXT_LENGTH) {
+            errors.add((ledger == LedgerType.EXPENSE ? "Notes" : "Description")
+                    + " must be at most " + ImportRow.MAX_TEXT_LENGTH + " characters");
+        }
+        return errors;
+    }
+
+    private static String dimensionName(LedgerType ledger) {
+        return switch (ledger) {
+            case EXPENSE -> "Category";
+            case INCOME -> "Source";
+            case INVESTMENT -> "Investment type";
+        };
+    }
+}
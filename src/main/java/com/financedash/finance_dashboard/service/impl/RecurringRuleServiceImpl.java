@@ -0,0 +1,262 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.RecurringProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.entity.RecurringRule;
+import com.financedash.finance_dashboard.exception.ResourceNotFoundException;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.mapper.RecurringRuleMapper;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IncomeDTO;
+import com.financedash.finance_dashboard.payload.InvestmentDTO;
+import com.financedash.finance_dashboard.payload.RecurringRuleDTO;
+import com.financedash.finance_dashboard.payload.RecurringRunReport;
+import com.financedash.finance_dashboard.recurring.DueRule;
+import com.financedash.finance_dashboard.recurring.RecurringScheduleRepository;
+import com.financedash.finance_dashboard.repository.RecurringRuleRepository;
+import com.financedash.finance_dashboard.service.RecurringRuleService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recurring rules and their materialization.
+ * <p>
+ * A run repeatedly locks a chunk of due rules with {@code FOR UPDATE SKIP LOCKED}, creates up to
+ * {@code max-occurrences-per-rule} occurrences of each through {@link LedgerBatchWriter}, one
+ * insert per ledger for the whole chunk, and advances the rules in one statement, all in one
+ * transaction. A rule's progress therefore commits with exactly the entries it covers: a run
+ * cut short by a crash or restart leaves the rest due, and the next run picks up from there
+ * without creating anything twice. Runs continue until nothing is due, so after downtime every
+ * missed occurrence is created, with its own date, in chunks of bounded size.
+ */
+@Service
+@Slf4j
+public class RecurringRuleServiceImpl implements RecurringRuleService {
+
+    private final RecurringRuleRepository ruleRepository;
+    private final RecurringScheduleRepository scheduleRepository;
+    private final RecurringRuleMapper ruleMapper;
+    private final LedgerBatchWriter batchWriter;
+    private final CurrentUser currentUser;
+    private final RecurringProperties properties;
+    private final TransactionTemplate chunkTransaction;
+    private final Timer runTimer;
+    private final Counter entriesCounter;
+    private final Counter failuresCounter;
+
+    public RecurringRuleServiceImpl(RecurringRuleRepository ruleRepository,
+                                    RecurringScheduleRepository scheduleRepository,
+                                    RecurringRuleMapper ruleMapper, LedgerBatchWriter batchWriter,
+                                    CurrentUser currentUser, RecurringProperties properties,
+                                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.ruleRepository = ruleRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.ruleMapper = ruleMapper;
+        this.batchWriter = batchWriter;
+        this.currentUser = currentUser;
+        this.properties = properties;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.runTimer = Timer.builder("finance.recurring.run")
+                .description("Runs materializing due recurring rules")
+                .register(meterRegistry);
+        this.entriesCounter = Counter.builder("finance.recurring.entries")
+                .description("Ledger entries created by recurring rules")
+                .register(meterRegistry);
+        this.failuresCounter = Counter.builder("finance.recurring.failures")
+                .description("Recurring rules whose occurrences the database refused")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public RecurringRuleDTO createRule(RecurringRuleDTO dto) {
+        List<String> errors = validate(dto);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        RecurringRule rule = ruleMapper.toEntity(dto);
+        rule.setUserId(currentUser.id());
+        return ruleMapper.toDto(ruleRepository.save(rule));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringRuleDTO> getRules() {
+        return ruleRepository.findByUserIdOrderById(currentUser.id()).stream()
+                .map(ruleMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long id) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(id, currentUser.id())
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring rule not found with id: " + id));
+        ruleRepository.delete(rule);
+    }
+
+    @Scheduled(initialDelayString = "${finance.recurring.initial-delay:PT30S}",
+            fixedDelayString = "${finance.recurring.interval:PT15M}")
+    public void materializeScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            materializeDue(LocalDate.now());
+        } catch (DataAccessException e) {
+            // Nothing is lost: whatever was not committed is still due on the next run
+            log.warn("Recurring rule run failed", e);
+        }
+    }
+
+    @Override
+    public RecurringRunReport materializeDue(LocalDate asOf) {
+        long started = System.nanoTime();
+        int chunkSize = properties.getChunkSize();
+        // Rules the database refused on their own; left for the next run so they cannot stall this one
+        List<Long> failed = new ArrayList<>();
+        int chunks = 0;
+        long rules = 0;
+        long entries = 0;
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = chunkTransaction.execute(status ->
+                        materialize(scheduleRepository.lockDue(asOf, failed, chunkSize), asOf));
+            } catch (DataAccessException e) {
+                log.warn("Recurring chunk failed; retrying its rules one at a time: {}",
+                        e.getMostSpecificCause().getMessage());
+                chunk = materializeAlone(asOf, failed, chunkSize);
+            }
+            if (chunk.rules() == 0 && chunk.failed() == 0) {
+                break;
+            }
+            chunks++;
+            rules += chunk.rules();
+            entries += chunk.entries();
+        }
+
+        long elapsed = System.nanoTime() - started;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (rules > 0 || !failed.isEmpty()) {
+            log.info("Materialized {} recurring entries from {} rule updates in {} chunks ({} rules failed) in {} ms",
+                    entries, rules, chunks, failed.size(), elapsed / 1_000_000);
+        }
+        return RecurringRunReport.builder()
+                .asOf(asOf)
+                .chunks(chunks)
+                .rulesProcessed(rules)
+                .entriesCreated(entries)
+                .rulesFailed(failed.size())
+                .durationMillis(elapsed / 1_000_000)
+                .build();
+    }
+
+    /**
+     * Creates the due occurrences of locked rules and advances them; runs in the chunk's transaction.
+     */
+    private Chunk materialize(List<DueRule> rules, LocalDate asOf) {
+        if (rules.isEmpty()) {
+            return new Chunk(0, 0, 0);
+        }
+        int size = rules.size();
+        int maxOccurrences = properties.getMaxOccurrencesPerRule();
+        Long[] ids = new Long[size];
+        LocalDate[] nextDues = new LocalDate[size];
+        Long[] occurrences = new Long[size];
+        Map<LedgerType, LedgerRows> rows = new EnumMap<>(LedgerType.class);
+        long entries = 0;
+        for (int i = 0; i < size; i++) {
+            DueRule rule = rules.get(i);
+            LedgerRows ledgerRows = rows.computeIfAbsent(rule.ledger(), ledger -> new LedgerRows());
+            long occurrence = rule.occurrences();
+            LocalDate due = rule.nextDue();
+            for (int n = 0; due != null && !due.isAfter(asOf) && n < maxOccurrences; n++) {
+                ledgerRows.add(rule.userId(), rule.row(due));
+                occurrence++;
+                due = rule.occurrence(occurrence);
+            }
+            entries += occurrence - rule.occurrences();
+            ids[i] = rule.id();
+            nextDues[i] = due;
+            occurrences[i] = occurrence;
+        }
+
+        rows.forEach((ledger, ledgerRows) -> batchWriter.insert(ledger, ledgerRows.userIds(), ledgerRows.rows));
+        scheduleRepository.advance(ids, nextDues, occurrences);
+        entriesCounter.increment(entries);
+        return new Chunk(size, entries, 0);
+    }
+
+    // Isolates the rules the database refuses so they do not hold back the rest of their chunk
+    private Chunk materializeAlone(LocalDate asOf, List<Long> failed, int limit) {
+        long rules = 0;
+        long entries = 0;
+        int refused = 0;
+        for (Long id : scheduleRepository.findDueIds(asOf, failed, limit)) {
+            try {
+                Chunk chunk = chunkTransaction.execute(status -> materialize(scheduleRepository.lockDue(id, asOf), asOf));
+                rules += chunk.rules();
+                entries += chunk.entries();
+            } catch (DataAccessException e) {
+                log.warn("Recurring rule {} was refused by the database: {}", id, e.getMostSpecificCause().getMessage());
+                failed.add(id);
+                failuresCounter.increment();
+                refused++;
+            }
+        }
+        return new Chunk(rules, entries, refused);
+    }
+
+    /**
+     * Checks the rule the way the entries it creates would be checked on their own.
+     */
+    private List<String> validate(RecurringRuleDTO dto) {
+        List<String> errors = new ArrayList<>(switch (dto.getLedger()) {
+            case EXPENSE -> batchWriter.validate(LedgerType.EXPENSE, new ExpenseDTO(null, dto.getAmount(),
+                    dto.getCategory(), dto.getStartDate(), dto.getDescription()), ImportRow::of);
+            case INCOME -> batchWriter.validate(LedgerType.INCOME, new IncomeDTO(null, dto.getCategory(),
+                    dto.getAmount(), dto.getStartDate(), dto.getDescription()), ImportRow::of);
+            case INVESTMENT -> batchWriter.validate(LedgerType.INVESTMENT, new InvestmentDTO(null, dto.getAmount(),
+                    dto.getCategory(), dto.getReturns(), dto.getStartDate(), dto.getDescription()), ImportRow::of);
+        });
+        if (dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            errors.add("End date must not be before the start date");
+        }
+        return errors;
+    }
+
+    private record Chunk(long rules, long entries, int failed) {
+    }
+
+    private static final class LedgerRows {
+
+        private final List<ImportRow> rows = new ArrayList<>();
+        private final List<Long> owners = new ArrayList<>();
+
+        private void add(long userId, ImportRow row) {
+            owners.add(userId);
+            rows.add(row);
+        }
+
+        private long[] userIds() {
+            return owners.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.financedash.finance_dashboard.service.impl;
 
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.ReportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.CategoryBreakdownDTO;
+import com.financedash.finance_dashboard.payload.CategoryReportDTO;
 import com.financedash.finance_dashboard.payload.ReportDTO;
 import com.financedash.finance_dashboard.repository.ExpenseRepository;
 import com.financedash.finance_dashboard.repository.IncomeRepository;
 import com.financedash.finance_dashboard.repository.InvestmentRepository;
+import com.financedash.finance_dashboard.repository.ReportQueryRepository;
+import com.financedash.finance_dashboard.rollup.PrefixSumService;
+import com.financedash.finance_dashboard.rollup.RollupService;
 import com.financedash.finance_dashboard.service.ReportService;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -17,14 +33,115 @@ public class ReportServiceImpl implements ReportService {
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
     private final InvestmentRepository investmentRepository;
+    private final ReportQueryRepository reportQueryRepository;
+    private final RollupService rollupService;
+    private final PrefixSumService prefixSumService;
+    private final ReportProperties reportProperties;
+    private final CurrentUser currentUser;
+
+    // Used by the PARALLEL engine; each query blocks a cheap virtual thread while it holds its own connection
+    private final ExecutorService queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Override
     public ReportDTO getMonthlyReport() {
-        // Fetch data with null safety
-        Double totalIncome = incomeRepository.getMonthlyIncome();
-        Double totalExpense = expenseRepository.getMonthlyExpense();
-        Double totalInvestment = investmentRepository.getMonthlyInvestment();
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        LocalDate nextMonthStart = monthStart.plusMonths(1);
+        // Resolved on the request thread: the parallel engine's workers carry no security context
+        Long userId = currentUser.id();
+
+        ReportDTO report = switch (reportProperties.getEngine()) {
+            case ROLLUP -> fromRollups(userId, monthStart);
+            case SEQUENTIAL -> sequential(userId, monthStart, nextMonthStart);
+            case FUSED -> reportQueryRepository.fetchTotals(userId, monthStart, nextMonthStart);
+            case PARALLEL -> parallel(userId, monthStart, nextMonthStart);
+        };
+
+        log.info("Monthly Report ({}) - Income: {}, Expense: {}, Investment: {}, NetProfit: {}",
+                reportProperties.getEngine(), report.getTotalIncome(), report.getTotalExpense(),
+                report.getTotalInvestment(), report.getNetProfit());
+        return report;
+    }
+
+    @Override
+    public CategoryReportDTO getCategoryReport(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Report start date must not be after end date");
+        }
+        // The repositories take a half-open range
+        LocalDate toExclusive = to.plusDays(1);
+        Long userId = currentUser.id();
+
+        List<CategoryBreakdownDTO> expenses = expenseRepository.getTotalsByCategory(userId, from, toExclusive);
+        List<CategoryBreakdownDTO> income = incomeRepository.getTotalsBySource(userId, from, toExclusive);
+        List<CategoryBreakdownDTO> investments = investmentRepository.getTotalsByType(userId, from, toExclusive);
+
+        return CategoryReportDTO.builder()
+                .from(from)
+                .to(to)
+                .totalExpense(applyShares(expenses))
+                .totalIncome(applyShares(income))
+                .totalInvestment(applyShares(investments))
+                .expenses(expenses)
+                .income(income)
+                .investments(investments)
+                .build();
+    }
+
+    @Override
+    public ReportDTO getRangeReport(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Report start date must not be after end date");
+        }
+        // Two prefix-sum lookups per ledger regardless of how long the range is
+        Map<LedgerType, Double> totals = prefixSumService.getRangeTotals(currentUser.id(), from, to);
+        return buildReport(totals.get(LedgerType.INCOME), totals.get(LedgerType.EXPENSE),
+                totals.get(LedgerType.INVESTMENT));
+    }
+
+    @PreDestroy
+    void shutdownQueryExecutor() {
+        queryExecutor.shutdown();
+    }
+
+    private ReportDTO fromRollups(Long userId, LocalDate monthStart) {
+        // Three primary-key reads against the rollup table
+        Map<LedgerType, Double> totals = rollupService.getMonthTotals(userId, monthStart);
+        return buildReport(totals.get(LedgerType.INCOME), totals.get(LedgerType.EXPENSE),
+                totals.get(LedgerType.INVESTMENT));
+    }
+
+    private ReportDTO sequential(Long userId, LocalDate from, LocalDate to) {
+        return buildReport(
+                incomeRepository.getIncomeTotal(userId, from, to),
+                expenseRepository.getExpenseTotal(userId, from, to),
+                investmentRepository.getInvestmentTotal(userId, from, to));
+    }
 
+    private ReportDTO parallel(Long userId, LocalDate from, LocalDate to) {
+        CompletableFuture<Double> income = CompletableFuture.supplyAsync(
+                () -> incomeRepository.getIncomeTotal(userId, from, to), queryExecutor);
+        CompletableFuture<Double> expense = CompletableFuture.supplyAsync(
+                () -> expenseRepository.getExpenseTotal(userId, from, to), queryExecutor);
+        CompletableFuture<Double> investment = CompletableFuture.supplyAsync(
+                () -> investmentRepository.getInvestmentTotal(userId, from, to), queryExecutor);
+
+        return buildReport(income.join(), expense.join(), investment.join());
+    }
+
+    // Fills in each group's share of the ledger total and returns that total
+    private double applyShares(List<CategoryBreakdownDTO> groups) {
+        double total = 0.0;
+        for (CategoryBreakdownDTO group : groups) {
+            total += group.getTotal();
+        }
+        for (CategoryBreakdownDTO group : groups) {
+            group.setShare(total > 0 ? group.getTotal() / total : 0.0);
+        }
+        return total;
+    }
+
+    private ReportDTO buildReport(Double totalIncome, Double totalExpense, Double totalInvestment) {
+        // Null safety: SUM over no rows yields null
         totalIncome = totalIncome != null ? totalIncome : 0.0;
         totalExpense = totalExpense != null ? totalExpense : 0.0;
         totalInvestment = totalInvestment != null ? totalInvestment : 0.0;
@@ -32,9 +149,6 @@ public class ReportServiceImpl implements ReportService {
         // Calculate net profit
         Double netProfit = totalIncome - totalExpense;
 
-        log.info("Monthly Report - Income: {}, Expense: {}, Investment: {}, NetProfit: {}",
-                totalIncome, totalExpense, totalInvestment, netProfit);
-
         return ReportDTO.builder()
                 .totalIncome(totalIncome)
                 .totalExpense(totalExpense)
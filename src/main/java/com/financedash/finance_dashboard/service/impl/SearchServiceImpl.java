@@ -0,0 +1,109 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.SearchProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.SearchHitDTO;
+import com.financedash.finance_dashboard.payload.SearchResultDTO;
+import com.financedash.finance_dashboard.repository.ExpenseRepository;
+import com.financedash.finance_dashboard.repository.IncomeRepository;
+import com.financedash.finance_dashboard.repository.InvestmentRepository;
+import com.financedash.finance_dashboard.search.ScoredRecord;
+import com.financedash.finance_dashboard.search.SearchIndexService;
+import com.financedash.finance_dashboard.search.Tokenizer;
+import com.financedash.finance_dashboard.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private final SearchIndexService searchIndex;
+    private final SearchProperties searchProperties;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final InvestmentRepository investmentRepository;
+    private final CurrentUser currentUser;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResultDTO search(String query, Set<LedgerType> ledgers, Integer limit, boolean prefix) {
+        List<String> terms = Tokenizer.distinctTokens(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain at least one term of "
+                    + Tokenizer.MIN_TERM_LENGTH + " or more letters or digits");
+        }
+        int hitLimit = limit == null ? searchProperties.getDefaultLimit() : limit;
+        if (hitLimit < 1 || hitLimit > searchProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + searchProperties.getMaxLimit());
+        }
+        Set<LedgerType> searched = ledgers == null || ledgers.isEmpty()
+                ? EnumSet.allOf(LedgerType.class) : EnumSet.copyOf(ledgers);
+
+        SearchIndexService.Ranking ranking = searchIndex.search(currentUser.id(), terms, prefix, searched, hitLimit);
+        return SearchResultDTO.builder()
+                .query(query)
+                .total(ranking.total())
+                .complete(searchIndex.isReady())
+                .hits(hydrate(ranking.top()))
+                .build();
+    }
+
+    /**
+     * Loads the ranked records with one query per ledger, keeping the ranking order.
+     */
+    private List<SearchHitDTO> hydrate(List<ScoredRecord> ranked) {
+        Map<LedgerType, List<Long>> idsByLedger = new EnumMap<>(LedgerType.class);
+        for (ScoredRecord record : ranked) {
+            idsByLedger.computeIfAbsent(record.ledger(), l -> new ArrayList<>()).add(record.id());
+        }
+        Map<LedgerType, Map<Long, SearchHitDTO>> loaded = new EnumMap<>(LedgerType.class);
+        idsByLedger.forEach((ledger, ids) -> loaded.put(ledger, load(ledger, ids)));
+
+        List<SearchHitDTO> hits = new ArrayList<>(ranked.size());
+        for (ScoredRecord record : ranked) {
+            SearchHitDTO hit = loaded.get(record.ledger()).get(record.id());
+            if (hit != null) {
+                hit.setScore(record.score());
+                hits.add(hit);
+            }
+        }
+        return hits;
+    }
+
+    private Map<Long, SearchHitDTO> load(LedgerType ledger, List<Long> ids) {
+        Map<Long, SearchHitDTO> hits = new HashMap<>();
+        switch (ledger) {
+            case EXPENSE -> expenseRepository.findAllById(ids).forEach(e -> hits.put(e.getId(),
+                    hit(ledger, e.getId(), e.getDate(), e.getAmount(), e.getCategory(), e.getNotes())));
+            case INCOME -> incomeRepository.findAllById(ids).forEach(i -> hits.put(i.getId(),
+                    hit(ledger, i.getId(), i.getDate(), i.getAmount(), i.getSource(), i.getDescription())));
+            case INVESTMENT -> investmentRepository.findAllById(ids).forEach(i -> hits.put(i.getId(),
+                    hit(ledger, i.getId(), i.getInvestmentDate(), i.getAmount(), i.getType(), i.getDescription())));
+        }
+        return hits;
+    }
+
+    private static SearchHitDTO hit(LedgerType ledger, Long id, LocalDate date, double amount,
+                                    String label, String text) {
+        return SearchHitDTO.builder()
+                .ledger(ledger)
+                .id(id)
+                .date(date)
+                .amount(amount)
+                .label(label)
+                .text(text)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.financedash.finance_dashboard.simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Projects a portfolio of independent positions with yearly log-normal returns.
+ * <p>
+ * Paths are split into fixed-size chunks that run on the caller's ForkJoin pool. Every chunk
+ * gets its own {@link SplittableRandom} split off a seeded root before the parallel phase,
+ * so a given seed produces the same result regardless of core count or scheduling.
+ * <p>
+ * The simulation advances all paths one year at a time and reduces that year to its
+ * percentiles before moving on, so memory is one value per path and position plus one
+ * year of portfolio totals, independent of the horizon.
+ */
+public final class MonteCarloEngine {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private MonteCarloEngine() {
+    }
+
+    /**
+     * @param initial     starting value of each position
+     * @param meanReturn  expected annual return of each position as a fraction
+     * @param volatility  annual standard deviation of each position's log return
+     * @param percentiles percentiles to report per year, between 0 and 100
+     * @param pool        pool the chunks and the per-year sorts run on
+     */
+    public static Projection project(double[] initial, double[] meanReturn, double[] volatility,
+                                     int years, int paths, long seed, double[] percentiles, ForkJoinPool pool) {
+        int positions = initial.length;
+        double start = 0.0;
+        double[] drift = new double[positions];
+        for (int p = 0; p < positions; p++) {
+            start += initial[p];
+            // Chosen so that the expected yearly growth factor is exactly 1 + meanReturn
+            drift[p] = Math.log1p(meanReturn[p]) - 0.5 * volatility[p] * volatility[p];
+        }
+
+        int chunks = (paths + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        // Position-major within each chunk so the inner loop walks contiguous memory
+        double[][] states = new double[chunks][];
+        double[] totals = new double[paths];
+        double[][] bands = new double[percentiles.length][years + 1];
+        for (double[] band : bands) {
+            band[0] = start;
+        }
+        double startValue = start;
+        double[] finalStats = new double[2];
+
+        pool.submit(() -> {
+            for (int year = 1; year <= years; year++) {
+                IntStream.range(0, chunks).parallel().forEach(c -> {
+                    int from = c * CHUNK_SIZE;
+                    int length = Math.min(CHUNK_SIZE, paths - from);
+                    double[] state = states[c];
+                    if (state == null) {
+                        state = new double[positions * length];
+                        for (int p = 0; p < positions; p++) {
+                            Arrays.fill(state, p * length, (p + 1) * length, initial[p]);
+                        }
+                        states[c] = state;
+                    }
+                    step(state, positions, length, drift, volatility, randoms[c], totals, from);
+                });
+
+                if (year == years) {
+                    // Read before the sort, which is where the year's totals stop lining up with paths
+                    double sum = 0.0;
+                    int losses = 0;
+                    for (double value : totals) {
+                        sum += value;
+                        if (value < startValue) {
+                            losses++;
+                        }
+                    }
+                    finalStats[0] = sum / paths;
+                    finalStats[1] = (double) losses / paths;
+                }
+
+                // Totals are rewritten from the per-path state next year, so sorting them in place is safe
+                Arrays.parallelSort(totals);
+                for (int k = 0; k < percentiles.length; k++) {
+                    bands[k][year] = percentile(totals, percentiles[k]);
+                }
+            }
+        }).join();
+
+        return new Projection(start, finalStats[0], finalStats[1], bands);
+    }
+
+    /**
+     * @param startValue         portfolio value today
+     * @param expectedFinalValue mean portfolio value at the horizon
+     * @param probabilityOfLoss  share of paths ending below the starting value
+     * @param bands              percentile values indexed {@code [percentile][year]}; year 0 is the start
+     */
+    public record Projection(double startValue, double expectedFinalValue, double probabilityOfLoss, double[][] bands) {
+    }
+
+    private static void step(double[] state, int positions, int length, double[] drift, double[] volatility,
+                             SplittableRandom random, double[] totals, int from) {
+        Arrays.fill(totals, from, from + length, 0.0);
+        for (int p = 0; p < positions; p++) {
+            double mu = drift[p];
+            double sigma = volatility[p];
+            int offset = p * length;
+            for (int i = 0; i < length; i++) {
+                double value = state[offset + i] * Math.exp(mu + sigma * random.nextGaussian());
+                state[offset + i] = value;
+                totals[from + i] += value;
+            }
+        }
+    }
+
+    /**
+     * Reads a percentile from sorted values, interpolating linearly between neighbouring ranks.
+     */
+    private static double percentile(double[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        double rank = percentile / 100.0 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        double fraction = rank - lower;
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * fraction;
+    }
+}
@@ -0,0 +1,19 @@
+package com.financedash.finance_dashboard.simulation;
+
+/**
+ * Invested amount of one investment type together with its amount-weighted return rate.
+ *
+ * @param weightedReturnRate sum of amount × returnRate, divide by {@code amount} for the mean rate in percent
+ */
+public record PortfolioPosition(String type, Double amount, Double weightedReturnRate) {
+
+    /**
+     * Amount-weighted mean annual return as a fraction (7% yields 0.07).
+     */
+    public double meanReturn() {
+        if (amount == null || amount == 0.0 || weightedReturnRate == null) {
+            return 0.0;
+        }
+        return weightedReturnRate / amount / 100.0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.financedash.finance_dashboard.analytics;
+
+import com.financedash.finance_dashboard.config.AnalyticsProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.repository.ExpenseRepository;
+import com.financedash.finance_dashboard.rollup.RollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SummarySnapshotServiceTest {
+
+    private final RollupService rollupService = mock(RollupService.class);
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private SummarySnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getSummary().setMinRefreshInterval(Duration.ZERO);
+        service = new SummarySnapshotService(rollupService, expenseRepository, properties, new SimpleMeterRegistry());
+        when(expenseRepository.getTotalsByCategory(any(), any(), any())).thenReturn(List.of());
+        when(rollupService.getMonthTotals(any(), any())).thenReturn(totals(100.0));
+    }
+
+    @Test
+    void failedRebuildLeavesSnapshotDirty() {
+        service.getSummary(1L);
+        service.onLedgerChanged(changed(1L));
+        when(rollupService.getMonthTotals(eq(1L), any())).thenThrow(new IllegalStateException("database down"));
+
+        service.refreshIfNeeded();
+
+        assertThat(service.getSummary(1L).isStale()).isTrue();
+    }
+
+    @Test
+    void failingUserDoesNotStopOthersFromRefreshing() {
+        service.getSummary(1L);
+        service.getSummary(2L);
+        service.onLedgerChanged(changed(1L));
+        service.onLedgerChanged(changed(2L));
+        when(rollupService.getMonthTotals(eq(1L), any())).thenThrow(new IllegalStateException("database down"));
+        when(rollupService.getMonthTotals(eq(2L), any())).thenReturn(totals(250.0));
+
+        service.refreshIfNeeded();
+
+        assertThat(service.getSummary(1L).isStale()).isTrue();
+        assertThat(service.getSummary(2L).isStale()).isFalse();
+        assertThat(service.getSummary(2L).getCurrentMonthTotals().getTotalIncome()).isEqualTo(250.0);
+    }
+
+    @Test
+    void inlineBuildFailureReachesTheCaller() {
+        when(rollupService.getMonthTotals(eq(3L), any())).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> service.getSummary(3L)).isInstanceOf(IllegalStateException.class);
+
+        when(rollupService.getMonthTotals(eq(3L), any())).thenReturn(totals(100.0));
+        assertThat(service.getSummary(3L).isStale()).isFalse();
+    }
+
+    private static LedgerChangedEvent changed(Long userId) {
+        return LedgerChangedEvent.of(userId, LedgerType.EXPENSE, 1L, LocalDate.now(), 1.0, null);
+    }
+
+    private static Map<LedgerType, Double> totals(double income) {
+        Map<LedgerType, Double> totals = new EnumMap<>(LedgerType.class);
+        totals.put(LedgerType.INCOME, income);
+        totals.put(LedgerType.EXPENSE, 40.0);
+        totals.put(LedgerType.INVESTMENT, 10.0);
+        return totals;
+    }
+}
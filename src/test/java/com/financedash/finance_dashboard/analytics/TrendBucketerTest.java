@@ -0,0 +1,187 @@
+package com.financedash.finance_dashboard.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Compares the bucketer against a naive per-row calculation that keys every row by its
+ * calendar day, ISO week or year-month and sums rows with equal keys.
+ */
+class TrendBucketerTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void matchesNaivePerRowSumsOnRandomRows() {
+        Random random = new Random(42);
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            for (int run = 0; run < 50; run++) {
+                LocalDate from = LocalDate.of(2019, 1, 1).plusDays(random.nextInt(2000));
+                LocalDate to = from.plusDays(random.nextInt(400));
+                List<Row> rows = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    // Some rows fall outside the range and must be ignored
+                    LocalDate date = from.plusDays(random.nextInt(460) - 30);
+                    rows.add(new Row(date, Math.round(random.nextDouble() * 100_000) / 100.0));
+                }
+                assertMatchesNaive(granularity, from, to, rows);
+            }
+        }
+    }
+
+    @Test
+    void rangeWithoutRowsGivesZeroBuckets() {
+        TrendBucketer bucketer = new TrendBucketer(TrendGranularity.WEEKLY, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        double[] series = bucketer.newSeries();
+        assertThat(series).hasSize(bucketer.bucketCount()).containsOnly(0.0);
+        assertThat(TrendBucketer.movingAverage(series, 3)).containsOnly(0.0);
+    }
+
+    @Test
+    void singleDayRangeHasOneBucketPerGranularity() {
+        LocalDate day = LocalDate.of(2024, 2, 29);
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            TrendBucketer bucketer = new TrendBucketer(granularity, day, day);
+            assertThat(bucketer.bucketCount()).isEqualTo(1);
+
+            double[] series = bucketer.newSeries();
+            bucketer.add(series, day.toEpochDay(), 12.5);
+            bucketer.add(series, day.minusDays(1).toEpochDay(), 100.0);
+            bucketer.add(series, day.plusDays(1).toEpochDay(), 100.0);
+            assertThat(series).containsExactly(12.5);
+        }
+        assertThat(new TrendBucketer(TrendGranularity.WEEKLY, day, day).bucketStarts()).containsExactly(LocalDate.of(2024, 2, 26));
+        assertThat(new TrendBucketer(TrendGranularity.MONTHLY, day, day).bucketStarts()).containsExactly(LocalDate.of(2024, 2, 1));
+    }
+
+    @Test
+    void weekSpanningMonthAndYearStaysOneBucket() {
+        // ISO week 53 of 2020 runs from Monday 2020-12-28 to Sunday 2021-01-03
+        LocalDate from = LocalDate.of(2020, 12, 20);
+        LocalDate to = LocalDate.of(2021, 1, 10);
+        TrendBucketer bucketer = new TrendBucketer(TrendGranularity.WEEKLY, from, to);
+
+        assertThat(bucketer.bucketStarts()).containsExactly(
+                LocalDate.of(2020, 12, 14), LocalDate.of(2020, 12, 21), LocalDate.of(2020, 12, 28), LocalDate.of(2021, 1, 4));
+        double[] series = bucketer.newSeries();
+        bucketer.add(series, LocalDate.of(2020, 12, 28).toEpochDay(), 1.0);
+        bucketer.add(series, LocalDate.of(2020, 12, 31).toEpochDay(), 2.0);
+        bucketer.add(series, LocalDate.of(2021, 1, 3).toEpochDay(), 4.0);
+        bucketer.add(series, LocalDate.of(2021, 1, 4).toEpochDay(), 8.0);
+        assertThat(series).containsExactly(0.0, 0.0, 7.0, 8.0);
+    }
+
+    @Test
+    void monthBoundariesSplitBucketsOnTheFirst() {
+        LocalDate from = LocalDate.of(2023, 1, 31);
+        LocalDate to = LocalDate.of(2023, 3, 1);
+        TrendBucketer bucketer = new TrendBucketer(TrendGranularity.MONTHLY, from, to);
+
+        assertThat(bucketer.bucketStarts()).containsExactly(
+                LocalDate.of(2023, 1, 1), LocalDate.of(2023, 2, 1), LocalDate.of(2023, 3, 1));
+        double[] series = bucketer.newSeries();
+        bucketer.add(series, from.toEpochDay(), 1.0);
+        bucketer.add(series, LocalDate.of(2023, 2, 1).toEpochDay(), 2.0);
+        bucketer.add(series, LocalDate.of(2023, 2, 28).toEpochDay(), 4.0);
+        bucketer.add(series, to.toEpochDay(), 8.0);
+        assertThat(series).containsExactly(1.0, 6.0, 8.0);
+    }
+
+    @Test
+    void movingAverageMatchesNaiveWindowMeans() {
+        Random random = new Random(7);
+        for (int length = 0; length <= 40; length++) {
+            double[] series = new double[length];
+            for (int i = 0; i < length; i++) {
+                series[i] = random.nextDouble() * 1000 - 500;
+            }
+            // Includes windows of 1 and windows longer than the series
+            for (int window = 1; window <= length + 3; window++) {
+                assertThat(TrendBucketer.movingAverage(series, window))
+                        .containsExactly(naiveMovingAverage(series, window), within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void windowLongerThanSeriesAveragesEverythingSoFar() {
+        assertThat(TrendBucketer.movingAverage(new double[]{2, 4, 9}, 10)).containsExactly(2.0, 3.0, 5.0);
+        assertThat(TrendBucketer.movingAverage(new double[0], 3)).isEmpty();
+    }
+
+    @Test
+    void invalidInputsAreRejected() {
+        assertThatThrownBy(() -> TrendBucketer.movingAverage(new double[]{1}, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrendBucketer(TrendGranularity.DAILY, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void differenceSubtractsEveryLedger() {
+        assertThat(TrendBucketer.difference(new double[]{10, 20}, new double[]{1, 2}, new double[]{3, 4}))
+                .containsExactly(6.0, 14.0);
+    }
+
+    private static void assertMatchesNaive(TrendGranularity granularity, LocalDate from, LocalDate to, List<Row> rows) {
+        Map<Object, Double> expected = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            expected.putIfAbsent(key(granularity, day), 0.0);
+        }
+        for (Row row : rows) {
+            if (!row.date().isBefore(from) && !row.date().isAfter(to)) {
+                expected.merge(key(granularity, row.date()), row.amount(), Double::sum);
+            }
+        }
+
+        TrendBucketer bucketer = new TrendBucketer(granularity, from, to);
+        double[] series = bucketer.newSeries();
+        for (Row row : rows) {
+            bucketer.add(series, row.date().toEpochDay(), row.amount());
+        }
+
+        assertThat(bucketer.bucketCount()).isEqualTo(expected.size());
+        List<Object> keys = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(key(granularity, bucketer.bucketStarts().get(i))).isEqualTo(keys.get(i));
+            assertThat(series[i]).isCloseTo(expected.get(keys.get(i)), within(TOLERANCE));
+        }
+    }
+
+    private static Object key(TrendGranularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case DAILY -> date;
+            case WEEKLY -> List.of(date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTHLY -> YearMonth.from(date);
+        };
+    }
+
+    private static double[] naiveMovingAverage(double[] series, int window) {
+        double[] result = new double[series.length];
+        for (int i = 0; i < series.length; i++) {
+            int start = Math.max(0, i - window + 1);
+            double sum = 0.0;
+            for (int j = start; j <= i; j++) {
+                sum += series[j];
+            }
+            result[i] = sum / (i - start + 1);
+        }
+        return result;
+    }
+
+    private record Row(LocalDate date, double amount) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.financedash.finance_dashboard.cache;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Versions live in the database, so a second instance, here a second {@link LedgerVersions}
+ * over the same repository, issues the same tags, and a rolled back write leaves them as
+ * they were.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+class LedgerVersionsTest {
+
+    @Autowired
+    private LedgerVersions ledgerVersions;
+    @Autowired
+    private LedgerVersionRepository versionRepository;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AppUser user;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void createUser() {
+        user = TestUsers.create(users, "ledger-versions");
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void removeRows() {
+        jdbcTemplate.update("DELETE FROM user_ledger_version WHERE user_id = ?", user.getId());
+    }
+
+    @Test
+    void everyInstanceSeesTheSameVersions() {
+        LedgerVersions otherInstance = new LedgerVersions(versionRepository);
+        String before = ledgerVersions.etag(user.getId(), LedgerType.values());
+        assertThat(otherInstance.etag(user.getId(), LedgerType.values())).isEqualTo(before);
+
+        transaction.executeWithoutResult(status -> otherInstance.bump(user.getId(), LedgerType.EXPENSE));
+
+        String after = ledgerVersions.etag(user.getId(), LedgerType.values());
+        assertThat(after).isNotEqualTo(before).isEqualTo(otherInstance.etag(user.getId(), LedgerType.values()));
+        assertThat(ledgerVersions.version(user.getId(), LedgerType.EXPENSE)).isEqualTo(1);
+        assertThat(ledgerVersions.version(user.getId(), LedgerType.INCOME)).isZero();
+    }
+
+    @Test
+    void bumpCommitsAndRollsBackWithTheWrite() {
+        transaction.executeWithoutResult(status -> {
+            ledgerVersions.bumpAll(LedgerType.INCOME, List.of(user.getId()));
+            assertThat(ledgerVersions.version(user.getId(), LedgerType.INCOME)).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+        assertThat(ledgerVersions.version(user.getId(), LedgerType.INCOME)).isZero();
+
+        transaction.executeWithoutResult(status -> {
+            ledgerVersions.bump(user.getId(), LedgerType.INCOME);
+            ledgerVersions.bump(user.getId(), LedgerType.INCOME);
+        });
+        assertThat(ledgerVersions.version(user.getId(), LedgerType.INCOME)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.financedash.finance_dashboard.cache;
+
+import com.financedash.finance_dashboard.config.ReportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.payload.ReportDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportCacheTest {
+
+    private static final ReportCacheKey JANUARY = key(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+    private static final ReportCacheKey FEBRUARY = key(1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+    private static final ReportCacheKey OTHER_JANUARY = key(2L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private ReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportCache(new ReportProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void writeDropsOnlyTheWritersReportsCoveringItsDates() {
+        load(JANUARY);
+        load(FEBRUARY);
+        load(OTHER_JANUARY);
+
+        cache.onLedgerChanged(changed(1L, LocalDate.of(2024, 1, 15)));
+
+        assertThat(load(JANUARY)).isEqualTo(4);
+        assertThat(load(FEBRUARY)).isEqualTo(4);
+        assertThat(load(OTHER_JANUARY)).isEqualTo(4);
+    }
+
+    @Test
+    void reloadedReportIsDroppedByTheNextWrite() {
+        load(JANUARY);
+        cache.onLedgerChanged(changed(1L, LocalDate.of(2024, 1, 1)));
+        load(JANUARY);
+        cache.onLedgerChanged(changed(1L, LocalDate.of(2024, 1, 31)));
+
+        assertThat(load(JANUARY)).isEqualTo(3);
+    }
+
+    @Test
+    void writeDuringALoadIsNotCachedOver() {
+        cache.get(JANUARY, ReportDTO.class, () -> {
+            cache.onLedgerChanged(changed(1L, LocalDate.of(2030, 1, 1)));
+            return new ReportDTO();
+        });
+
+        assertThat(load(JANUARY)).isEqualTo(1);
+        assertThat(load(JANUARY)).isEqualTo(1);
+    }
+
+    @Test
+    void otherUsersWriteDuringALoadKeepsIt() {
+        cache.get(JANUARY, ReportDTO.class, () -> {
+            cache.onLedgerChanged(changed(2L, LocalDate.of(2024, 1, 15)));
+            return new ReportDTO();
+        });
+
+        assertThat(load(JANUARY)).isZero();
+    }
+
+    @Test
+    void failedLoadLeavesTheOwnerIndexUsable() {
+        assertThatThrownBy(() -> cache.get(JANUARY, ReportDTO.class, () -> {
+            throw new IllegalStateException("query failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        load(JANUARY);
+        cache.onLedgerChanged(changed(1L, LocalDate.of(2024, 1, 15)));
+        assertThat(load(JANUARY)).isEqualTo(2);
+    }
+
+    /**
+     * @return the number of loads so far, so a cache hit leaves it unchanged
+     */
+    private int load(ReportCacheKey key) {
+        cache.get(key, ReportDTO.class, () -> {
+            loads.incrementAndGet();
+            return new ReportDTO();
+        });
+        return loads.get();
+    }
+
+    private static ReportCacheKey key(Long userId, LocalDate from, LocalDate to) {
+        return new ReportCacheKey(userId, ReportType.RANGE, from, to);
+    }
+
+    private static LedgerChangedEvent changed(Long userId, LocalDate date) {
+        return LedgerChangedEvent.of(userId, LedgerType.EXPENSE, 1L, date, 10.0, null);
+    }
+}
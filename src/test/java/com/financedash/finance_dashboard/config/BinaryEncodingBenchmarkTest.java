@@ -0,0 +1,136 @@
+package com.financedash.finance_dashboard.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedash.finance_dashboard.payload.CursorPageDTO;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encodes and decodes expense listing pages with the application's JSON, CBOR and Smile
+ * mappers and reports throughput and payload size, before and after the gzip that
+ * {@code server.compression} applies to responses over its minimum size. Pages hold the
+ * default and the maximum page size of realistic rows, as {@code GET /expenses} returns them.
+ * <p>
+ * Every encoding must round-trip the page, and both binary encodings must be smaller than
+ * JSON before compression.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+@Tag("benchmark")
+class BinaryEncodingBenchmarkTest {
+
+    private static final int[] PAGE_SIZES = {50, 500};
+    private static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Utilities", "Health", "Leisure"};
+    private static final String[] NOTES = {"Weekly groceries", "Coffee with the team", "Monthly pass",
+            "Electricity bill", "Pharmacy", "Cinema tickets", null};
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+    private static final TypeReference<CursorPageDTO<ExpenseDTO>> PAGE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    @Autowired
+    private ServerProperties serverProperties;
+
+    @Test
+    void binaryEncodingsAgainstJson() throws Exception {
+        Compression compression = serverProperties.getCompression();
+        long minCompressed = compression.getMinResponseSize().toBytes();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("JSON", jsonConverter.getObjectMapper());
+        mappers.put("CBOR", cborConverter.getObjectMapper());
+        mappers.put("Smile", smileConverter.getObjectMapper());
+
+        for (int pageSize : PAGE_SIZES) {
+            CursorPageDTO<ExpenseDTO> page = page(pageSize);
+            System.out.printf("encoding benchmark, page of %d expenses, compression %s above %d bytes:%n",
+                    pageSize, compression.getEnabled() ? "on" : "off", minCompressed);
+            Map<String, Integer> sizes = new LinkedHashMap<>();
+            for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+                ObjectMapper mapper = entry.getValue();
+                byte[] encoded = mapper.writeValueAsBytes(page);
+                assertThat(mapper.readValue(encoded, PAGE)).as(entry.getKey()).isEqualTo(page);
+                byte[] gzipped = gzip(encoded);
+                boolean compressed = compression.getEnabled() && encoded.length >= minCompressed;
+
+                double encodes = perSecond(() -> mapper.writeValueAsBytes(page));
+                double decodes = perSecond(() -> mapper.readValue(encoded, PAGE));
+                double gzipEncodes = perSecond(() -> gzip(mapper.writeValueAsBytes(page)));
+                System.out.printf("  %-5s %6d bytes, %5d gzipped%s; encode %7.0f pages/s (%5.1f MB/s),"
+                                + " with gzip %7.0f pages/s; decode %7.0f pages/s%n", entry.getKey(),
+                        encoded.length, gzipped.length, compressed ? "" : " (sent uncompressed)", encodes,
+                        encodes * encoded.length / 1e6, gzipEncodes, decodes);
+                sizes.put(entry.getKey(), encoded.length);
+            }
+            assertThat(sizes.get("CBOR")).isLessThan(sizes.get("JSON"));
+            assertThat(sizes.get("Smile")).isLessThan(sizes.get("JSON"));
+        }
+    }
+
+    private static CursorPageDTO<ExpenseDTO> page(int size) {
+        SplittableRandom random = new SplittableRandom(19);
+        List<ExpenseDTO> items = new ArrayList<>(size);
+        LocalDate date = LocalDate.of(2024, 12, 31);
+        for (int i = 0; i < size; i++) {
+            date = date.minusDays(random.nextInt(2));
+            items.add(new ExpenseDTO(1_000_000L - i, random.nextInt(1, 50_000) / 100.0,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], date, NOTES[random.nextInt(NOTES.length)]));
+        }
+        return new CursorPageDTO<>(items, size, true, "MjAyNC0wMS0wMXw5OTk1MDA");
+    }
+
+    // Same deflate level as the servlet container's gzip filter
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    // Warms up for a quarter of the measuring time, then counts calls per second
+    private static double perSecond(Operation operation) throws Exception {
+        long warmupEnd = System.nanoTime() + MEASURE_NANOS / 4;
+        while (System.nanoTime() < warmupEnd) {
+            operation.run();
+        }
+        long calls = 0;
+        long started = System.nanoTime();
+        long elapsed;
+        do {
+            operation.run();
+            calls++;
+            elapsed = System.nanoTime() - started;
+        } while (elapsed < MEASURE_NANOS);
+        return calls * 1e9 / elapsed;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,104 @@
+package com.financedash.finance_dashboard.export;
+
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.importer.CsvRecordReader;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import com.financedash.finance_dashboard.importer.ImportRowBinder;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CsvRowWriterTest {
+
+    @Test
+    void formulaTextIsPrefixedAndNumbersAreNot() throws Exception {
+        String csv = write(
+                new Object[]{"1", "-12.5", "=HYPERLINK(\"http://x\")", "+1", "-2", "@SUM(A1)"},
+                new Object[]{"2", "3", "\tTab", "\rReturn", "Lunch", "a-b"});
+
+        assertThat(csv).isEqualTo("""
+                id,amount,a,b,c,d\r
+                1,-12.5,"'=HYPERLINK(""http://x"")",'+1,'-2,'@SUM(A1)\r
+                2,3,'\tTab,"'\rReturn",Lunch,a-b\r
+                """);
+    }
+
+    @Test
+    void emptyAndNullCellsStayEmpty() throws Exception {
+        assertThat(write(new Object[]{"1", "0", "", null, "x", "y"})).endsWith("1,0,,,x,y\r\n");
+    }
+
+    @Test
+    void guardedTextImportsBackUnchanged() throws Exception {
+        String[] notes = {"=SUM(A1)", "-5 refund", "@home", "\tTab", "'=typed guard", "'quoted", "'", "Lunch"};
+        Object[][] rows = new Object[notes.length][];
+        for (int i = 0; i < notes.length; i++) {
+            rows[i] = new Object[]{String.valueOf(i), "12.5", "+Misc", "2024-01-31", notes[i]};
+        }
+        String csv = write(new String[]{"id", "amount", "category", "date", "notes"},
+                new int[]{Types.BIGINT, Types.NUMERIC, Types.VARCHAR, Types.DATE, Types.VARCHAR}, rows);
+
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv), 4096, 16384);
+        try (ValidatorFactory validation = Validation.buildDefaultValidatorFactory()) {
+            ImportRowBinder binder = new ImportRowBinder(LedgerType.EXPENSE, reader.next(), validation.getValidator());
+            for (String note : notes) {
+                List<String> errors = new ArrayList<>();
+                ImportRow row = binder.bind(reader.next(), errors);
+                assertThat(errors).isEmpty();
+                assertThat(row.text()).isEqualTo(note);
+                assertThat(row.dimension()).isEqualTo("+Misc");
+            }
+        }
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void plainApostropheTextIsNotUnguarded() {
+        assertThat(CsvRowWriter.unguard("'quoted")).isEqualTo("'quoted");
+        assertThat(CsvRowWriter.unguard("'")).isEqualTo("'");
+        assertThat(CsvRowWriter.unguard("''quoted")).isEqualTo("'quoted");
+        assertThat(CsvRowWriter.unguard("'-2")).isEqualTo("-2");
+    }
+
+    private static String write(Object[]... rows) throws Exception {
+        return write(new String[]{"id", "amount", "a", "b", "c", "d"},
+                new int[]{Types.BIGINT, Types.NUMERIC, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR}, rows);
+    }
+
+    private static String write(String[] labels, int[] types, Object[]... rows) throws Exception {
+        int columns = labels.length;
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columns);
+        for (int i = 1; i <= columns; i++) {
+            when(metaData.getColumnLabel(i)).thenReturn(labels[i - 1]);
+            when(metaData.getColumnType(i)).thenReturn(types[i - 1]);
+        }
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvRowWriter writer = new CsvRowWriter(out);
+        writer.writeHeader(rs);
+        for (Object[] row : rows) {
+            for (int i = 1; i <= columns; i++) {
+                when(rs.getString(i)).thenReturn((String) row[i - 1]);
+            }
+            writer.writeRow(rs);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+package com.financedash.finance_dashboard.export;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.service.ExportService;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a 5M-row CSV export into a counting sink under the benchmark profile's small heap
+ * and samples the old generation while it runs. Loading the rows as entities would need
+ * several times the heap, so finishing at all shows they are streamed; rows that are written
+ * and dropped die young, so the old generation staying flat shows the export keeps nothing.
+ * <p>
+ * The rows are removed afterwards: left in place they would be loaded by the in-memory search
+ * index of every later test context.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+@Tag("benchmark")
+class ExportBenchmarkTest {
+
+    private static final long ROWS = 5_000_000;
+    private static final long MAX_OLD_GEN_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AppUser user;
+
+    @AfterEach
+    void removeRows() {
+        TestUsers.signOut();
+        if (user != null) {
+            jdbcTemplate.update("DELETE FROM income WHERE user_id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void fiveMillionRowsStreamInFlatHeap() throws Exception {
+        user = TestUsers.create(users, "export-benchmark");
+        long seeding = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO income (user_id, amount, source, date, description)"
+                + " SELECT ?, (g % 100000) / 100.0, 'Salary', DATE '2000-01-01' + (g % 9000)::int, 'Payment ' || g"
+                + " FROM generate_series(1, ?) g", user.getId(), ROWS);
+        System.out.printf("seeded %d rows in %d ms%n", ROWS, (System.nanoTime() - seeding) / 1_000_000);
+
+        TestUsers.signIn(user);
+        StreamingResponseBody body = exportService.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+        TestUsers.signOut();
+
+        MemoryPoolMXBean oldGen = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> pool.getName().contains("Old Gen") || pool.getName().contains("Tenured"))
+                .findFirst().orElseThrow();
+        System.gc();
+        long baseline = oldGen.getUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        long collections = collections();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(oldGen.getUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        CountingSink sink = new CountingSink();
+        long started = System.nanoTime();
+        try {
+            body.writeTo(sink);
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        System.out.printf("export benchmark, %d rows, %d MB CSV in %.1f s (%.0f rows/s), max heap %d MB%n",
+                ROWS, sink.bytes / (1024 * 1024), seconds, ROWS / seconds, maxHeap / (1024 * 1024));
+        System.out.printf("  %s: baseline %d MB, peak %d MB, %d collections during the export%n", oldGen.getName(),
+                baseline / (1024 * 1024), peak.get() / (1024 * 1024), collections() - collections);
+
+        // Header plus one line per row
+        assertThat(sink.lines).isEqualTo(ROWS + 1);
+        assertThat(peak.get() - baseline).isLessThan(MAX_OLD_GEN_GROWTH);
+    }
+
+    private static long collections() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static final class CountingSink extends OutputStream {
+
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.financedash.finance_dashboard.filter;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.service.ExpenseService;
+import com.financedash.finance_dashboard.service.IncomeService;
+import com.financedash.finance_dashboard.service.InvestmentService;
+import com.financedash.finance_dashboard.support.StatementCapture;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures the SQL the text filters generate and checks, with EXPLAIN, that the owner-led
+ * trigram indexes serve both the owner and the text predicate. For the EXPLAIN, sequential
+ * and plain index scans are disabled and the table's other secondary indexes are dropped in
+ * a transaction that is rolled back, so the plan cannot settle on an owner index plus a
+ * filter and hide an expression the trigram index does not match.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+@Import(StatementCapture.class)
+class TextFilterIndexTest {
+
+    private static final LedgerFilter TEXT = new LedgerFilter(null, null, null, null, null, "Lunch");
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IncomeService incomeService;
+    @Autowired
+    private InvestmentService investmentService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AppUser user;
+
+    @BeforeEach
+    void signIn() {
+        user = TestUsers.create(users, "text-filter");
+        TestUsers.signIn(user);
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void expenseNotesFilterUsesOwnerTrigramIndex() {
+        StatementCapture.clear();
+        expenseService.getExpenses(TEXT, null, 5);
+        assertUsesIndex(listing("expense"), "expense", "idx_expense_user_notes_trgm", "lower((notes)::text)");
+    }
+
+    @Test
+    void incomeDescriptionFilterUsesOwnerTrigramIndex() {
+        StatementCapture.clear();
+        incomeService.getIncome(TEXT, null, 5);
+        assertUsesIndex(listing("income"), "income", "idx_income_user_description_trgm", "lower((description)::text)");
+    }
+
+    @Test
+    void investmentDescriptionFilterUsesOwnerTrigramIndex() {
+        StatementCapture.clear();
+        investmentService.getInvestments(TEXT, null, 5);
+        assertUsesIndex(listing("investment"), "investment", "idx_investment_user_description_trgm", "lower((description)::text)");
+    }
+
+    private static String listing(String table) {
+        return StatementCapture.single(sql -> sql.contains(" from " + table + " ") && sql.contains(" like "));
+    }
+
+    private void assertUsesIndex(String sql, String table, String index, String expression) {
+        List<String> setup = new ArrayList<>(List.of("SET LOCAL enable_seqscan = off", "SET LOCAL enable_indexscan = off"));
+        for (String other : jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = ? AND indexname <> ? AND indexname NOT LIKE '%pkey'",
+                String.class, table, index)) {
+            setup.add("DROP INDEX " + other);
+        }
+        // Owner, pattern and page size, in the order the listing binds them
+        String plan = StatementCapture.explain(jdbcTemplate, transactionManager, setup, sql, user.getId(), "%lunch%", 6);
+
+        assertThat(plan).contains("Bitmap Index Scan on " + index);
+        assertThat(plan).containsPattern("Index Cond: \\(\\(user_id = .+\\) AND \\(" + Pattern.quote(expression) + " ~~");
+    }
+}
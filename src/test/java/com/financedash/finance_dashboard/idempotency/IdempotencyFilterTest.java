@@ -0,0 +1,90 @@
+package com.financedash.finance_dashboard.idempotency;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.config.IdempotencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks which requests the filter records: credentials and tokens of the auth endpoints, and
+ * anything sent without authentication, must never reach the store.
+ */
+class IdempotencyFilterTest {
+
+    private static final String EXPENSES = ApiEndpoints.BasePaths.FULL_PATH + "/finance/expenses";
+    private static final String LOGIN_BODY = "{\"email\":\"a@b.c\",\"password\":\"secret\"}";
+
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, new IdempotencyProperties(),
+            JsonMapper.builder().findAndAddModules().build(), new SimpleMeterRegistry());
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authEndpointsAreNeverRecorded() throws Exception {
+        signIn();
+        for (String path : new String[]{ApiEndpoints.AuthPaths.LOGIN, ApiEndpoints.AuthPaths.REFRESH,
+                ApiEndpoints.AuthPaths.LOGOUT}) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post(path, LOGIN_BODY), new MockHttpServletResponse(), chain);
+            assertThat(chain.getRequest()).isNotNull();
+        }
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void unauthenticatedRequestsPassThroughUnrecorded() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            // The second request reuses the key with another body and must not learn it was used
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post(EXPENSES, "{\"amount\":" + i + "}"), response, chain);
+            assertThat(chain.getRequest()).isNotNull();
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void authenticatedRequestsAreScopedToTheUser() throws Exception {
+        signIn();
+        when(store.claim(any(), any(), any())).thenReturn(new IdempotencyStore.Claim.Busy());
+        filter.doFilter(post(EXPENSES, "{\"amount\":1}"), new MockHttpServletResponse(), new MockFilterChain());
+        verify(store).claim(eq("user:alice@example.com"), eq("key-1"), any());
+    }
+
+    private static void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "alice@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static MockHttpServletRequest post(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.addHeader(IdempotencyFilter.KEY_HEADER, "key-1");
+        return request;
+    }
+}
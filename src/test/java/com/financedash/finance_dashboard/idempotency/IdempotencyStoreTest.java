@@ -0,0 +1,234 @@
+package com.financedash.finance_dashboard.idempotency;
+
+import com.financedash.finance_dashboard.config.IdempotencyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the store with a mocked repository whose answers follow the conditions of the
+ * repository's SQL, so races between requests and between instances can be replayed.
+ */
+class IdempotencyStoreTest {
+
+    private static final int KEYS = 32;
+    private static final int THREADS = 16;
+
+    private final Map<String, IdempotencyRecord> table = new HashMap<>();
+    private final AtomicInteger claimCalls = new AtomicInteger();
+    private IdempotencyRecordRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.claim(any(), any(), any(), any(), any())).thenAnswer(call -> {
+            claimCalls.incrementAndGet();
+            return claim(call.getArgument(0), call.getArgument(1), call.getArgument(2), call.getArgument(3), call.getArgument(4));
+        });
+        when(repository.complete(any(), any(), any(), anyInt(), any(), any(), any())).thenAnswer(call ->
+                complete(call.getArgument(0), call.getArgument(1), call.getArgument(2), call.getArgument(3), call.getArgument(6)));
+        when(repository.release(any(), any(), any())).thenAnswer(call ->
+                release(call.getArgument(0), call.getArgument(1), call.getArgument(2)));
+        when(repository.findById(any())).thenAnswer(call -> find(call.getArgument(0)));
+    }
+
+    @Test
+    void concurrentDuplicatesExecuteOnceAndReplayTheResponse() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(repository, properties(4, 10_000, Duration.ofMinutes(1)));
+        List<Map<String, String>> outcomes = race(store);
+
+        for (int k = 0; k < KEYS; k++) {
+            String key = "key-" + k;
+            List<String> seen = outcomes.stream().map(o -> o.get(key)).toList();
+            assertThat(seen).filteredOn("acquired"::equals).hasSize(1);
+            assertThat(seen).filteredOn(s -> !s.equals("acquired")).containsOnly("replayed " + key);
+        }
+        // Duplicates on the instance never reach the table
+        assertThat(claimCalls.get()).isEqualTo(KEYS);
+    }
+
+    @Test
+    void evictedResponsesAreReplayedFromTheTable() throws Exception {
+        // One entry per shard, so completed keys keep falling out of memory while others are claimed
+        IdempotencyStore store = new IdempotencyStore(repository, properties(4, 4, Duration.ofMinutes(1)));
+        List<Map<String, String>> outcomes = race(store);
+
+        for (int k = 0; k < KEYS; k++) {
+            String key = "key-" + k;
+            List<String> seen = outcomes.stream().map(o -> o.get(key)).toList();
+            assertThat(seen).filteredOn("acquired"::equals).hasSize(1);
+            assertThat(seen).filteredOn(s -> !s.equals("acquired")).containsOnly("replayed " + key);
+        }
+    }
+
+    @Test
+    void staleClaimCannotReleaseANewerOne() throws Exception {
+        IdempotencyStore slow = new IdempotencyStore(repository, properties(1, 100, Duration.ofMillis(1)));
+        IdempotencyStore other = new IdempotencyStore(repository, properties(1, 100, Duration.ofMinutes(1)));
+        IdempotencyStore.Claim.Acquired stale = (IdempotencyStore.Claim.Acquired) slow.claim("user", "k", "fp");
+        Thread.sleep(5);
+        IdempotencyStore.Claim.Acquired fresh = (IdempotencyStore.Claim.Acquired) other.claim("user", "k", "fp");
+
+        slow.release(stale);
+
+        assertThat(find(fresh.id())).isPresent();
+        assertThat(other.claim("user", "k", "fp")).isInstanceOf(IdempotencyStore.Claim.InFlight.class);
+        assertThat(new IdempotencyStore(repository, properties(1, 100, Duration.ofMinutes(1))).claim("user", "k", "fp"))
+                .isInstanceOf(IdempotencyStore.Claim.Busy.class);
+    }
+
+    @Test
+    void staleClaimCannotOverwriteANewerOne() throws Exception {
+        // Two instances sharing the table; the first outlives its lock-timeout
+        IdempotencyStore slow = new IdempotencyStore(repository, properties(1, 100, Duration.ofMillis(1)));
+        IdempotencyStore other = new IdempotencyStore(repository, properties(1, 100, Duration.ofMinutes(1)));
+        IdempotencyStore.Claim.Acquired stale = (IdempotencyStore.Claim.Acquired) slow.claim("user", "k", "fp");
+        Thread.sleep(5);
+        IdempotencyStore.Claim.Acquired fresh = (IdempotencyStore.Claim.Acquired) other.claim("user", "k", "fp");
+
+        slow.complete(stale, response("fp", 500));
+        assertThat(find(fresh.id()).orElseThrow().getStatus()).isNull();
+        // Duplicates waiting on the slow instance still get the response it produced
+        assertThat(stale.done().get().status()).isEqualTo(500);
+
+        other.complete(fresh, response("fp", 201));
+        assertThat(find(fresh.id()).orElseThrow().getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void releasedClaimCanBeRetriedAtOnce() {
+        IdempotencyStore store = new IdempotencyStore(repository, properties(1, 100, Duration.ofMinutes(1)));
+        IdempotencyStore.Claim.Acquired first = (IdempotencyStore.Claim.Acquired) store.claim("user", "k", "fp");
+        store.release(first);
+
+        assertThat(store.claim("user", "k", "fp")).isInstanceOf(IdempotencyStore.Claim.Acquired.class);
+    }
+
+    /**
+     * Every thread claims every key in its own order; whoever acquires a key completes it with
+     * a response naming the key. Returns, per thread, what happened to each key.
+     */
+    private List<Map<String, String>> race(IdempotencyStore store) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Map<String, String>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    Map<String, String> outcome = new HashMap<>();
+                    start.await();
+                    for (int i = 0; i < KEYS; i++) {
+                        String key = "key-" + (i * 7 + offset) % KEYS;
+                        outcome.put(key, attempt(store, key));
+                    }
+                    return outcome;
+                }));
+            }
+            start.countDown();
+            List<Map<String, String>> outcomes = new ArrayList<>();
+            for (Future<Map<String, String>> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String attempt(IdempotencyStore store, String key) throws Exception {
+        String fingerprint = "fp-" + key;
+        while (true) {
+            switch (store.claim("user", key, fingerprint)) {
+                case IdempotencyStore.Claim.Acquired acquired -> {
+                    Thread.yield();
+                    store.complete(acquired, new StoredResponse(fingerprint, 201, "text/plain", null, key.getBytes()));
+                    return "acquired";
+                }
+                case IdempotencyStore.Claim.Completed completed -> {
+                    return "replayed " + new String(completed.response().body());
+                }
+                case IdempotencyStore.Claim.InFlight inFlight -> {
+                    StoredResponse response = inFlight.done().get(10, TimeUnit.SECONDS);
+                    if (response != null) {
+                        return "replayed " + new String(response.body());
+                    }
+                }
+                // Claimed in the table but not in this instance's memory yet; retry like a client would
+                case IdempotencyStore.Claim.Busy busy -> Thread.sleep(1);
+            }
+        }
+    }
+
+    private synchronized int claim(String id, String fingerprint, Instant now, Instant lockedUntil, Instant expiresAt) {
+        IdempotencyRecord existing = table.get(id);
+        if (existing != null && !existing.getExpiresAt().isBefore(now)
+                && !(existing.getStatus() == null && existing.getLockedUntil().isBefore(now))) {
+            return 0;
+        }
+        table.put(id, new IdempotencyRecord(id, fingerprint, null, null, null, null, lockedUntil, expiresAt));
+        return 1;
+    }
+
+    private synchronized int complete(String id, String fingerprint, Instant lockedUntil, int status, byte[] body) {
+        IdempotencyRecord record = table.get(id);
+        if (record == null || !owns(record, fingerprint, lockedUntil)) {
+            return 0;
+        }
+        record.setStatus(status);
+        record.setBody(body);
+        return 1;
+    }
+
+    private synchronized int release(String id, String fingerprint, Instant lockedUntil) {
+        IdempotencyRecord record = table.get(id);
+        if (record == null || !owns(record, fingerprint, lockedUntil)) {
+            return 0;
+        }
+        table.remove(id);
+        return 1;
+    }
+
+    private synchronized Optional<IdempotencyRecord> find(String id) {
+        IdempotencyRecord record = table.get(id);
+        return Optional.ofNullable(record == null ? null : new IdempotencyRecord(record.getId(), record.getFingerprint(),
+                record.getStatus(), record.getContentType(), record.getLocation(), record.getBody(),
+                record.getLockedUntil(), record.getExpiresAt()));
+    }
+
+    private static boolean owns(IdempotencyRecord record, String fingerprint, Instant lockedUntil) {
+        return record.getStatus() == null && record.getFingerprint().equals(fingerprint)
+                && record.getLockedUntil().equals(lockedUntil);
+    }
+
+    private static IdempotencyProperties properties(int shards, int maxEntries, Duration lockTimeout) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setShards(shards);
+        properties.setMaxEntries(maxEntries);
+        properties.setLockTimeout(lockTimeout);
+        return properties;
+    }
+
+    private static StoredResponse response(String fingerprint, int status) {
+        return new StoredResponse(fingerprint, status, "text/plain", null, new byte[0]);
+    }
+}
@@ -0,0 +1,47 @@
+package com.financedash.finance_dashboard.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void longCellRefusesOnlyItsRecord() throws Exception {
+        CsvRecordReader reader = reader("a,b\n1,\"" + "x".repeat(11) + "\n\"\n2,ok\n");
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThatThrownBy(reader::next).isInstanceOf(CsvRecordReader.RecordTooLongException.class)
+                .hasMessage("Cell exceeds 10 characters");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("2", "ok");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void recordOfManyEmptyCellsIsRefused() throws Exception {
+        CsvRecordReader reader = reader(",".repeat(1000) + "\r\n1,2\r\n");
+
+        assertThatThrownBy(reader::next).isInstanceOf(CsvRecordReader.RecordTooLongException.class)
+                .hasMessage("Record exceeds 32 characters");
+        assertThat(reader.next()).containsExactly("1", "2");
+    }
+
+    @Test
+    void cellsUpToTheLimitsAreKept() throws Exception {
+        // Ten characters per cell and 32 per record, the quotes and the doubled quote included
+        String cell = "x".repeat(10);
+        List<String> cells = reader(cell + "," + cell + ",\"x\"\"y\"\n").next();
+
+        assertThat(cells).containsExactly(cell, cell, "x\"y");
+    }
+
+    private static CsvRecordReader reader(String csv) {
+        return new CsvRecordReader(new StringReader(csv), 10, 32);
+    }
+}
@@ -0,0 +1,128 @@
+package com.financedash.finance_dashboard.importer;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.ImportReportDTO;
+import com.financedash.finance_dashboard.rollup.PrefixSumService;
+import com.financedash.finance_dashboard.service.ImportService;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Imports a generated newest-first expense CSV, the order bank exports usually come in and
+ * the worst case for the daily prefix sums, and reports rows per second. The upload is
+ * generated while it is read, so only the import itself holds memory.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+@Tag("benchmark")
+class ImportBenchmarkTest {
+
+    private static final int ROWS = 500_000;
+    private static final int DAYS = 5 * 365;
+    private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private PrefixSumService prefixSumService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AppUser user;
+
+    @AfterEach
+    void removeRows() {
+        TestUsers.signOut();
+        if (user != null) {
+            // Left in place, the rows would be loaded by the search index of every later test context
+            jdbcTemplate.update("DELETE FROM expense WHERE user_id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void newestFirstUpload() throws Exception {
+        user = TestUsers.create(users, "import-benchmark");
+        TestUsers.signIn(user);
+
+        long started = System.nanoTime();
+        ImportReportDTO report = importService.importCsv(LedgerType.EXPENSE, new GeneratedCsv(ROWS));
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("import benchmark, %d newest-first rows over %d days: %.1f s, %.0f rows/s%n",
+                ROWS, DAYS, seconds, ROWS / seconds);
+
+        assertThat(report.isCompleted()).isTrue();
+        assertThat(report.getImported()).isEqualTo(ROWS);
+        LocalDate from = LAST_DAY.minusDays(DAYS - 1);
+        Double stored = jdbcTemplate.queryForObject(
+                "SELECT SUM(amount) FROM expense WHERE user_id = ?", Double.class, user.getId());
+        assertThat(prefixSumService.getRangeTotals(user.getId(), from, LAST_DAY).get(LedgerType.EXPENSE))
+                .isCloseTo(stored, within(0.01));
+        LocalDate month = LocalDate.of(2023, 6, 1);
+        Double june = jdbcTemplate.queryForObject(
+                "SELECT SUM(amount) FROM expense WHERE user_id = ? AND date >= ? AND date < ?",
+                Double.class, user.getId(), month, month.plusMonths(1));
+        assertThat(prefixSumService.getRangeTotals(user.getId(), month, month.plusMonths(1).minusDays(1))
+                .get(LedgerType.EXPENSE)).isCloseTo(june, within(0.01));
+    }
+
+    /**
+     * Rows spread evenly over the days, latest day first.
+     */
+    private static final class GeneratedCsv extends InputStream {
+
+        private final int rows;
+        private int row = -1;
+        private byte[] line = "amount,category,date,notes\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+            return line[position++];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextLine() {
+            if (++row >= rows) {
+                return false;
+            }
+            LocalDate date = LAST_DAY.minusDays((long) row * DAYS / rows);
+            String text = (row % 37 + 1) + "." + (row % 100) + ",Category " + (row % 12) + "," + date
+                    + ",Imported entry " + row + "\n";
+            line = text.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
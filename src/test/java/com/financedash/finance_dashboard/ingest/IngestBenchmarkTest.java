@@ -0,0 +1,121 @@
+package com.financedash.finance_dashboard.ingest;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IngestReceiptDTO;
+import com.financedash.finance_dashboard.service.ExpenseService;
+import com.financedash.finance_dashboard.service.IngestService;
+import com.financedash.finance_dashboard.support.Latencies;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Synchronous creates against write-behind ingestion: the same concurrent load through both,
+ * reporting throughput and per-request latency. For async, latency is the time to the 202 and
+ * throughput counts until the last write is persisted.
+ */
+@SpringBootTest(properties = {
+        "finance.ingest.enabled=true",
+        "finance.ingest.instance-id=benchmark",
+        "finance.ingest.journal-directory=${java.io.tmpdir}/finance-ingest-benchmark",
+        "finance.recurring.enabled=false"
+})
+@Tag("benchmark")
+class IngestBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int WRITES_PER_THREAD = 250;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private IngestService ingestService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void syncVersusAsync() throws Exception {
+        AppUser user = TestUsers.create(users, "ingest-benchmark");
+        // Warm both paths up before measuring
+        run(user, false, 20);
+        run(user, true, 20);
+
+        Result sync = run(user, false, WRITES_PER_THREAD);
+        Result async = run(user, true, WRITES_PER_THREAD);
+        System.out.printf("ingest benchmark, %d threads x %d writes%n", THREADS, WRITES_PER_THREAD);
+        System.out.printf("  sync : %6.0f writes/s, %s%n", sync.throughput(), sync.latencies());
+        System.out.printf("  async: %6.0f writes/s persisted, acknowledge %s%n", async.throughput(), async.latencies());
+
+        long stored = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expense WHERE user_id = ?", Long.class, user.getId());
+        assertThat(stored).isEqualTo(2L * THREADS * (20 + WRITES_PER_THREAD));
+    }
+
+    private Result run(AppUser user, boolean async, int writesPerThread) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long[] latencies = new long[THREADS * writesPerThread];
+        List<Long> receiptIds = new ArrayList<>();
+        long started = System.nanoTime();
+        try {
+            List<Future<List<Long>>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * writesPerThread;
+                workers.add(pool.submit(() -> {
+                    TestUsers.signIn(user);
+                    List<Long> ids = new ArrayList<>(writesPerThread);
+                    for (int i = 0; i < writesPerThread; i++) {
+                        ExpenseDTO expense = new ExpenseDTO(null, 1.0 + i % 50, "benchmark", LocalDate.now(), null);
+                        long sent = System.nanoTime();
+                        if (async) {
+                            ids.add(ingestService.submitExpense(expense).getId());
+                        } else {
+                            expenseService.addExpense(expense);
+                        }
+                        latencies[offset + i] = System.nanoTime() - sent;
+                    }
+                    TestUsers.signOut();
+                    return ids;
+                }));
+            }
+            for (Future<List<Long>> worker : workers) {
+                receiptIds.addAll(worker.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (async) {
+            TestUsers.signIn(user);
+            for (Long id : receiptIds) {
+                IngestReceiptDTO receipt = ingestService.getReceipt(id);
+                while (receipt.getStatus() == IngestReceiptDTO.Status.QUEUED
+                        || receipt.getStatus() == IngestReceiptDTO.Status.BUFFERED) {
+                    Thread.sleep(1);
+                    receipt = ingestService.getReceipt(id);
+                }
+                assertThat(receipt.getStatus()).isEqualTo(IngestReceiptDTO.Status.PERSISTED);
+            }
+            TestUsers.signOut();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return new Result(latencies.length / seconds, new Latencies(latencies));
+    }
+
+    private record Result(double throughput, Latencies latencies) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.financedash.finance_dashboard.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.importer.ImportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestJournalTest {
+
+    // A few records per segment
+    private static final long SEGMENT_BYTES = 300;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void releaseDeletesSegmentsHoldingOnlyCommittedWrites() throws IOException {
+        try (IngestJournal journal = open()) {
+            assertThat(journal.readAll()).isEmpty();
+            for (long sequence = 1; sequence <= 40; sequence++) {
+                journal.append(write(sequence));
+            }
+            assertThat(segments()).hasSizeGreaterThan(3);
+
+            // Under steady load something is always queued, yet committed segments still go
+            journal.release(25);
+        }
+        try (IngestJournal journal = open()) {
+            List<Long> replayed = journal.readAll().stream().map(PendingWrite::sequence).toList();
+            // Only the segment that also holds later writes keeps committed ones
+            assertThat(replayed).doesNotContain(1L).endsWith(LongStream.rangeClosed(26, 40).boxed().toArray(Long[]::new));
+            assertThat(replayed.size()).isLessThan(25);
+
+            journal.release(40);
+            assertThat(segments()).hasSize(1);
+            assertThat(Files.size(segments().getFirst())).isZero();
+        }
+        try (IngestJournal journal = open()) {
+            assertThat(journal.readAll()).isEmpty();
+            journal.append(write(41));
+        }
+        try (IngestJournal journal = open()) {
+            assertThat(journal.readAll()).extracting(PendingWrite::sequence).containsExactly(41L);
+        }
+    }
+
+    @Test
+    void partialRecordOfTheNewestSegmentIsCutOff() throws IOException {
+        try (IngestJournal journal = open()) {
+            journal.readAll();
+            for (long sequence = 1; sequence <= 10; sequence++) {
+                journal.append(write(sequence));
+            }
+        }
+        Path newest = segments().getLast();
+        Files.writeString(newest, "{\"sequence\":11,\"user", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (IngestJournal journal = open()) {
+            assertThat(journal.readAll()).extracting(PendingWrite::sequence)
+                    .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+            journal.append(write(11));
+        }
+        try (IngestJournal journal = open()) {
+            assertThat(journal.readAll()).extracting(PendingWrite::sequence).endsWith(10L, 11L);
+        }
+    }
+
+    private IngestJournal open() {
+        return new IngestJournal(directory, "node-1", SEGMENT_BYTES, objectMapper);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static PendingWrite write(long sequence) {
+        return new PendingWrite(sequence, 1L, LedgerType.EXPENSE,
+                new ImportRow(LocalDate.of(2024, 1, 1), sequence, "Food", "Lunch", 0.0));
+    }
+}
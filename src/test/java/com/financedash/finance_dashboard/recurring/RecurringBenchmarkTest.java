@@ -0,0 +1,157 @@
+package com.financedash.finance_dashboard.recurring;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.payload.RecurringRunReport;
+import com.financedash.finance_dashboard.search.SearchIndexService;
+import com.financedash.finance_dashboard.service.RecurringRuleService;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Materializes 1M due rules in one catch-up run on the application's scheduler, under the
+ * benchmark profile's small heap, and samples the old generation while it runs. Rules are
+ * handled in chunks, so the old generation must stay flat however many rules are due; a task
+ * scheduled during the run must still start at once, as the summary refresh and idempotency
+ * cleanup would.
+ * <p>
+ * The in-memory search index is replaced, since it keeps every entry by design and would
+ * dominate the sample. Rules and entries are removed afterwards.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+@Tag("benchmark")
+class RecurringBenchmarkTest {
+
+    private static final long RULES = 1_000_000;
+    private static final long MAX_OLD_GEN_GROWTH = 64L * 1024 * 1024;
+    private static final long MAX_SECONDS = 600;
+    private static final LocalDate AS_OF = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private RecurringRuleService recurringRuleService;
+    @Autowired
+    private TaskScheduler taskScheduler;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @TestBean
+    private SearchIndexService searchIndexService;
+
+    private AppUser user;
+
+    @AfterEach
+    void removeRows() {
+        if (user != null) {
+            for (String table : List.of("income", "expense", "investment", "user_ledger_rollup",
+                    "user_ledger_daily_prefix", "recurring_rule")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+            }
+        }
+    }
+
+    @Test
+    void millionDueRulesInBoundedTimeAndHeap() throws Exception {
+        user = TestUsers.create(users, "recurring-benchmark");
+        long seeding = System.nanoTime();
+        // Monthly rules started within the last four weeks, each due exactly once, over all ledgers
+        jdbcTemplate.update("INSERT INTO recurring_rule (user_id, ledger, amount, dimension, description, return_rate,"
+                + " frequency, repeat_interval, start_date, next_due, occurrences)"
+                + " SELECT ?, (ARRAY['INCOME', 'EXPENSE', 'INVESTMENT'])[g % 3 + 1], (g % 100000) / 100.0,"
+                + " (ARRAY['Salary', 'Rent', 'STOCK'])[g % 3 + 1], 'Rule ' || g, 0, 'MONTHLY', 1,"
+                + " ?::date - (g % 28)::int, ?::date - (g % 28)::int, 0"
+                + " FROM generate_series(1, ?) g", user.getId(), AS_OF, AS_OF, RULES);
+        System.out.printf("seeded %d rules in %d ms%n", RULES, (System.nanoTime() - seeding) / 1_000_000);
+
+        MemoryPoolMXBean oldGen = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> pool.getName().contains("Old Gen") || pool.getName().contains("Tenured"))
+                .findFirst().orElseThrow();
+        System.gc();
+        long baseline = oldGen.getUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        long collections = collections();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(oldGen.getUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        AtomicReference<RecurringRunReport> report = new AtomicReference<>();
+        long started = System.nanoTime();
+        long probeDelay;
+        try {
+            ScheduledFuture<?> run = taskScheduler.schedule(
+                    () -> report.set(recurringRuleService.materializeDue(AS_OF)), Instant.now());
+            Thread.sleep(1000);
+            CountDownLatch probe = new CountDownLatch(1);
+            long probed = System.nanoTime();
+            taskScheduler.schedule(probe::countDown, Instant.now());
+            assertThat(probe.await(5, TimeUnit.SECONDS)).as("task scheduled during the catch-up run").isTrue();
+            probeDelay = (System.nanoTime() - probed) / 1_000_000;
+            assertThat(run.isDone()).as("catch-up still running when the probe started").isFalse();
+            run.get(MAX_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        RecurringRunReport result = report.get();
+        System.out.printf("recurring benchmark, %d rules, %d entries in %d chunks: %.1f s (%.0f rules/s),"
+                        + " max heap %d MB%n", result.getRulesProcessed(), result.getEntriesCreated(), result.getChunks(),
+                seconds, result.getRulesProcessed() / seconds, Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        System.out.printf("  %s: baseline %d MB, peak %d MB, %d collections during the run;"
+                        + " task scheduled mid-run started after %d ms%n", oldGen.getName(), baseline / (1024 * 1024),
+                peak.get() / (1024 * 1024), collections() - collections, probeDelay);
+
+        long entries = 0;
+        for (String table : List.of("income", "expense", "investment")) {
+            entries += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?",
+                    Long.class, user.getId());
+        }
+        assertThat(entries).isEqualTo(RULES);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM recurring_rule WHERE user_id = ? AND next_due <= ?",
+                Long.class, user.getId(), AS_OF)).isZero();
+        assertThat(peak.get() - baseline).isLessThan(MAX_OLD_GEN_GROWTH);
+    }
+
+    // Stub-only, so the mock does not keep every change event it receives
+    static SearchIndexService searchIndexService() {
+        return mock(SearchIndexService.class, withSettings().stubOnly());
+    }
+
+    private static long collections() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+}
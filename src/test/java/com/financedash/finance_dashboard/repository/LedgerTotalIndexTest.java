@@ -0,0 +1,107 @@
+package com.financedash.finance_dashboard.repository;
+
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.support.StatementCapture;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks, with EXPLAIN on the SQL Hibernate generates, that the month totals compare the bare
+ * date column against a half-open range and are answered from an owner-led covering index
+ * without visiting the table. The owner gets a few years of entries so the plan is the one a
+ * real account gets rather than whatever is cheapest for a handful of rows. Bitmap scans are
+ * disabled for the EXPLAIN: they read the same index but always visit the table, and the
+ * planner picks between the two on cost estimates alone.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+@Import(StatementCapture.class)
+class LedgerTotalIndexTest {
+
+    private static final List<String> NO_BITMAP = List.of("SET LOCAL enable_bitmapscan = off");
+    private static final int DAYS = 3 * 365;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+    private static final LocalDate FROM = LocalDate.of(2024, 2, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private IncomeRepository incomeRepository;
+    @Autowired
+    private InvestmentRepository investmentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void seedOwner() {
+        userId = TestUsers.create(users, "ledger-totals").getId();
+        List<Object[]> rows = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int i = 0; i < 4; i++) {
+                rows.add(new Object[]{userId, 10.0 + i, "c" + i, FIRST_DAY.plusDays(day)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expense (user_id, amount, category, date) VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.batchUpdate("INSERT INTO income (user_id, amount, source, date) VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.batchUpdate("INSERT INTO investment (user_id, amount, type, investment_date) VALUES (?, ?, ?, ?)", rows);
+        // Fresh statistics for the planner and a visibility map for index-only scans
+        jdbcTemplate.execute("VACUUM ANALYZE expense, income, investment");
+    }
+
+    @Test
+    void expenseTotalIsAnIndexOnlyRangeScan() {
+        StatementCapture.clear();
+        expenseRepository.getExpenseTotal(userId, FROM, TO);
+        assertIndexOnlyRange(total("expense"), "idx_expense_user_date_", "date");
+    }
+
+    @Test
+    void incomeTotalIsAnIndexOnlyRangeScan() {
+        StatementCapture.clear();
+        incomeRepository.getIncomeTotal(userId, FROM, TO);
+        assertIndexOnlyRange(total("income"), "idx_income_user_date_", "date");
+    }
+
+    @Test
+    void investmentTotalIsAnIndexOnlyRangeScan() {
+        StatementCapture.clear();
+        investmentRepository.getInvestmentTotal(userId, FROM, TO);
+        assertIndexOnlyRange(total("investment"), "idx_investment_user_date_", "investment_date");
+    }
+
+    private static String total(String table) {
+        return StatementCapture.single(sql -> sql.startsWith("select sum(") && sql.contains(" from " + table + " "));
+    }
+
+    /**
+     * @param indexPrefix the (user_id, date, ...) indexes; with or without the dimension, both cover amount
+     */
+    private void assertIndexOnlyRange(String sql, String indexPrefix, String dateColumn) {
+        // No function may wrap the date column, or the range cannot use the index
+        assertThat(sql).doesNotContain("extract(").doesNotContain("month(").doesNotContain("year(");
+
+        String plan = StatementCapture.explain(jdbcTemplate, transactionManager, NO_BITMAP, sql, userId, FROM, TO);
+        assertThat(plan).containsPattern("Index Only Scan using " + indexPrefix + "\\w*amount ");
+        assertThat(plan).containsPattern("Index Cond: \\(\\(user_id = .+\\) AND \\(" + dateColumn + " >= .+\\) AND \\("
+                + dateColumn + " < .+\\)\\)");
+        assertThat(plan).doesNotContain("Filter:");
+    }
+}
@@ -0,0 +1,68 @@
+package com.financedash.finance_dashboard.rollup;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a reconcile repair next to a live write on the same user and ledger: the repair
+ * holds the writer lock and then upserts rollup rows, which deadlocks unless writers also
+ * take the lock before their first rollup row.
+ */
+@SpringBootTest(properties = "finance.recurring.enabled=false")
+class RollupLockOrderTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private PrefixSumService prefixSumService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writerQueuesBehindARepairInsteadOfDeadlocking() throws Exception {
+        AppUser user = TestUsers.create(users, "rollup-lock-order");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<Void> write = transaction.execute(status -> {
+            prefixSumService.lockWriters(user.getId(), LedgerType.EXPENSE);
+            CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(s ->
+                    rollupService.record(user.getId(), LedgerType.EXPENSE, DAY, "Food", 5.0)));
+            sleep(500);
+            // The repair's upsert of the same rows, as reconcile applies it
+            rollupService.recordRollups(LedgerType.EXPENSE, List.of(new LedgerEntry(user.getId(), DAY, "Food", 7.0)));
+            assertThat(writer).isNotDone();
+            return writer;
+        });
+        write.get(10, TimeUnit.SECONDS);
+
+        assertThat(rollupService.getMonthTotals(user.getId(), DAY.withDayOfMonth(1)).get(LedgerType.EXPENSE))
+                .isEqualTo(12.0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.financedash.finance_dashboard.search;
+
+import com.financedash.finance_dashboard.config.SearchProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.repository.SearchTextRepository;
+import com.financedash.finance_dashboard.support.Latencies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Streams 10M synthetic expense notes through the startup rebuild under the benchmark
+ * profile's small heap, then times term, two-term and prefix queries. One owner holds 1M
+ * records and 90 owners hold 100k each, since every owner has an index of their own and query
+ * cost follows the owner's size, not the total.
+ * <p>
+ * Notes are a category followed by two merchant words drawn from a skewed vocabulary, so
+ * posting lists range from a tenth of the owner's records down to a handful.
+ */
+@Tag("benchmark")
+class SearchIndexBenchmarkTest {
+
+    private static final long LARGE_OWNER = 1;
+    private static final int LARGE_OWNER_RECORDS = 1_000_000;
+    private static final int OWNERS = 90;
+    private static final int RECORDS_PER_OWNER = 100_000;
+    private static final int VOCABULARY = 5_000;
+    private static final String[] CATEGORIES = {"coffee", "groceries", "rent", "fuel", "dining", "travel",
+            "utilities", "pharmacy", "books", "gym"};
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "sa", "to", "vi", "be", "da",
+            "fu", "go", "hi", "ja", "ko", "li", "ma", "no", "pe", "ri"};
+    private static final int WARMUP = 100;
+    private static final int QUERIES = 1_000;
+    private static final int LIMIT = 20;
+    private static final double MAX_P99_MILLIS = 100;
+
+    private final SearchTextRepository textRepository = mock(SearchTextRepository.class);
+    private final SearchIndexService service = new SearchIndexService(textRepository, new SearchProperties(),
+            mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        service.shutdownRebuildExecutor();
+    }
+
+    @Test
+    void tenMillionRecordsRebuildAndAnswerQueries() throws Exception {
+        long[] coffeeInLargeOwner = {0};
+        doAnswer(call -> {
+            SearchTextRepository.TextConsumer consumer = call.getArgument(1);
+            SplittableRandom random = new SplittableRandom(16);
+            long id = 0;
+            for (long owner = LARGE_OWNER; owner <= LARGE_OWNER + OWNERS; owner++) {
+                int records = owner == LARGE_OWNER ? LARGE_OWNER_RECORDS : RECORDS_PER_OWNER;
+                for (int i = 0; i < records; i++) {
+                    int category = random.nextInt(CATEGORIES.length);
+                    if (owner == LARGE_OWNER && category == 0) {
+                        coffeeInLargeOwner[0]++;
+                    }
+                    consumer.accept(owner, ++id, CATEGORIES[category] + " " + merchant(random) + " " + merchant(random));
+                }
+            }
+            return null;
+        }).when(textRepository).forEachText(eq(LedgerType.EXPENSE), any());
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long started = System.nanoTime();
+        service.rebuildOnStartup();
+        long deadline = started + TimeUnit.MINUTES.toNanos(10);
+        while (!service.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(service.isReady()).isTrue();
+        long rebuildMillis = (System.nanoTime() - started) / 1_000_000;
+        System.gc();
+        long records = LARGE_OWNER_RECORDS + (long) OWNERS * RECORDS_PER_OWNER;
+        System.out.printf("search benchmark, %d records over %d owners: rebuilt in %d ms (%.0f records/s),"
+                        + " index holds %d MB of %d MB max heap%n", records, OWNERS + 1, rebuildMillis,
+                records * 1000.0 / rebuildMillis, (usedHeap() - heapBefore) / (1024 * 1024),
+                Runtime.getRuntime().maxMemory() / (1024 * 1024));
+
+        assertThat(service.search(LARGE_OWNER, List.of("coffee"), false, List.of(LedgerType.values()), LIMIT).total())
+                .isEqualTo(coffeeInLargeOwner[0]);
+
+        SplittableRandom random = new SplittableRandom(61);
+        for (long owner : new long[]{LARGE_OWNER, LARGE_OWNER + 1}) {
+            System.out.printf("  owner with %d records:%n",
+                    owner == LARGE_OWNER ? LARGE_OWNER_RECORDS : RECORDS_PER_OWNER);
+            report(owner, "category term", r -> List.of(CATEGORIES[r.nextInt(CATEGORIES.length)]), false, random);
+            report(owner, "merchant term", r -> List.of(merchant(r)), false, random);
+            report(owner, "two terms", r -> List.of(CATEGORIES[r.nextInt(CATEGORIES.length)], merchant(r)), false,
+                    random);
+            report(owner, "prefix", r -> List.of(SYLLABLES[r.nextInt(SYLLABLES.length)]), true, random);
+        }
+    }
+
+    private void report(long owner, String kind, Function<SplittableRandom, List<String>> query, boolean prefixLast,
+                        SplittableRandom random) {
+        long[] nanos = new long[QUERIES];
+        long matched = 0;
+        for (int i = -WARMUP; i < QUERIES; i++) {
+            List<String> terms = query.apply(random);
+            long started = System.nanoTime();
+            SearchIndexService.Ranking ranking = service.search(owner, terms, prefixLast,
+                    List.of(LedgerType.values()), LIMIT);
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - started;
+                matched += ranking.total();
+            }
+        }
+        Latencies latencies = new Latencies(nanos);
+        System.out.printf("    %-13s %s, %d matches on average%n", kind, latencies, matched / QUERIES);
+        assertThat(latencies.percentileMillis(99)).as("%s p99 for owner %d", kind, owner).isLessThan(MAX_P99_MILLIS);
+    }
+
+    // Cubing the uniform draw skews it towards the first words, as merchants are in real notes
+    private static String merchant(SplittableRandom random) {
+        double u = random.nextDouble();
+        int word = (int) (VOCABULARY * u * u * u);
+        StringBuilder text = new StringBuilder();
+        do {
+            text.append(SYLLABLES[word % SYLLABLES.length]);
+            word /= SYLLABLES.length;
+        } while (word > 0);
+        return text.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
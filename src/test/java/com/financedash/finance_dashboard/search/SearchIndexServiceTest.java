@@ -0,0 +1,128 @@
+package com.financedash.finance_dashboard.search;
+
+import com.financedash.finance_dashboard.config.SearchProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.event.LedgerChangedEvent;
+import com.financedash.finance_dashboard.repository.SearchTextRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replays the startup rebuild against live writes arriving while it streams.
+ */
+class SearchIndexServiceTest {
+
+    private final SearchTextRepository textRepository = mock(SearchTextRepository.class);
+    private final SearchIndexService service = new SearchIndexService(textRepository, new SearchProperties(),
+            mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        service.shutdownRebuildExecutor();
+    }
+
+    @Test
+    void writesForOwnersNotYetRebuiltWaitUntilTheRebuildPassesThem() throws Exception {
+        List<Long> visibleWhileDeferred = new ArrayList<>();
+        doAnswer(call -> {
+            SearchTextRepository.TextConsumer consumer = call.getArgument(1);
+            consumer.accept(1, 10, "coffee beans");
+            consumer.accept(1, 11, "coffee filter");
+            // Owner 1 is still being rebuilt and owner 3 has not been reached
+            service.onLedgerChanged(changed(1L, 500L, "coffee grinder"));
+            service.onLedgerChanged(changed(3L, 501L, "coffee mug"));
+            visibleWhileDeferred.add(hits(1L, "grinder"));
+            visibleWhileDeferred.add(hits(3L, "mug"));
+
+            consumer.accept(2, 12, "coffee shop");
+            // Owner 1 is complete now
+            visibleWhileDeferred.add(hits(1L, "grinder"));
+            service.onLedgerChanged(changed(1L, 502L, "coffee scale"));
+            visibleWhileDeferred.add(hits(1L, "scale"));
+
+            consumer.accept(3, 13, "coffee table");
+            return null;
+        }).when(textRepository).forEachText(eq(LedgerType.EXPENSE), any());
+
+        rebuild();
+
+        assertThat(visibleWhileDeferred).containsExactly(0L, 0L, 1L, 1L);
+        assertThat(hits(1L, "coffee")).isEqualTo(4);
+        assertThat(hits(2L, "coffee")).isEqualTo(1);
+        assertThat(hits(3L, "coffee")).isEqualTo(2);
+    }
+
+    @Test
+    void writesRacingTheRebuildAreCountedOnce() throws Exception {
+        doAnswer(call -> {
+            SearchTextRepository.TextConsumer consumer = call.getArgument(1);
+            // Committed just before the rebuild read it, so both paths see the record
+            service.onLedgerChanged(changed(1L, 10L, "lunch"));
+            consumer.accept(1, 10, "lunch");
+            consumer.accept(2, 11, "lunch");
+            service.onLedgerChanged(changed(1L, 10L, "lunch"));
+            return null;
+        }).when(textRepository).forEachText(eq(LedgerType.EXPENSE), any());
+
+        rebuild();
+
+        assertThat(hits(1L, "lunch")).isEqualTo(1);
+        assertThat(hits(2L, "lunch")).isEqualTo(1);
+    }
+
+    @Test
+    void failedRebuildReleasesDeferredWrites() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        doAnswer(call -> {
+            SearchTextRepository.TextConsumer consumer = call.getArgument(1);
+            consumer.accept(1, 10, "rent");
+            service.onLedgerChanged(changed(2L, 20L, "rent"));
+            failed.countDown();
+            throw new IllegalStateException("connection lost");
+        }).when(textRepository).forEachText(eq(LedgerType.INCOME), any());
+
+        service.rebuildOnStartup();
+        assertThat(failed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (hits(2L, "rent") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(service.isReady()).isFalse();
+        // Nothing is held back any more, so later writes go straight in
+        service.onLedgerChanged(changed(3L, 30L, "rent"));
+        assertThat(hits(2L, "rent")).isEqualTo(1);
+        assertThat(hits(3L, "rent")).isEqualTo(1);
+    }
+
+    private void rebuild() throws InterruptedException {
+        service.rebuildOnStartup();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!service.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(service.isReady()).isTrue();
+    }
+
+    private long hits(Long userId, String term) {
+        return service.search(userId, List.of(term), false, List.of(LedgerType.values()), 10).total();
+    }
+
+    private static LedgerChangedEvent changed(Long userId, Long id, String text) {
+        return new LedgerChangedEvent(userId, LedgerType.EXPENSE,
+                List.of(new LedgerChangedEvent.Change(id, LocalDate.of(2024, 1, 1), 1.0, text)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.config.ApiEndpoints;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.search.SearchIndexService;
+import com.financedash.finance_dashboard.security.jwt.JwtUtil;
+import com.financedash.finance_dashboard.support.Latencies;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Creates N expenses as N single POSTs and as one batch POST through the whole servlet stack,
+ * JWT filter included, and compares the time to store all N. Every single POST pays the
+ * authentication, its own transaction and commit, and one rollup, prefix-sum and version
+ * update; the batch pays them once.
+ * <p>
+ * Rounds alternate between the two. Each side writes as its own user: a single POST rewrites the
+ * running total of every later day, and the dead rows it leaves would be charged to the batch
+ * otherwise. Request and SQL
+ * debug logging is turned off, since it costs per request and per statement and would favour
+ * the batch beyond what production sees. The in-memory search index is replaced, since loading
+ * every existing entry would leave the profile's small heap to the collector. Entries are
+ * removed afterwards.
+ */
+@SpringBootTest(properties = {"finance.recurring.enabled=false", "logging.level.org.springframework.web=INFO",
+        "logging.level.org.springframework.security=INFO", "logging.level.org.hibernate.SQL=INFO"})
+@AutoConfigureMockMvc
+@Tag("benchmark")
+class BatchCreateBenchmarkTest {
+
+    private static final int[] BATCH_SIZES = {10, 50, 500};
+    private static final int WARMUP = 2;
+    private static final int ROUNDS = 10;
+    private static final String CONTEXT_PATH = "/api/v1";
+    private static final String EXPENSES = CONTEXT_PATH + ApiEndpoints.FinancePaths.EXPENSES;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @TestBean
+    private SearchIndexService searchIndexService;
+
+    private final List<AppUser> seeded = new ArrayList<>();
+
+    @AfterEach
+    void removeRows() {
+        for (AppUser user : seeded) {
+            for (String table : List.of("expense", "user_ledger_rollup", "user_ledger_daily_prefix",
+                    "user_ledger_version")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+            }
+        }
+    }
+
+    @Test
+    void oneBatchPostAgainstSinglePosts() throws Exception {
+        String singleAuthorization = authorization("batch-benchmark-single");
+        String batchAuthorization = authorization("batch-benchmark-batch");
+        long expected = 0;
+        double singleMedian = 0;
+        double batchMedian = 0;
+        for (int size : BATCH_SIZES) {
+            List<ExpenseDTO> entries = entries(size);
+            long[] singles = new long[ROUNDS];
+            long[] batches = new long[ROUNDS];
+            for (int round = -WARMUP; round < ROUNDS; round++) {
+                long started = System.nanoTime();
+                for (ExpenseDTO entry : entries) {
+                    mockMvc.perform(post(EXPENSES).contextPath(CONTEXT_PATH)
+                                    .header(HttpHeaders.AUTHORIZATION, singleAuthorization)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsBytes(entry)))
+                            .andExpect(status().isOk());
+                }
+                long single = System.nanoTime() - started;
+
+                started = System.nanoTime();
+                mockMvc.perform(post(EXPENSES + "/batch").contextPath(CONTEXT_PATH)
+                                .header(HttpHeaders.AUTHORIZATION, batchAuthorization)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsBytes(entries)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.created").value(size));
+                long batch = System.nanoTime() - started;
+                if (round >= 0) {
+                    singles[round] = single;
+                    batches[round] = batch;
+                }
+                expected += size;
+            }
+            Latencies singleLatencies = new Latencies(singles);
+            Latencies batchLatencies = new Latencies(batches);
+            System.out.printf("batch create benchmark, %d expenses, %d rounds:%n", size, ROUNDS);
+            System.out.printf("  %d single POSTs: %s (%.2f ms per entry at p50)%n", size, singleLatencies,
+                    singleLatencies.percentileMillis(50) / size);
+            System.out.printf("  one batch POST:  %s (%.2f ms per entry at p50)%n", batchLatencies,
+                    batchLatencies.percentileMillis(50) / size);
+            singleMedian = singleLatencies.percentileMillis(50);
+            batchMedian = batchLatencies.percentileMillis(50);
+        }
+
+        for (AppUser user : seeded) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expense WHERE user_id = ?", Long.class,
+                    user.getId())).isEqualTo(expected);
+        }
+        assertThat(batchMedian).as("batch p50 at %d entries", BATCH_SIZES[BATCH_SIZES.length - 1])
+                .isLessThan(singleMedian);
+    }
+
+    private String authorization(String name) {
+        AppUser user = TestUsers.create(users, name);
+        seeded.add(user);
+        return "Bearer " + jwtUtil.generateAccessToken(user.getEmail());
+    }
+
+    // Stub-only, so the mock does not keep every change event it receives
+    static SearchIndexService searchIndexService() {
+        return mock(SearchIndexService.class, withSettings().stubOnly());
+    }
+
+    private static List<ExpenseDTO> entries(int size) {
+        List<ExpenseDTO> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new ExpenseDTO(null, 1 + i % 500 / 10.0, i % 2 == 0 ? "Food" : "Transport",
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365), "Queued entry " + i));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,136 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.ExportProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.exception.CapacityExceededException;
+import com.financedash.finance_dashboard.export.ExportFormat;
+import com.financedash.finance_dashboard.repository.LedgerExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportServiceImplTest {
+
+    private final LedgerExportRepository repository = mock(LedgerExportRepository.class);
+    private ExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ExportProperties properties = new ExportProperties();
+        properties.setMaxConcurrent(2);
+        properties.setRetryAfter(Duration.ofSeconds(30));
+        CurrentUser currentUser = mock(CurrentUser.class);
+        when(currentUser.id()).thenReturn(1L);
+        service = new ExportServiceImpl(repository, new ObjectMapper(), properties,
+                mock(PlatformTransactionManager.class), currentUser);
+    }
+
+    @Test
+    void exportsBeyondTheLimitAreRefusedUntilOneFinishes() throws Exception {
+        StreamingResponseBody first = service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+        StreamingResponseBody second = service.export(LedgerType.EXPENSE, ExportFormat.NDJSON, null, null);
+
+        assertThatThrownBy(() -> service.export(LedgerType.INCOME, ExportFormat.CSV, null, null))
+                .isInstanceOf(CapacityExceededException.class)
+                .satisfies(e -> assertThat(((CapacityExceededException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+
+        first.writeTo(new ByteArrayOutputStream());
+        StreamingResponseBody third = service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+        second.writeTo(new ByteArrayOutputStream());
+        third.writeTo(new ByteArrayOutputStream());
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+    }
+
+    @Test
+    void failedStreamReleasesItsSlot() throws Exception {
+        // The client going away mid-stream surfaces from the row writer
+        when(repository.writeRows(any(), any(), any(), any(), any()))
+                .thenThrow(new UncheckedIOException(new IOException("Broken pipe")));
+        for (int i = 0; i < 3; i++) {
+            StreamingResponseBody body = service.export(LedgerType.INCOME, ExportFormat.NDJSON, null, null);
+            assertThatThrownBy(() -> body.writeTo(new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+        }
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+    }
+
+    @Test
+    void bodyThatNeverRunsReleasesItsSlotWhenTheRequestCompletes() throws Exception {
+        // The client leaves or the request times out before the body is dispatched
+        AsyncTaskExecutor idle = task -> {
+        };
+        AsyncTaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("Executor queue is full");
+        };
+        for (int i = 0; i < 3; i++) {
+            runAsync(i % 2 == 0 ? idle : rejecting);
+        }
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+    }
+
+    @Test
+    void slotIsReleasedOnceWhenTheStreamAndTheRequestBothEnd() throws Exception {
+        runAsync(Runnable::run);
+        runAsync(Runnable::run);
+
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+        assertThatThrownBy(() -> service.export(LedgerType.INCOME, ExportFormat.CSV, null, null))
+                .isInstanceOf(CapacityExceededException.class);
+    }
+
+    @Test
+    void invalidRangeDoesNotTakeASlot() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> service.export(LedgerType.INCOME, ExportFormat.CSV,
+                    LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+        service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+    }
+
+    // Handles an export request as MVC does: the body is handed to the executor, then the async request completes
+    private void runAsync(AsyncTaskExecutor executor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            StreamingResponseBody body = service.export(LedgerType.INCOME, ExportFormat.CSV, null, null);
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+            asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+            asyncManager.setTaskExecutor(executor);
+            asyncManager.startCallableProcessing(() -> {
+                body.writeTo(response.getOutputStream());
+                return null;
+            });
+            request.getAsyncContext().complete();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
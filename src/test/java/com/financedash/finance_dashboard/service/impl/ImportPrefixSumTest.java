@@ -0,0 +1,142 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.payload.ImportReportDTO;
+import com.financedash.finance_dashboard.payload.RollupReconcileReport;
+import com.financedash.finance_dashboard.rollup.PrefixSumService;
+import com.financedash.finance_dashboard.rollup.RollupService;
+import com.financedash.finance_dashboard.service.ImportService;
+import com.financedash.finance_dashboard.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * An import commits its batches first and adds them to the daily prefix sums after the last
+ * one. Replays a reconcile repair and a crash in that window: neither may leave the prefix sums
+ * off for good, and a repair must not make the deferred update count the rows twice.
+ */
+@SpringBootTest(properties = {"finance.recurring.enabled=false", "finance.import.batch-size=2"})
+class ImportPrefixSumTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+    // Five rows over three days, so three batches of at most two rows
+    private static final String CSV = """
+            amount,category,date,notes
+            10,Food,2024-03-03,
+            20,Food,2024-03-02,
+            30,Rent,2024-03-02,
+            40,Food,2024-03-01,
+            50,Food,2024-03-01,
+            """;
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private RollupService rollupService;
+    @MockitoSpyBean
+    private PrefixSumService prefixSumService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AppUser user;
+
+    @BeforeEach
+    void signIn() {
+        user = TestUsers.create(users, "import-prefix-sums");
+        TestUsers.signIn(user);
+    }
+
+    @AfterEach
+    void removeRows() {
+        TestUsers.signOut();
+        for (String table : List.of("expense", "user_ledger_rollup", "user_ledger_daily_prefix",
+                "user_ledger_daily_prefix_pending")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void repairBeforeThePrefixUpdateDoesNotCountTheRowsTwice() throws Exception {
+        AtomicReference<RollupReconcileReport> repair = new AtomicReference<>();
+        doAnswer(invocation -> {
+            repair.set(rollupService.reconcile(user.getId(), true));
+            return invocation.callRealMethod();
+        }).when(prefixSumService).applyDeferred(anyLong(), eq(LedgerType.EXPENSE));
+
+        assertThat(importCsv().getImported()).isEqualTo(5);
+
+        // The committed batches were missing from the prefix sums when the repair ran
+        assertThat(repair.get().getDriftCount()).isEqualTo(3);
+        assertThat(expenseTotal()).isEqualTo(150.0);
+        assertThat(rollupService.reconcile(user.getId(), false).getDriftCount()).isZero();
+    }
+
+    @Test
+    void crashBeforeThePrefixUpdateIsReportedAndRepaired() throws Exception {
+        doThrow(new QueryTimeoutException("connection lost"))
+                .when(prefixSumService).applyDeferred(anyLong(), eq(LedgerType.EXPENSE));
+
+        ImportReportDTO report = importCsv();
+        assertThat(report.isCompleted()).isTrue();
+        assertThat(expenseTotal()).isZero();
+
+        RollupReconcileReport check = rollupService.reconcile(user.getId(), false);
+        assertThat(check.getDriftCount()).isEqualTo(3);
+        assertThat(check.getDrifts()).extracting(RollupReconcileReport.Drift::getExpectedAmount)
+                .containsExactly(90.0, 50.0, 10.0);
+
+        rollupService.reconcile(user.getId(), true);
+        assertThat(expenseTotal()).isEqualTo(150.0);
+        // The parked amounts went with the rebuild, so a late update adds nothing
+        doAnswer(invocation -> invocation.callRealMethod())
+                .when(prefixSumService).applyDeferred(anyLong(), eq(LedgerType.EXPENSE));
+        assertThat(prefixSumService.applyDeferred(user.getId(), LedgerType.EXPENSE)).isZero();
+        assertThat(expenseTotal()).isEqualTo(150.0);
+        assertThat(rollupService.reconcile(user.getId(), false).getDriftCount()).isZero();
+    }
+
+    @Test
+    void nextImportAddsWhatACrashedOneParked() throws Exception {
+        doThrow(new QueryTimeoutException("connection lost"))
+                .doAnswer(invocation -> invocation.callRealMethod())
+                .when(prefixSumService).applyDeferred(anyLong(), eq(LedgerType.EXPENSE));
+
+        importCsv();
+        importCsv();
+
+        assertThat(expenseTotal()).isEqualTo(300.0);
+        assertThat(rollupService.reconcile(user.getId(), false).getDriftCount()).isZero();
+    }
+
+    private ImportReportDTO importCsv() throws Exception {
+        return importService.importCsv(LedgerType.EXPENSE,
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private double expenseTotal() {
+        return prefixSumService.getRangeTotals(user.getId(), FROM, TO).get(LedgerType.EXPENSE);
+    }
+}
@@ -0,0 +1,115 @@
+package com.financedash.finance_dashboard.service.impl;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financedash.finance_dashboard.appUser.CurrentUser;
+import com.financedash.finance_dashboard.config.IngestProperties;
+import com.financedash.finance_dashboard.entity.LedgerType;
+import com.financedash.finance_dashboard.ingest.IngestCheckpointRepository;
+import com.financedash.finance_dashboard.payload.ExpenseDTO;
+import com.financedash.finance_dashboard.payload.IngestReceiptDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the drainer with a mocked writer whose failures follow what the database raises, and
+ * checks which writes end up persisted and which rejected.
+ */
+class IngestServiceImplTest {
+
+    private final LedgerBatchWriter batchWriter = mock(LedgerBatchWriter.class);
+    private final IngestCheckpointRepository checkpointRepository = mock(IngestCheckpointRepository.class);
+
+    @TempDir
+    private Path directory;
+    private IngestServiceImpl service;
+
+    @AfterEach
+    void shutDown() throws Exception {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void transientFailureOfASingleWriteIsRetriedNotRejected() throws Exception {
+        // The first write's group hits a constraint error elsewhere, then alone a deadlock before it
+        // commits; the second write is refused outright
+        when(batchWriter.insert(eq(LedgerType.EXPENSE), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("amount out of range"))
+                .thenThrow(new DeadlockLoserDataAccessException("deadlock detected", null))
+                .thenReturn(new long[]{101})
+                .thenThrow(new DataIntegrityViolationException("amount out of range"));
+        service = start();
+
+        IngestReceiptDTO valid = service.submitExpense(expense(10));
+        IngestReceiptDTO invalid = service.submitExpense(expense(20));
+
+        assertThat(await(valid.getId()).getStatus()).isEqualTo(IngestReceiptDTO.Status.PERSISTED);
+        assertThat(await(valid.getId()).getEntryId()).isEqualTo(101L);
+        assertThat(await(invalid.getId()).getStatus()).isEqualTo(IngestReceiptDTO.Status.REJECTED);
+    }
+
+    @Test
+    void drainerKeepsRunningAfterAnUnexpectedFailure() throws Exception {
+        when(batchWriter.insert(eq(LedgerType.EXPENSE), any(), any()))
+                .thenThrow(new IllegalStateException("listener failed"))
+                .thenThrow(new IllegalStateException("listener failed"))
+                .thenReturn(new long[]{102});
+        service = start();
+
+        IngestReceiptDTO failed = service.submitExpense(expense(10));
+        assertThat(await(failed.getId()).getStatus()).isEqualTo(IngestReceiptDTO.Status.REJECTED);
+
+        IngestReceiptDTO next = service.submitExpense(expense(20));
+        assertThat(await(next.getId()).getStatus()).isEqualTo(IngestReceiptDTO.Status.PERSISTED);
+    }
+
+    private IngestServiceImpl start() {
+        when(batchWriter.validate(any(), any(), any())).thenReturn(List.of());
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+        CurrentUser currentUser = mock(CurrentUser.class);
+        when(currentUser.id()).thenReturn(1L);
+        IngestProperties properties = new IngestProperties();
+        properties.setJournalDirectory(directory);
+        properties.setInstanceId("node-1");
+        // One write per group, so the groups fail in submission order
+        properties.setMaxBatch(1);
+        IngestServiceImpl started = new IngestServiceImpl(batchWriter, checkpointRepository, currentUser, properties,
+                JsonMapper.builder().findAndAddModules().build(), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        started.startDrainer();
+        return started;
+    }
+
+    private IngestReceiptDTO await(long id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        IngestReceiptDTO receipt = service.getReceipt(id);
+        while (receipt.getStatus() == IngestReceiptDTO.Status.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            receipt = service.getReceipt(id);
+        }
+        return receipt;
+    }
+
+    private static ExpenseDTO expense(double amount) {
+        return new ExpenseDTO(null, amount, "Food", LocalDate.of(2024, 1, 1), "Lunch");
+    }
+}
@@ -0,0 +1,67 @@
+package com.financedash.finance_dashboard.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MonteCarloEngineTest {
+
+    private static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+
+    @Test
+    void sameSeedGivesSameProjectionOnAnyPoolSize() {
+        double[] initial = {1000, 500, 250};
+        double[] meanReturn = {0.07, 0.03, 0.2};
+        double[] volatility = {0.2, 0.06, 0.7};
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            // Spans several chunks with a partial last one
+            MonteCarloEngine.Projection a = MonteCarloEngine.project(initial, meanReturn, volatility, 30, 10_001, 42L, PERCENTILES, single);
+            MonteCarloEngine.Projection b = MonteCarloEngine.project(initial, meanReturn, volatility, 30, 10_001, 42L, PERCENTILES, wide);
+
+            assertThat(b.bands()).isDeepEqualTo(a.bands());
+            assertThat(b.expectedFinalValue()).isEqualTo(a.expectedFinalValue());
+            assertThat(b.probabilityOfLoss()).isEqualTo(a.probabilityOfLoss());
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void withoutVolatilityEveryBandFollowsCompoundGrowth() {
+        MonteCarloEngine.Projection projection = MonteCarloEngine.project(new double[]{1000, 500}, new double[]{0.05, 0.05},
+                new double[]{0.0, 0.0}, 10, 5000, 7L, PERCENTILES, ForkJoinPool.commonPool());
+
+        assertThat(projection.startValue()).isEqualTo(1500.0);
+        for (double[] band : projection.bands()) {
+            assertThat(band).hasSize(11);
+            for (int year = 0; year <= 10; year++) {
+                assertThat(band[year]).isCloseTo(1500.0 * Math.pow(1.05, year), within(1e-6));
+            }
+        }
+        assertThat(projection.expectedFinalValue()).isCloseTo(1500.0 * Math.pow(1.05, 10), within(1e-6));
+        assertThat(projection.probabilityOfLoss()).isZero();
+    }
+
+    @Test
+    void bandsAreOrderedAndMeanMatchesExpectedGrowth() {
+        MonteCarloEngine.Projection projection = MonteCarloEngine.project(new double[]{1000}, new double[]{0.07},
+                new double[]{0.2}, 20, 200_000, 11L, PERCENTILES, ForkJoinPool.commonPool());
+
+        double[][] bands = projection.bands();
+        for (int year = 1; year <= 20; year++) {
+            for (int k = 1; k < PERCENTILES.length; k++) {
+                assertThat(bands[k][year]).isGreaterThanOrEqualTo(bands[k - 1][year]);
+            }
+        }
+        // The drift makes the expected yearly growth factor exactly 1 + meanReturn
+        assertThat(projection.expectedFinalValue()).isCloseTo(1000 * Math.pow(1.07, 20), within(1000 * Math.pow(1.07, 20) * 0.02));
+        assertThat(projection.probabilityOfLoss()).isBetween(0.0, 1.0);
+    }
+}
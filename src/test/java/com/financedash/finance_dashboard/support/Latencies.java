@@ -0,0 +1,30 @@
+package com.financedash.finance_dashboard.support;
+
+import java.util.Arrays;
+
+/**
+ * Percentiles of recorded durations, for the benchmark reports.
+ */
+public final class Latencies {
+
+    private final long[] nanos;
+
+    public Latencies(long[] nanos) {
+        this.nanos = nanos.clone();
+        Arrays.sort(this.nanos);
+    }
+
+    public double percentileMillis(double percentile) {
+        if (nanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * nanos.length) - 1;
+        return nanos[Math.max(0, Math.min(index, nanos.length - 1))] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                percentileMillis(50), percentileMillis(99), percentileMillis(100));
+    }
+}
@@ -0,0 +1,62 @@
+package com.financedash.finance_dashboard.support;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL Hibernate sends, so a test can EXPLAIN exactly what the application runs.
+ * Import it into a {@code @SpringBootTest}.
+ */
+@TestConfiguration
+public class StatementCapture {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Bean
+    HibernatePropertiesCustomizer statementCapture() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+            STATEMENTS.add(sql);
+            return sql;
+        });
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * The one statement recorded since {@link #clear()} that matches.
+     */
+    public static String single(Predicate<String> matching) {
+        List<String> matches = STATEMENTS.stream().filter(matching).toList();
+        assertThat(matches).hasSize(1);
+        return matches.get(0);
+    }
+
+    /**
+     * EXPLAIN output of the statement with the given parameters. The setup statements (e.g.
+     * {@code SET LOCAL enable_seqscan = off}) run first in the same transaction, which is
+     * rolled back afterwards.
+     */
+    public static String explain(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 List<String> setup, String sql, Object... parameters) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(parameters.length);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            setup.forEach(jdbcTemplate::execute);
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.financedash.finance_dashboard.support;
+
+import com.financedash.finance_dashboard.appUser.AppUser;
+import com.financedash.finance_dashboard.appUser.AppUserRole;
+import com.financedash.finance_dashboard.appUser.UserRepository;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+/**
+ * Creates throwaway users and signs them in the way {@code JwtAuthFilter} does, so services
+ * scoped to the current user can be called directly.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static AppUser create(UserRepository users, String name) {
+        AppUser user = new AppUser("Test", name, name + "-" + UUID.randomUUID() + "@example.test", "unused",
+                AppUserRole.USER);
+        user.setEnabled(true);
+        return users.save(user);
+    }
+
+    /**
+     * Signs the user in on the calling thread only.
+     */
+    public static void signIn(AppUser user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    public static void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+}